@@ -0,0 +1,410 @@
+package org.rain.vertx.app.base.config;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigMemorySize;
+import com.typesafe.config.ConfigUtil;
+import com.typesafe.config.ConfigValue;
+
+/**
+ * Bind a {@link Config} (sub)tree onto an immutable typed object, once.
+ *
+ * <p>
+ * The bound type is a record (bound through its canonical constructor) or a class with a single
+ * public constructor. Each constructor parameter is read from the path of its name (the record
+ * component name; for classes, the module must be compiled with {@code -parameters}), or of its
+ * {@link ConfigPath} annotation, and falls back to its {@link ConfigDefault} annotation if
+ * missing. Lists and maps are bound as unmodifiable collections. Supported parameter types:
+ * </p>
+ * <ul>
+ * <li>{@link String}, {@code boolean}, {@code int}, {@code long}, {@code double} (and their
+ * wrappers), enums, {@link Duration}, {@link Period}, {@link ConfigMemorySize}, {@link Config} and
+ * {@link ConfigValue}.</li>
+ * <li>Other records/classes following the rules above, bound from a nested object.</li>
+ * <li>{@link List} and {@code Map<String, V>} of the types above.</li>
+ * <li>{@link Optional} of the types above: the parameter may be missing.</li>
+ * </ul>
+ *
+ * <p>
+ * The binding plan (constructor, paths, value readers, defaults) is built and validated once per
+ * type, so invalid annotations or defaults fail fast. Binding reads every path once and reports
+ * all missing/invalid values at once with a {@link ConfigBindingException}. Hot paths then read
+ * plain fields of the bound object, instead of traversing the config tree on each lookup.
+ * </p>
+ *
+ * <p>
+ * Sample usage:
+ * </p>
+ *
+ * <pre>
+ * public record PoolConfig(int size, &#64;ConfigDefault("30s") Duration timeout,
+ *         &#64;ConfigPath("rate-limit.per-second") Optional&lt;Long&gt; rateLimit) {
+ * }
+ *
+ * PoolConfig poolConfig = ConfigBinder.of(PoolConfig.class).bind(config, "app.pool");
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public final class ConfigBinder<T> {
+    private final static ClassValue<ConfigBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected ConfigBinder<?> computeValue(Class<?> type) {
+            return new ConfigBinder<>(type);
+        }
+    };
+
+    /**
+     * Types whose binding plan is being built by the current thread, to detect recursive types.
+     */
+    private final static ThreadLocal<Set<Class<?>>> BUILDING = ThreadLocal.withInitial(
+            HashSet::new);
+
+    /**
+     * Get the (cached) binder of a type.
+     *
+     * @param type
+     * @return
+     * @throws IllegalArgumentException if the type can not be bound
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ConfigBinder<T> of(Class<T> type) {
+        return (ConfigBinder<T>) BINDERS.get(type);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(Config config, String path);
+    }
+
+    private static class Property {
+        private final String path;
+        private final boolean optional;
+        private final ValueReader reader;
+
+        private Property(String path, boolean optional, ValueReader reader) {
+            this.path = path;
+            this.optional = optional;
+            this.reader = reader;
+        }
+    }
+
+    private final Class<T> type;
+    private final Constructor<T> constructor;
+    private final Property[] properties;
+    /**
+     * Fallback config built from {@link ConfigDefault} annotations, {@code null} if none.
+     */
+    private final Config defaults;
+
+    private ConfigBinder(Class<T> type) {
+        if (!BUILDING.get().add(type)) {
+            throw new IllegalArgumentException("Recursive config type [" + type.getName() + "]!");
+        }
+        try {
+            this.type = type;
+            this.constructor = findConstructor(type);
+            this.constructor.setAccessible(true);
+            Parameter[] params = constructor.getParameters();
+            // record component names are always available, unlike parameter names
+            RecordComponent[] components = type.isRecord() ? type.getRecordComponents() : null;
+            this.properties = new Property[params.length];
+            StringBuilder defaultsHocon = new StringBuilder();
+            for (int i = 0; i < params.length; i++) {
+                Parameter param = params[i];
+                ConfigPath configPath = param.getAnnotation(ConfigPath.class);
+                if (configPath == null && components == null && !param.isNamePresent()) {
+                    throw new IllegalArgumentException("Parameter names of [" + type.getName()
+                            + "] are not available, compile with -parameters or use @ConfigPath!");
+                }
+                String name = components != null ? components[i].getName() : param.getName();
+                String path = configPath != null ? configPath.value()
+                        : name.indexOf('$') < 0 ? name : ConfigUtil.quoteString(name);
+                Type paramType = param.getParameterizedType();
+                boolean optional = param.getType() == Optional.class;
+                Type valueType = optional ? typeArgument(paramType, 0) : paramType;
+                properties[i] = new Property(path, optional, reader(valueType));
+                ConfigDefault configDefault = param.getAnnotation(ConfigDefault.class);
+                if (configDefault != null) {
+                    defaultsHocon.append(path).append(" = ").append(configDefault.value())
+                            .append('\n');
+                }
+            }
+            this.defaults = parseDefaults(defaultsHocon.toString());
+        } finally {
+            BUILDING.get().remove(type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Constructor<T> findConstructor(Class<T> type) {
+        if (type.isInterface() || type.isPrimitive() || type.isArray()
+                || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException(
+                    "Cannot bind config to type [" + type.getName() + "]!");
+        }
+        try {
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] paramTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    paramTypes[i] = components[i].getType();
+                }
+                return type.getDeclaredConstructor(paramTypes);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalArgumentException("Type [" + type.getName()
+                    + "] must be a record or have exactly one public constructor!");
+        }
+        return (Constructor<T>) constructors[0];
+    }
+
+    private Config parseDefaults(String hocon) {
+        if (hocon.isEmpty()) {
+            return null;
+        }
+        Config result;
+        try {
+            result = ConfigFactory.parseString(hocon).resolve();
+        } catch (ConfigException e) {
+            throw new IllegalArgumentException(
+                    "Invalid @ConfigDefault in [" + type.getName() + "]: " + e.getMessage(), e);
+        }
+        // validate default values against their types up front
+        for (Property property : properties) {
+            if (result.hasPath(property.path)) {
+                try {
+                    property.reader.read(result, property.path);
+                } catch (ConfigException | ConfigBindingException e) {
+                    throw new IllegalArgumentException("Invalid @ConfigDefault for ["
+                            + property.path + "] in [" + type.getName() + "]: " + e.getMessage(),
+                            e);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (!(type instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("Type parameter of [" + type + "] is required!");
+        }
+        return ((ParameterizedType) type).getActualTypeArguments()[index];
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        throw new IllegalArgumentException("Unsupported config type [" + type + "]!");
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ValueReader reader(Type type) {
+        Class<?> clazz = rawClass(type);
+        if (clazz == String.class) {
+            return Config::getString;
+        }
+        if (clazz == Boolean.class || clazz == boolean.class) {
+            return Config::getBoolean;
+        }
+        if (clazz == Integer.class || clazz == int.class) {
+            return Config::getInt;
+        }
+        if (clazz == Long.class || clazz == long.class) {
+            return Config::getLong;
+        }
+        if (clazz == Double.class || clazz == double.class) {
+            return Config::getDouble;
+        }
+        if (clazz == Duration.class) {
+            return Config::getDuration;
+        }
+        if (clazz == Period.class) {
+            return Config::getPeriod;
+        }
+        if (clazz == ConfigMemorySize.class) {
+            return Config::getMemorySize;
+        }
+        if (clazz == Config.class) {
+            return Config::getConfig;
+        }
+        if (clazz == ConfigValue.class) {
+            return Config::getValue;
+        }
+        if (clazz.isEnum()) {
+            Class<Enum> enumClass = (Class<Enum>) clazz;
+            return (config, path) -> config.getEnum(enumClass, path);
+        }
+        if (clazz == List.class) {
+            ValueReader listReader = listReader(typeArgument(type, 0));
+            return (config, path) -> Collections.unmodifiableList(
+                    (List<?>) listReader.read(config, path));
+        }
+        if (clazz == Map.class) {
+            if (rawClass(typeArgument(type, 0)) != String.class) {
+                throw new IllegalArgumentException("Map keys must be strings, got [" + type + "]!");
+            }
+            ValueReader valueReader = reader(typeArgument(type, 1));
+            return (config, path) -> {
+                Config sub = config.getConfig(path);
+                Map<String, Object> result = new LinkedHashMap<>();
+                for (String key : sub.root().keySet()) {
+                    result.put(key, valueReader.read(sub, ConfigUtil.quoteString(key)));
+                }
+                return Collections.unmodifiableMap(result);
+            };
+        }
+        if (clazz == Optional.class) {
+            throw new IllegalArgumentException("Nested Optional is not supported [" + type + "]!");
+        }
+        ConfigBinder<?> binder = of(clazz);
+        return (config, path) -> binder.bind(config.getConfig(path));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ValueReader listReader(Type elementType) {
+        Class<?> clazz = rawClass(elementType);
+        if (clazz == String.class) {
+            return Config::getStringList;
+        }
+        if (clazz == Boolean.class) {
+            return Config::getBooleanList;
+        }
+        if (clazz == Integer.class) {
+            return Config::getIntList;
+        }
+        if (clazz == Long.class) {
+            return Config::getLongList;
+        }
+        if (clazz == Double.class) {
+            return Config::getDoubleList;
+        }
+        if (clazz == Duration.class) {
+            return Config::getDurationList;
+        }
+        if (clazz == ConfigMemorySize.class) {
+            return Config::getMemorySizeList;
+        }
+        if (clazz == Config.class) {
+            return Config::getConfigList;
+        }
+        if (clazz.isEnum()) {
+            Class<Enum> enumClass = (Class<Enum>) clazz;
+            return (config, path) -> config.getEnumList(enumClass, path);
+        }
+        if (clazz == List.class || clazz == Map.class || clazz == Optional.class
+                || clazz == ConfigValue.class || clazz == Period.class) {
+            throw new IllegalArgumentException("Unsupported list element type [" + elementType
+                    + "]!");
+        }
+        ConfigBinder<?> binder = of(clazz);
+        return (config, path) -> {
+            List<? extends Config> configs = config.getConfigList(path);
+            List<Object> result = new ArrayList<>(configs.size());
+            for (Config element : configs) {
+                result.add(binder.bind(element));
+            }
+            return result;
+        };
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Bind a config to a new instance of the bound type.
+     *
+     * @param config
+     * @return
+     * @throws ConfigBindingException if values are missing or invalid
+     */
+    public T bind(Config config) {
+        Config source = defaults != null ? config.withFallback(defaults) : config;
+        Object[] args = new Object[properties.length];
+        List<String> errors = null;
+        for (int i = 0; i < properties.length; i++) {
+            Property property = properties[i];
+            try {
+                if (!source.hasPath(property.path)) {
+                    if (property.optional) {
+                        args[i] = Optional.empty();
+                    } else {
+                        throw new ConfigException.Missing(property.path);
+                    }
+                } else {
+                    Object value = property.reader.read(source, property.path);
+                    args[i] = property.optional ? Optional.of(value) : value;
+                }
+            } catch (ConfigException | ConfigBindingException e) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(e.getMessage());
+            }
+        }
+        if (errors != null) {
+            throw new ConfigBindingException(
+                    "Cannot bind config to [" + type.getName() + "]: " + String.join("; ", errors));
+        }
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new ConfigBindingException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new ConfigBindingException(e);
+        }
+    }
+
+    /**
+     * Bind a sub-configuration to a new instance of the bound type.
+     *
+     * @param config
+     * @param path
+     * @return
+     * @throws ConfigBindingException if the sub-configuration or values are missing or invalid
+     */
+    public T bind(Config config, String path) {
+        Config sub;
+        try {
+            sub = config.getConfig(path);
+        } catch (ConfigException e) {
+            throw new ConfigBindingException(
+                    "Cannot bind config to [" + type.getName() + "]: " + e.getMessage(), e);
+        }
+        return bind(sub);
+    }
+}
@@ -0,0 +1,28 @@
+package org.rain.vertx.app.base.config;
+
+/**
+ * Thrown to indicate that a config could not be bound to a typed object (see
+ * {@link ConfigBinder}).
+ *
+ * @since 1.0.0
+ */
+public class ConfigBindingException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConfigBindingException() {
+    }
+
+    public ConfigBindingException(String message) {
+        super(message);
+    }
+
+    public ConfigBindingException(Throwable cause) {
+        super(cause);
+    }
+
+    public ConfigBindingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.rain.vertx.app.base.config;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValue;
+
+/**
+ * Change of a configuration value, published by {@link ConfigWatcher} after a reload.
+ *
+ * @since 1.0.0
+ */
+public class ConfigChangeEvent {
+    private final String path;
+    private final ConfigValue oldValue, newValue;
+    private final Config oldConfig, newConfig;
+
+    public ConfigChangeEvent(String path, ConfigValue oldValue, ConfigValue newValue,
+                             Config oldConfig, Config newConfig) {
+        this.path = path;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.oldConfig = oldConfig;
+        this.newConfig = newConfig;
+    }
+
+    /**
+     * Path of the changed (leaf) value.
+     *
+     * @return
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Value before the change, {@code null} if the value has been added.
+     *
+     * @return
+     */
+    public ConfigValue getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * Value after the change, {@code null} if the value has been removed.
+     *
+     * @return
+     */
+    public ConfigValue getNewValue() {
+        return newValue;
+    }
+
+    /**
+     * Configuration snapshot before the reload.
+     *
+     * @return
+     */
+    public Config getOldConfig() {
+        return oldConfig;
+    }
+
+    /**
+     * Configuration snapshot after the reload.
+     *
+     * @return
+     */
+    public Config getNewConfig() {
+        return newConfig;
+    }
+
+    public boolean isAdded() {
+        return oldValue == null;
+    }
+
+    public boolean isRemoved() {
+        return newValue == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ConfigChangeEvent[" + path + ": "
+                + (oldValue != null ? oldValue.render() : null) + " -> "
+                + (newValue != null ? newValue.render() : null) + "]";
+    }
+}
@@ -0,0 +1,21 @@
+package org.rain.vertx.app.base.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Default value of a constructor parameter (or record component) bound by {@link ConfigBinder},
+ * used when the path is missing from the config. The value is a HOCON literal, e.g.
+ * {@code "10s"}, {@code "64M"}, {@code "[a, b]"} or {@code "{ size = 10 }"}.
+ *
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ConfigDefault {
+    String value();
+}
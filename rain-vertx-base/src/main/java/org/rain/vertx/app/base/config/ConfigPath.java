@@ -0,0 +1,20 @@
+package org.rain.vertx.app.base.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Path of a constructor parameter (or record component) bound by {@link ConfigBinder}, relative
+ * to the bound config. Defaults to the parameter name.
+ *
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ConfigPath {
+    String value();
+}
@@ -0,0 +1,368 @@
+package org.rain.vertx.app.base.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigParseOptions;
+import com.typesafe.config.ConfigResolveOptions;
+import com.typesafe.config.ConfigValue;
+
+/**
+ * Watch a configuration file and reload it on changes, without restarting the application.
+ *
+ * <p>
+ * The file's directory is watched with a {@link WatchService}. Changes are debounced (editors and
+ * deployment tools often write a file in several steps): the file is re-parsed once no more event
+ * has been received during {@link #getDebounce()}. The new configuration is then swapped in
+ * atomically ({@link #getConfig()} always returns a complete snapshot), diffed with the previous
+ * one by leaf path, and one {@link ConfigChangeEvent} is published per changed path to the
+ * subscribers of this path or of any of its parents. If the file can not be parsed, or does not
+ * exist (e.g. while it is being replaced), the error is logged and the current snapshot is kept.
+ * </p>
+ *
+ * <p>
+ * If the file is a symbolic link (e.g. a Kubernetes ConfigMap volume, updated by swapping a
+ * {@code ..data} link), any change in its directory triggers a reload, as the link itself is not
+ * modified.
+ * </p>
+ *
+ * <p>
+ * Sample usage:
+ * </p>
+ *
+ * <pre>
+ * ConfigWatcher watcher = new ConfigWatcher(new File("conf/application.conf")).init();
+ * watcher.subscribe("app.pool.size",
+ *         event -&gt; pool.resize(event.getNewConfig().getInt("app.pool.size")));
+ * ...
+ * watcher.destroy();
+ * </pre>
+ *
+ * <p>
+ * Subscribers are called from the watcher thread (or the thread calling {@link #reload()}), and
+ * should not block.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class ConfigWatcher implements AutoCloseable {
+    private final static Logger LOGGER = LoggerFactory.getLogger(ConfigWatcher.class);
+
+    /**
+     * Default debounce delay, in milliseconds.
+     */
+    public final static long DEFAULT_DEBOUNCE_MS = 500;
+
+    private final File configFile;
+    private ConfigParseOptions parseOptions = ConfigParseOptions.defaults();
+    private ConfigResolveOptions resolveOptions = ConfigResolveOptions.defaults();
+    private volatile Duration debounce = Duration.ofMillis(DEFAULT_DEBOUNCE_MS);
+
+    private final AtomicReference<Config> snapshot = new AtomicReference<>();
+    private final ConcurrentMap<String, List<Consumer<ConfigChangeEvent>>> subscribers =
+            new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread watchThread;
+    private volatile boolean running;
+
+    /**
+     * Construct a new {@link ConfigWatcher} object.
+     *
+     * @param configFile
+     */
+    public ConfigWatcher(File configFile) {
+        this.configFile = configFile.getAbsoluteFile();
+    }
+
+    /**
+     * Construct a new {@link ConfigWatcher} object.
+     *
+     * @param configFile
+     */
+    public ConfigWatcher(String configFile) {
+        this(new File(configFile));
+    }
+
+    public File getConfigFile() {
+        return configFile;
+    }
+
+    public ConfigParseOptions getParseOptions() {
+        return parseOptions;
+    }
+
+    synchronized public ConfigWatcher setParseOptions(ConfigParseOptions parseOptions) {
+        this.parseOptions = parseOptions;
+        return this;
+    }
+
+    public ConfigResolveOptions getResolveOptions() {
+        return resolveOptions;
+    }
+
+    synchronized public ConfigWatcher setResolveOptions(ConfigResolveOptions resolveOptions) {
+        this.resolveOptions = resolveOptions;
+        return this;
+    }
+
+    /**
+     * Resolve substitutions falling back to environment variables (or not).
+     *
+     * @param useSystemEnvironment
+     * @return
+     */
+    synchronized public ConfigWatcher setUseSystemEnvironment(boolean useSystemEnvironment) {
+        this.resolveOptions = resolveOptions.setUseSystemEnvironment(useSystemEnvironment);
+        return this;
+    }
+
+    public Duration getDebounce() {
+        return debounce;
+    }
+
+    synchronized public ConfigWatcher setDebounce(Duration debounce) {
+        this.debounce = debounce;
+        return this;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Load the configuration and start watching the file.
+     *
+     * @return
+     * @throws IOException if the file's directory can not be watched
+     * @throws ConfigException if the configuration can not be loaded
+     */
+    synchronized public ConfigWatcher init() throws IOException {
+        if (running) {
+            LOGGER.warn("This watcher has been already initialized");
+            return this;
+        }
+        snapshot.set(load());
+        watchService = FileSystems.getDefault().newWatchService();
+        configFile.getParentFile().toPath().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        running = true;
+        watchThread = new Thread(this::watch, "config-watcher-" + configFile.getName());
+        watchThread.setDaemon(true);
+        watchThread.start();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    synchronized public void destroy() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOGGER.warn(e.getMessage(), e);
+            }
+            watchService = null;
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+    }
+
+    private Config load() {
+        // a missing file must not be loaded as an empty config (which would remove every path)
+        return TypesafeConfigUtils.loadConfig(parseOptions.setAllowMissing(false), resolveOptions,
+                configFile);
+    }
+
+    private boolean isConfigFileEvent(WatchKey key) {
+        Path configPath = configFile.toPath();
+        boolean result = Files.isSymbolicLink(configPath);
+        Path fileName = configPath.getFileName();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            result |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || fileName.equals(event.context());
+        }
+        key.reset();
+        return result;
+    }
+
+    private void watch() {
+        WatchService watchService = this.watchService;
+        while (running) {
+            try {
+                if (!isConfigFileEvent(watchService.take())) {
+                    continue;
+                }
+                // debounce: wait until no more event is received during the debounce delay
+                long debounceMs = debounce.toMillis();
+                WatchKey key;
+                while ((key = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    isConfigFileEvent(key);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+            if (running) {
+                reload();
+            }
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Current configuration snapshot.
+     *
+     * @return
+     */
+    public Config getConfig() {
+        return snapshot.get();
+    }
+
+    /**
+     * Re-parse the file now, swap the snapshot and publish changes.
+     *
+     * @return {@code true} if the file has been reloaded, {@code false} if it does not exist or
+     * could not be parsed (the current snapshot is kept)
+     */
+    synchronized public boolean reload() {
+        if (!configFile.isFile()) {
+            LOGGER.warn("Cannot reload config file [" + configFile + "]: file does not exist");
+            return false;
+        }
+        Config newConfig;
+        try {
+            newConfig = load();
+        } catch (ConfigException e) {
+            LOGGER.warn("Cannot reload config file [" + configFile + "]: " + e.getMessage(), e);
+            return false;
+        }
+        Config oldConfig = snapshot.getAndSet(newConfig);
+        if (oldConfig != null && !subscribers.isEmpty()) {
+            publish(oldConfig, newConfig);
+        }
+        return true;
+    }
+
+    /**
+     * Leaf paths whose values differ between two configurations.
+     *
+     * @param oldConfig
+     * @param newConfig
+     * @return
+     */
+    public static Set<String> diff(Config oldConfig, Config newConfig) {
+        return diff(flatten(oldConfig), flatten(newConfig));
+    }
+
+    private static Set<String> diff(Map<String, ConfigValue> oldValues,
+                                    Map<String, ConfigValue> newValues) {
+        Set<String> result = new HashSet<>();
+        oldValues.forEach((path, value) -> {
+            if (!Objects.equals(value, newValues.get(path))) {
+                result.add(path);
+            }
+        });
+        newValues.keySet().forEach(path -> {
+            if (!oldValues.containsKey(path)) {
+                result.add(path);
+            }
+        });
+        return result;
+    }
+
+    private static Map<String, ConfigValue> flatten(Config config) {
+        Map<String, ConfigValue> result = new HashMap<>();
+        config.entrySet().forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    private static boolean isUnder(String path, String parent) {
+        return parent.isEmpty() || path.equals(parent)
+                || (path.startsWith(parent) && path.charAt(parent.length()) == '.');
+    }
+
+    private void publish(Config oldConfig, Config newConfig) {
+        Map<String, ConfigValue> oldValues = flatten(oldConfig);
+        Map<String, ConfigValue> newValues = flatten(newConfig);
+        List<String> sortedPaths = new ArrayList<>(diff(oldValues, newValues));
+        sortedPaths.sort(null);
+        for (String path : sortedPaths) {
+            ConfigChangeEvent event = new ConfigChangeEvent(path, oldValues.get(path),
+                    newValues.get(path), oldConfig, newConfig);
+            subscribers.forEach((parent, listeners) -> {
+                if (isUnder(path, parent)) {
+                    for (Consumer<ConfigChangeEvent> listener : listeners) {
+                        try {
+                            listener.accept(event);
+                        } catch (Exception e) {
+                            LOGGER.warn(e.getMessage(), e);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Subscribe to changes of a path and all paths under it ({@code ""} subscribes to all
+     * changes).
+     *
+     * @param path
+     * @param listener
+     * @return
+     */
+    public ConfigWatcher subscribe(String path, Consumer<ConfigChangeEvent> listener) {
+        subscribers.computeIfAbsent(path, k -> new CopyOnWriteArrayList<>()).add(listener);
+        return this;
+    }
+
+    /**
+     * Cancel a subscription made with {@link #subscribe(String, Consumer)}.
+     *
+     * @param path
+     * @param listener
+     * @return
+     */
+    public ConfigWatcher unsubscribe(String path, Consumer<ConfigChangeEvent> listener) {
+        List<Consumer<ConfigChangeEvent>> listeners = subscribers.get(path);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+        return this;
+    }
+}
@@ -1,6 +1,7 @@
 package org.rain.vertx.app.base.config;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
 import java.time.Duration;
@@ -926,4 +927,51 @@ public class TypesafeConfigUtils {
     public static Optional<ConfigList> getValueListOptional(Config config, String path) {
         return Optional.ofNullable(getValueList(config, path));
     }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Load configurations from a file and keep reloading them on changes, see
+     * {@link ConfigWatcher}.
+     *
+     * @param configFile
+     * @param useSystemEnvironment {@code true} to resolve substitutions falling back to environment
+     *                             variables
+     * @return the initialized watcher, to be destroyed when no longer needed
+     * @throws IOException if the file's directory can not be watched
+     * @since 1.0.0
+     */
+    public static ConfigWatcher watchConfig(File configFile, boolean useSystemEnvironment)
+            throws IOException {
+        return new ConfigWatcher(configFile).setUseSystemEnvironment(useSystemEnvironment).init();
+    }
+
+    /**
+     * Bind a configuration to an immutable typed object (e.g. a record), see
+     * {@link ConfigBinder}.
+     *
+     * @param config
+     * @param clazz
+     * @return
+     * @throws ConfigBindingException if values are missing or invalid
+     * @since 1.0.0
+     */
+    public static <T> T bind(Config config, Class<T> clazz) {
+        return ConfigBinder.of(clazz).bind(config);
+    }
+
+    /**
+     * Bind a sub-configuration to an immutable typed object (e.g. a record), see
+     * {@link ConfigBinder}.
+     *
+     * @param config
+     * @param path
+     * @param clazz
+     * @return
+     * @throws ConfigBindingException if the sub-configuration or values are missing or invalid
+     * @since 1.0.0
+     */
+    public static <T> T bind(Config config, String path, Class<T> clazz) {
+        return ConfigBinder.of(clazz).bind(config, path);
+    }
 }
@@ -0,0 +1,174 @@
+package org.rain.vertx.app.base.id;
+
+import java.util.function.Supplier;
+
+/**
+ * Base class for {@link NodeIdRegistry}s storing leases as strings in a key-value store.
+ *
+ * <p>
+ * Sub-classes implement {@link #read(long)}, {@link #write(long, String)} and
+ * {@link #delete(long)}; the read-modify-write sequences are run through
+ * {@link #atomically(Supplier)}, which sub-classes override if the store is shared between
+ * processes.
+ * </p>
+ *
+ * <p>
+ * A node-id whose lease expired or was released is quarantined for {@link #getQuarantineMs()}:
+ * during that time, only its last owner can lease it again. The previous owner may have generated
+ * IDs with a clock ahead of the others (clock skew, or {@link IdGenerator.WaitStrategy#BORROW}),
+ * reusing its node-id right away could produce the same IDs.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public abstract class AbstractNodeIdRegistry implements NodeIdRegistry {
+    /* stored lease format: <expiry timestamp>:<owner> */
+    private final static char SEPARATOR = ':';
+
+    /**
+     * Default value of {@link #getQuarantineMs()}: covers common clock skews between nodes and
+     * {@link IdGenerator#DEFAULT_MAX_BORROW_MS}.
+     */
+    public final static long DEFAULT_QUARANTINE_MS = 5000;
+
+    private volatile long quarantineMs = DEFAULT_QUARANTINE_MS;
+
+    protected static String encodeLease(String owner, long expiresAt) {
+        return Long.toString(expiresAt) + SEPARATOR + owner;
+    }
+
+    /**
+     * Expiry timestamp of a stored lease.
+     *
+     * @param lease
+     * @return {@code Long.MIN_VALUE} if there is no (valid) lease
+     */
+    protected static long leaseExpiry(String lease) {
+        int pos = lease != null ? lease.indexOf(SEPARATOR) : -1;
+        if (pos < 0) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.parseLong(lease.substring(0, pos));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Owner of a stored lease.
+     *
+     * @param lease
+     * @param now
+     * @return {@code null} if there is no lease, or it has expired
+     */
+    protected static String leaseOwner(String lease, long now) {
+        return leaseExpiry(lease) > now ? lease.substring(lease.indexOf(SEPARATOR) + 1) : null;
+    }
+
+    public long getQuarantineMs() {
+        return quarantineMs;
+    }
+
+    /**
+     * How long (in milliseconds) an expired or released node-id can only be leased by its last
+     * owner. Should be at least the max clock skew between nodes, plus the max borrow of their
+     * {@link IdGenerator}s. Default value: {@link #DEFAULT_QUARANTINE_MS}.
+     *
+     * @param quarantineMs
+     * @return
+     */
+    public AbstractNodeIdRegistry setQuarantineMs(long quarantineMs) {
+        if (quarantineMs < 0) {
+            throw new IllegalArgumentException("Quarantine must not be negative: " + quarantineMs);
+        }
+        this.quarantineMs = quarantineMs;
+        return this;
+    }
+
+    /**
+     * Is a node-id, whose lease is not held, still in quarantine for an owner?
+     *
+     * @param lease
+     * @param owner
+     * @param now
+     * @return
+     */
+    protected boolean isQuarantined(String lease, String owner, long now) {
+        long expiry = leaseExpiry(lease);
+        return expiry != Long.MIN_VALUE && expiry + quarantineMs > now
+                && !owner.equals(lease.substring(lease.indexOf(SEPARATOR) + 1));
+    }
+
+    /**
+     * Reads the stored lease of a node-id.
+     *
+     * @param nodeId
+     * @return {@code null} if not found
+     */
+    protected abstract String read(long nodeId);
+
+    protected abstract void write(long nodeId, String lease);
+
+    protected abstract void delete(long nodeId);
+
+    /**
+     * Runs a read-modify-write sequence atomically. This implementation synchronizes on this
+     * registry.
+     *
+     * @param op
+     * @return
+     */
+    protected <T> T atomically(Supplier<T> op) {
+        synchronized (this) {
+            return op.get();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAcquire(long nodeId, String owner, long ttlMs) {
+        return atomically(() -> {
+            long now = System.currentTimeMillis();
+            String lease = read(nodeId);
+            String current = leaseOwner(lease, now);
+            if (current != null ? !current.equals(owner) : isQuarantined(lease, owner, now)) {
+                return false;
+            }
+            write(nodeId, encodeLease(owner, now + ttlMs));
+            return true;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The lease is kept as expired, so that the node-id is quarantined.
+     * </p>
+     */
+    @Override
+    public void release(long nodeId, String owner) {
+        atomically(() -> {
+            long now = System.currentTimeMillis();
+            if (owner.equals(leaseOwner(read(nodeId), now))) {
+                if (quarantineMs > 0) {
+                    write(nodeId, encodeLease(owner, now));
+                } else {
+                    delete(nodeId);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getOwner(long nodeId) {
+        return atomically(() -> leaseOwner(read(nodeId), System.currentTimeMillis()));
+    }
+}
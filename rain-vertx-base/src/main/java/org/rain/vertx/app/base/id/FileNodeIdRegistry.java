@@ -0,0 +1,115 @@
+package org.rain.vertx.app.base.id;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * {@link NodeIdRegistry} stored in a properties file, for processes sharing a file system (e.g.
+ * containers of a host mounting the same volume).
+ *
+ * <p>
+ * Each operation takes an exclusive {@link FileLock} on the file, then reads, updates and rewrites
+ * it. Note that file locks are not reliable on some network file systems.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class FileNodeIdRegistry extends AbstractNodeIdRegistry {
+    private final File file;
+    private Properties leases;
+
+    public FileNodeIdRegistry(File file) {
+        this.file = file.getAbsoluteFile();
+    }
+
+    public FileNodeIdRegistry(String file) {
+        this(new File(file));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation also locks the file, and loads/saves the leases.
+     * </p>
+     */
+    @Override
+    protected <T> T atomically(Supplier<T> op) {
+        synchronized (this) {
+            File dir = file.getParentFile();
+            if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                throw new IdGenerationException("Cannot create directory [" + dir + "]!");
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                leases = load(channel);
+                T result = op.get();
+                save(channel, leases);
+                return result;
+            } catch (IOException e) {
+                throw new IdGenerationException(
+                        "Cannot access node-id registry [" + file + "]!", e);
+            } finally {
+                leases = null;
+            }
+        }
+    }
+
+    private static Properties load(FileChannel channel) throws IOException {
+        ByteBuffer buff = ByteBuffer.allocate((int) channel.size());
+        while (buff.hasRemaining() && channel.read(buff, buff.position()) >= 0) {
+            // EMPTY
+        }
+        Properties result = new Properties();
+        result.load(new ByteArrayInputStream(buff.array(), 0, buff.position()));
+        return result;
+    }
+
+    private static void save(FileChannel channel, Properties leases) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        leases.store(baos, "node-id leases: <node-id>=<expiry timestamp>:<owner>");
+        ByteBuffer buff = ByteBuffer.wrap(baos.toByteArray());
+        channel.truncate(0);
+        while (buff.hasRemaining()) {
+            channel.write(buff, buff.position());
+        }
+        channel.force(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String read(long nodeId) {
+        return leases.getProperty(Long.toString(nodeId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void write(long nodeId, String lease) {
+        leases.setProperty(Long.toString(nodeId), lease);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void delete(long nodeId) {
+        leases.remove(Long.toString(nodeId));
+    }
+}
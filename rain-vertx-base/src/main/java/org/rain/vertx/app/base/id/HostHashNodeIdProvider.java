@@ -0,0 +1,99 @@
+package org.rain.vertx.app.base.id;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+
+import org.apache.commons.lang3.StringUtils;
+import org.rain.vertx.app.base.hash.HashUtils;
+
+/**
+ * {@link NodeIdProvider} hashing the host name and (first non-loopback IPv4) address into
+ * {@code [0, maxNodeId]}.
+ *
+ * <p>
+ * Works in containers (pods have unique host names and addresses), but different hosts may hash
+ * to the same node-id: wrap it in a {@link LeaseNodeIdProvider} to detect collisions.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class HostHashNodeIdProvider implements NodeIdProvider {
+    private final long maxNodeId;
+    private volatile String hostKey;
+
+    /**
+     * Node-ids fit into 64-bit IDs ({@link IdGenerator#MAX_NODE_ID_64}).
+     */
+    public HostHashNodeIdProvider() {
+        this(IdGenerator.MAX_NODE_ID_64);
+    }
+
+    public HostHashNodeIdProvider(long maxNodeId) {
+        if (maxNodeId < 0) {
+            throw new IllegalArgumentException("Max node-id must not be negative: " + maxNodeId);
+        }
+        this.maxNodeId = maxNodeId;
+    }
+
+    /**
+     * The hashed string: {@code <host name>/<address>}.
+     *
+     * @return
+     */
+    public String getHostKey() {
+        if (hostKey == null) {
+            hostKey = getHostName() + "/" + getHostAddress();
+        }
+        return hostKey;
+    }
+
+    private static String getHostName() {
+        String hostName = System.getenv("HOSTNAME");
+        if (StringUtils.isBlank(hostName)) {
+            try {
+                hostName = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw new IdGenerationException("Cannot determine host name!", e);
+            }
+        }
+        return hostName;
+    }
+
+    private static String getHostAddress() {
+        try {
+            for (NetworkInterface ni : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+                if (ni.isLoopback() || !ni.isUp()) {
+                    continue;
+                }
+                for (InetAddress addr : Collections.list(ni.getInetAddresses())) {
+                    if (addr instanceof Inet4Address && !addr.isLoopbackAddress()) {
+                        return addr.getHostAddress();
+                    }
+                }
+            }
+        } catch (SocketException e) {
+            throw new IdGenerationException("Cannot list network interfaces!", e);
+        }
+        return "";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodeId() {
+        return Math.floorMod(HashUtils.fastHashValue(getHostKey()), maxNodeId + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "HostHashNodeIdProvider[" + getHostKey() + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package org.rain.vertx.app.base.id;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+/**
+ * A 128-bit ID held as two longs, the allocation-light alternative to the {@link BigInteger}
+ * returned by {@link IdGenerator#generateId128()}.
+ *
+ * <p>
+ * Layout (see {@link IdGenerator#generateId128Value()}): the high half is the timestamp, the low
+ * half is {@code <48-bit:node-id><16-bit:sequence-number>}. IDs are compared as unsigned 128-bit
+ * numbers, consistently with their {@link IdEncoding}s.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class Id128 implements Comparable<Id128>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final static BigInteger MASK_64 = BigInteger.ONE.shiftLeft(64)
+            .subtract(BigInteger.ONE);
+
+    private final long high;
+    private final long low;
+
+    public Id128(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Converts from the legacy {@link BigInteger} representation.
+     *
+     * @param id
+     * @return
+     * @throws IllegalArgumentException if the value is negative or does not fit in 128 bits
+     */
+    public static Id128 fromBigInteger(BigInteger id) {
+        if (id.signum() < 0 || id.bitLength() > 128) {
+            throw new IllegalArgumentException("Not an unsigned 128-bit value: " + id);
+        }
+        return new Id128(id.shiftRight(64).longValue(), id.longValue());
+    }
+
+    /**
+     * Most significant 64 bits.
+     *
+     * @return
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Least significant 64 bits.
+     *
+     * @return
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * The (UNIX) timestamp of an ID generated by {@link IdGenerator}.
+     *
+     * @return the UNIX timestamp (milliseconds)
+     */
+    public long getTimestamp() {
+        return high;
+    }
+
+    /**
+     * The node-id of an ID generated by {@link IdGenerator} (48 bits).
+     *
+     * @return
+     */
+    public long getNodeId() {
+        return (low >>> 16) & 0xFFFFFFFFFFFFL;
+    }
+
+    /**
+     * The sequence number of an ID generated by {@link IdGenerator} (16 bits).
+     *
+     * @return
+     */
+    public int getSequence() {
+        return (int) (low & 0xFFFF);
+    }
+
+    /**
+     * Converts to the legacy {@link BigInteger} representation.
+     *
+     * @return
+     */
+    public BigInteger toBigInteger() {
+        return unsigned(high).shiftLeft(64).or(unsigned(low));
+    }
+
+    private static BigInteger unsigned(long value) {
+        return BigInteger.valueOf(value).and(MASK_64);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(Id128 other) {
+        int result = Long.compareUnsigned(high, other.high);
+        return result != 0 ? result : Long.compareUnsigned(low, other.low);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Id128)) {
+            return false;
+        }
+        Id128 other = (Id128) obj;
+        return high == other.high && low == other.low;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * 31 + Long.hashCode(low);
+    }
+
+    /**
+     * Fixed-width (32 characters) {@link IdEncoding#HEX} representation.
+     *
+     * @return
+     */
+    @Override
+    public String toString() {
+        return IdEncoding.HEX.encode(this);
+    }
+}
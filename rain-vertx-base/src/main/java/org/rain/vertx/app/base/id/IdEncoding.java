@@ -0,0 +1,453 @@
+package org.rain.vertx.app.base.id;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fixed-width, allocation-free text encodings of IDs.
+ *
+ * <p>
+ * IDs are encoded as unsigned numbers, left-padded with the "zero" digit to a fixed width, using
+ * an alphabet in ASCII order: encoded IDs sort lexicographically in the same order as the IDs
+ * themselves. 128-bit IDs ({@link Id128}) are encoded as their high then low halves, each with
+ * the 64-bit width.
+ * </p>
+ *
+ * <p>
+ * Encoders write into caller-supplied {@code char[]}, {@code byte[]} (ASCII) or
+ * {@link ByteBuffer}, and return the position after the last written character, e.g.:
+ * </p>
+ *
+ * <pre>
+ * char[] buff = new char[IdEncoding.BASE62.width64()];
+ * IdEncoding.BASE62.encode(idGen.generateId64(), buff, 0);
+ * </pre>
+ *
+ * <p>
+ * Decoders throw {@link NumberFormatException} on invalid input, like
+ * {@link Long#parseLong(String, int)}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public enum IdEncoding {
+    /**
+     * Upper-case hexadecimal, 16 characters for 64 bits. Decoding is case-insensitive.
+     */
+    HEX("0123456789ABCDEF", false),
+    /**
+     * Upper-case base 36 (the radix of the legacy {@code xxxAscii} IDs), 13 characters for 64
+     * bits. Decoding is case-insensitive.
+     */
+    BASE36("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ", false),
+    /**
+     * Base 62 ({@code 0-9A-Za-z}), 11 characters for 64 bits. Decoding is case-sensitive.
+     */
+    BASE62("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz", true),
+    /**
+     * Crockford's base 32, 13 characters for 64 bits. Decoding is case-insensitive, and maps
+     * {@code I}/{@code L} to {@code 1} and {@code O} to {@code 0}.
+     */
+    CROCKFORD32("0123456789ABCDEFGHJKMNPQRSTVWXYZ", false);
+
+    private final char[] alphabet;
+    private final byte[] digits = new byte[128];
+    private final int radix;
+    private final int width;
+    /* number of bits per digit if radix is a power of 2, 0 otherwise */
+    private final int bits;
+
+    IdEncoding(String alphabet, boolean caseSensitive) {
+        this.alphabet = alphabet.toCharArray();
+        this.radix = alphabet.length();
+        this.bits = Integer.bitCount(radix) == 1 ? Integer.numberOfTrailingZeros(radix) : 0;
+        int w = 0;
+        for (long max = -1L; max != 0; max = Long.divideUnsigned(max, radix)) {
+            w++;
+        }
+        this.width = w;
+        Arrays.fill(digits, (byte) -1);
+        for (int i = 0; i < radix; i++) {
+            char c = alphabet.charAt(i);
+            digits[c] = (byte) i;
+            if (!caseSensitive) {
+                digits[Character.toLowerCase(c)] = (byte) i;
+            }
+        }
+        if (radix == 32) {
+            digits['I'] = digits['i'] = digits['L'] = digits['l'] = 1;
+            digits['O'] = digits['o'] = 0;
+        }
+    }
+
+    public int getRadix() {
+        return radix;
+    }
+
+    /**
+     * Number of characters of an encoded 64-bit ID.
+     *
+     * @return
+     */
+    public int width64() {
+        return width;
+    }
+
+    /**
+     * Number of characters of an encoded 128-bit ID.
+     *
+     * @return
+     */
+    public int width128() {
+        return width << 1;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Fills {@code dest[offset..offset+width)} with the digits of an unsigned number, most
+     * significant first.
+     */
+    private void fill(long id, char[] dest, int offset) {
+        int end = offset + width;
+        if (bits != 0) {
+            for (int pos = end - 1; pos >= offset; pos--, id >>>= bits) {
+                dest[pos] = alphabet[(int) id & (radix - 1)];
+            }
+            return;
+        }
+        int pos = end;
+        if (id < 0) {
+            // unsigned: the first division makes the remaining value positive
+            dest[--pos] = alphabet[(int) Long.remainderUnsigned(id, radix)];
+            id = Long.divideUnsigned(id, radix);
+        }
+        while (pos > offset) {
+            dest[--pos] = alphabet[(int) (id % radix)];
+            id /= radix;
+        }
+    }
+
+    private void fill(long id, byte[] dest, int offset) {
+        int end = offset + width;
+        if (bits != 0) {
+            for (int pos = end - 1; pos >= offset; pos--, id >>>= bits) {
+                dest[pos] = (byte) alphabet[(int) id & (radix - 1)];
+            }
+            return;
+        }
+        int pos = end;
+        if (id < 0) {
+            dest[--pos] = (byte) alphabet[(int) Long.remainderUnsigned(id, radix)];
+            id = Long.divideUnsigned(id, radix);
+        }
+        while (pos > offset) {
+            dest[--pos] = (byte) alphabet[(int) (id % radix)];
+            id /= radix;
+        }
+    }
+
+    /**
+     * Encodes a 64-bit ID into a char array.
+     *
+     * @param id
+     * @param dest
+     * @param offset
+     * @return {@code offset + width64()}
+     */
+    public int encode(long id, char[] dest, int offset) {
+        fill(id, dest, offset);
+        return offset + width;
+    }
+
+    /**
+     * Encodes a 64-bit ID into a byte array, as ASCII characters.
+     *
+     * @param id
+     * @param dest
+     * @param offset
+     * @return {@code offset + width64()}
+     */
+    public int encode(long id, byte[] dest, int offset) {
+        fill(id, dest, offset);
+        return offset + width;
+    }
+
+    /**
+     * Encodes a 64-bit ID into a buffer, as ASCII characters, at its current position (which is
+     * advanced).
+     *
+     * @param id
+     * @param dest
+     * @return the buffer's new position
+     */
+    public int encode(long id, ByteBuffer dest) {
+        int pos = dest.position();
+        if (dest.remaining() < width) {
+            throw new BufferOverflowException();
+        }
+        if (dest.hasArray()) {
+            fill(id, dest.array(), dest.arrayOffset() + pos);
+        } else {
+            for (int i = pos + width - 1; i >= pos; i--) {
+                dest.put(i, (byte) alphabet[(int) Long.remainderUnsigned(id, radix)]);
+                id = Long.divideUnsigned(id, radix);
+            }
+        }
+        dest.position(pos + width);
+        return pos + width;
+    }
+
+    /**
+     * Encodes a 64-bit ID as a string.
+     *
+     * @param id
+     * @return
+     */
+    public String encode(long id) {
+        char[] buff = new char[width];
+        fill(id, buff, 0);
+        return new String(buff);
+    }
+
+    /**
+     * Encodes a 128-bit ID into a char array.
+     *
+     * @param id
+     * @param dest
+     * @param offset
+     * @return {@code offset + width128()}
+     */
+    public int encode(Id128 id, char[] dest, int offset) {
+        fill(id.getHigh(), dest, offset);
+        fill(id.getLow(), dest, offset + width);
+        return offset + (width << 1);
+    }
+
+    /**
+     * Encodes a 128-bit ID into a byte array, as ASCII characters.
+     *
+     * @param id
+     * @param dest
+     * @param offset
+     * @return {@code offset + width128()}
+     */
+    public int encode(Id128 id, byte[] dest, int offset) {
+        fill(id.getHigh(), dest, offset);
+        fill(id.getLow(), dest, offset + width);
+        return offset + (width << 1);
+    }
+
+    /**
+     * Encodes a 128-bit ID into a buffer, as ASCII characters, at its current position (which is
+     * advanced).
+     *
+     * @param id
+     * @param dest
+     * @return the buffer's new position
+     */
+    public int encode(Id128 id, ByteBuffer dest) {
+        encode(id.getHigh(), dest);
+        return encode(id.getLow(), dest);
+    }
+
+    /**
+     * Encodes a 128-bit ID as a string.
+     *
+     * @param id
+     * @return
+     */
+    public String encode(Id128 id) {
+        char[] buff = new char[width << 1];
+        encode(id, buff, 0);
+        return new String(buff);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private int digit(int c) {
+        int d = c < 128 ? digits[c] : -1;
+        if (d < 0) {
+            throw new NumberFormatException(
+                    "Invalid " + name() + " character: '" + (char) c + "'");
+        }
+        return d;
+    }
+
+    private long accumulate(long value, int digit) {
+        if (bits != 0) {
+            if ((value >>> (64 - bits)) != 0) {
+                throw new NumberFormatException("Value out of 64-bit range");
+            }
+            return (value << bits) | digit;
+        }
+        // value * radix + digit, unsigned, with overflow check
+        long hi = Math.multiplyHigh(value, radix) + ((value >> 63) & radix);
+        long lo = value * radix;
+        long result = lo + digit;
+        if (hi != 0 || Long.compareUnsigned(result, lo) < 0) {
+            throw new NumberFormatException("Value out of 64-bit range");
+        }
+        return result;
+    }
+
+    private void checkLength(int available, int required) {
+        if (available < required) {
+            throw new NumberFormatException(
+                    "Expected " + required + " " + name() + " characters, got " + available);
+        }
+    }
+
+    /**
+     * Decodes a 64-bit ID.
+     *
+     * @param src exactly {@link #width64()} characters
+     * @return
+     * @throws NumberFormatException
+     */
+    public long decode(CharSequence src) throws NumberFormatException {
+        if (src.length() != width) {
+            throw new NumberFormatException(
+                    "Expected " + width + " " + name() + " characters, got " + src.length());
+        }
+        return decode(src, 0);
+    }
+
+    /**
+     * Decodes a 64-bit ID from {@link #width64()} characters starting at {@code offset}.
+     *
+     * @param src
+     * @param offset
+     * @return
+     * @throws NumberFormatException
+     */
+    public long decode(CharSequence src, int offset) throws NumberFormatException {
+        checkLength(src.length() - offset, width);
+        long result = 0;
+        for (int i = offset, end = offset + width; i < end; i++) {
+            result = accumulate(result, digit(src.charAt(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a 64-bit ID from {@link #width64()} characters starting at {@code offset}.
+     *
+     * @param src
+     * @param offset
+     * @return
+     * @throws NumberFormatException
+     */
+    public long decode(char[] src, int offset) throws NumberFormatException {
+        checkLength(src.length - offset, width);
+        long result = 0;
+        for (int i = offset, end = offset + width; i < end; i++) {
+            result = accumulate(result, digit(src[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a 64-bit ID from {@link #width64()} ASCII characters starting at {@code offset}.
+     *
+     * @param src
+     * @param offset
+     * @return
+     * @throws NumberFormatException
+     */
+    public long decode(byte[] src, int offset) throws NumberFormatException {
+        checkLength(src.length - offset, width);
+        long result = 0;
+        for (int i = offset, end = offset + width; i < end; i++) {
+            result = accumulate(result, digit(src[i] & 0xFF));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a 64-bit ID from {@link #width64()} ASCII characters at the buffer's current
+     * position (which is advanced).
+     *
+     * @param src
+     * @return
+     * @throws NumberFormatException
+     */
+    public long decode(ByteBuffer src) throws NumberFormatException {
+        checkLength(src.remaining(), width);
+        long result = 0;
+        for (int i = 0; i < width; i++) {
+            result = accumulate(result, digit(src.get() & 0xFF));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a 128-bit ID.
+     *
+     * @param src exactly {@link #width128()} characters
+     * @return
+     * @throws NumberFormatException
+     */
+    public Id128 decode128(CharSequence src) throws NumberFormatException {
+        if (src.length() != width << 1) {
+            throw new NumberFormatException("Expected " + (width << 1) + " " + name()
+                    + " characters, got " + src.length());
+        }
+        return decode128(src, 0);
+    }
+
+    /**
+     * Decodes a 128-bit ID from {@link #width128()} characters starting at {@code offset}.
+     *
+     * @param src
+     * @param offset
+     * @return
+     * @throws NumberFormatException
+     */
+    public Id128 decode128(CharSequence src, int offset) throws NumberFormatException {
+        checkLength(src.length() - offset, width << 1);
+        return new Id128(decode(src, offset), decode(src, offset + width));
+    }
+
+    /**
+     * Decodes a 128-bit ID from {@link #width128()} characters starting at {@code offset}.
+     *
+     * @param src
+     * @param offset
+     * @return
+     * @throws NumberFormatException
+     */
+    public Id128 decode128(char[] src, int offset) throws NumberFormatException {
+        checkLength(src.length - offset, width << 1);
+        return new Id128(decode(src, offset), decode(src, offset + width));
+    }
+
+    /**
+     * Decodes a 128-bit ID from {@link #width128()} ASCII characters starting at
+     * {@code offset}.
+     *
+     * @param src
+     * @param offset
+     * @return
+     * @throws NumberFormatException
+     */
+    public Id128 decode128(byte[] src, int offset) throws NumberFormatException {
+        checkLength(src.length - offset, width << 1);
+        return new Id128(decode(src, offset), decode(src, offset + width));
+    }
+
+    /**
+     * Decodes a 128-bit ID from {@link #width128()} ASCII characters at the buffer's current
+     * position (which is advanced).
+     *
+     * @param src
+     * @return
+     * @throws NumberFormatException
+     */
+    public Id128 decode128(ByteBuffer src) throws NumberFormatException {
+        checkLength(src.remaining(), width << 1);
+        long high = decode(src);
+        return new Id128(high, decode(src));
+    }
+}
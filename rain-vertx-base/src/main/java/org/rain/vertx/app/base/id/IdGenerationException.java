@@ -0,0 +1,32 @@
+package org.rain.vertx.app.base.id;
+
+/**
+ * Thrown to indicate that IDs could not be generated, e.g. the clock moved backwards and the
+ * {@link IdGenerator.WaitStrategy} is {@link IdGenerator.WaitStrategy#FAIL_FAST}.
+ *
+ * @since 1.0.0
+ */
+public class IdGenerationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdGenerationException() {
+    }
+
+    public IdGenerationException(String message) {
+        super(message);
+    }
+
+    public IdGenerationException(Throwable cause) {
+        super(cause);
+    }
+
+    public IdGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public IdGenerationException(String message, Throwable cause, boolean enableSuppression,
+                                 boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
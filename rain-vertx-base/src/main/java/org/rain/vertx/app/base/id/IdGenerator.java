@@ -5,7 +5,11 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Utility class to generate IDs using Twitter Snowflake algorithm.
@@ -20,6 +24,18 @@ import java.util.concurrent.atomic.AtomicLong;
  * </ul>
  * </p>
  *
+ * <p>
+ * Generation is lock-free: each ID type keeps its own packed {@code (tick, sequence)} state,
+ * updated with a CAS loop. Hence threads generating IDs do not block each other, and ID types do
+ * not share (nor exhaust) each other's sequences.
+ * </p>
+ *
+ * <p>
+ * When the sequence of a tick is exhausted or the clock moved backwards, the
+ * {@link WaitStrategy} decides whether to park, spin, borrow ahead of the clock, or fail; such
+ * events are counted in {@link #getMetrics()}.
+ * </p>
+ *
  * @author Thanh Nguyen <btnguyen2k@gmail.com>
  * @since 0.1.0
  */
@@ -30,6 +46,11 @@ public class IdGenerator {
     /**
      * Returns host's MAC address.
      *
+     * <p>
+     * Only the lowest 10 bits are used by 64-bit IDs, and the MAC address is often unavailable or
+     * shared in containers: prefer {@link #getInstance(NodeIdProvider)}.
+     * </p>
+     *
      * @return
      */
     public static long getMacAddr() {
@@ -75,6 +96,27 @@ public class IdGenerator {
         return idGen;
     }
 
+    /**
+     * Gets an {@link IdGenerator} instance for the node-id given by a {@link NodeIdProvider}.
+     *
+     * <p>
+     * The generator checks {@link NodeIdProvider#isNodeIdValid()} before each reservation, and
+     * throws {@link IdGenerationException} while the node-id is not valid (e.g. a lost lease). As
+     * instances are cached by node-id, this also applies to the same instance obtained with
+     * {@link #getInstance(long)}.
+     * </p>
+     *
+     * @param nodeIdProvider
+     * @return
+     * @throws IdGenerationException if the node-id can not be determined
+     * @since 1.0.0
+     */
+    public static IdGenerator getInstance(NodeIdProvider nodeIdProvider) {
+        IdGenerator idGen = getInstance(nodeIdProvider.getNodeId());
+        idGen.nodeIdProvider = nodeIdProvider;
+        return idGen;
+    }
+
     /**
      * Disposes an unused {@link IdGenerator}.
      *
@@ -117,6 +159,13 @@ public class IdGenerator {
     // private final static long TIMESTAMP_EPOCH = 1330534800000L; // 1-Mar-2012
     public final static long TIMESTAMP_EPOCH = 1362070800000L; // 1-Mar-2013
 
+    /**
+     * Largest node-id fully used by 64-bit IDs (10 bits); larger node-ids are truncated.
+     *
+     * @since 1.0.0
+     */
+    public final static long MAX_NODE_ID_64 = MASK_NODE_ID_64;
+
     private final static long MASK_NODE_ID_128 = 0xFFFFFFFFFFFFL; // 48 bits
     private final static long MASK_SEQUENCE_128 = 0xFFFF; // 16 bits
     private final static long MAX_SEQUENCE_128 = 0xFFFF; // 16 bits
@@ -124,10 +173,14 @@ public class IdGenerator {
     private final static int SHIFT_NODE_ID_128 = 16;
 
     private long nodeId;
+    private volatile NodeIdProvider nodeIdProvider;
     private long template48, template64, templateMini;
-    private BigInteger template128;
-    private AtomicLong sequenceMillisec = new AtomicLong();
-    private AtomicLong lastTimestampMillisec = new AtomicLong();
+    private long templateLow128;
+    private final TickSequence sequenceTiny = new TickSequence(10000L, MAX_SEQUENCE_TINY);
+    private final TickSequence sequence48 = new TickSequence(1000L, MAX_SEQUENCE_48);
+    private final TickSequence sequenceMini = new TickSequence(1L, MAX_SEQUENCE_MINI);
+    private final TickSequence sequence64 = new TickSequence(1L, MAX_SEQUENCE_64);
+    private final TickSequence sequence128 = new TickSequence(1L, MAX_SEQUENCE_128);
     private boolean isInited = false;
 
     /**
@@ -145,8 +198,7 @@ public class IdGenerator {
             templateMini = (nodeId & MASK_NODE_ID_MINI) << SHIFT_NODE_ID_MINI;
             template64 = (nodeId & MASK_NODE_ID_64) << SHIFT_NODE_ID_64;
             template48 = (nodeId & MASK_NODE_ID_48) << SHIFT_NODE_ID_48;
-            template128 = BigInteger.valueOf(nodeId & MASK_NODE_ID_128)
-                    .shiftLeft(SHIFT_NODE_ID_128);
+            templateLow128 = (nodeId & MASK_NODE_ID_128) << SHIFT_NODE_ID_128;
             isInited = true;
         }
     }
@@ -194,6 +246,409 @@ public class IdGenerator {
         return nextBlock;
     }
 
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * What to do when IDs can not be generated in the current tick: the sequence of the tick is
+     * exhausted, or the clock moved backwards (e.g. NTP step).
+     *
+     * @since 1.0.0
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy-wait (with {@link Thread#yield()}) till the clock reaches the next usable tick.
+         */
+        SPIN,
+        /**
+         * Park the thread ({@link LockSupport#parkNanos(long)}) till the clock reaches the next
+         * usable tick.
+         */
+        PARK,
+        /**
+         * Keep generating IDs in the next usable tick, ahead of the clock, as long as it is at most
+         * {@link #getMaxBorrowMs()} ahead; otherwise park.
+         *
+         * <p>
+         * Borrowed ticks are only kept in memory: if the process restarts (with the same node-id)
+         * before the clock has caught up, i.e. within {@link #getMaxBorrowMs()}, the new process
+         * starts from the current clock and may re-issue IDs already generated ahead of it. Only
+         * use this strategy if restarts take longer than the max borrow, or if node-ids are leased
+         * with a quarantine (see {@link AbstractNodeIdRegistry#getQuarantineMs()}).
+         * </p>
+         */
+        BORROW,
+        /**
+         * Throw an {@link IdGenerationException}.
+         */
+        FAIL_FAST
+    }
+
+    /**
+     * Counters of the events slowing down ID generation.
+     *
+     * @since 1.0.0
+     */
+    public static class Metrics {
+        private final LongAdder sequenceOverflows = new LongAdder();
+        private final LongAdder clockBackwards = new LongAdder();
+        private final LongAccumulator maxClockBackwardMs = new LongAccumulator(Math::max, 0);
+        private final LongAdder borrows = new LongAdder();
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        /**
+         * Number of times the sequence of a tick was exhausted.
+         *
+         * @return
+         */
+        public long getSequenceOverflows() {
+            return sequenceOverflows.sum();
+        }
+
+        /**
+         * Number of times the clock was found behind the last used tick (each waiting thread
+         * counts once).
+         *
+         * @return
+         */
+        public long getClockBackwards() {
+            return clockBackwards.sum();
+        }
+
+        /**
+         * Largest backward clock jump seen, in milliseconds.
+         *
+         * @return
+         */
+        public long getMaxClockBackwardMs() {
+            return maxClockBackwardMs.get();
+        }
+
+        /**
+         * Number of reservations made ahead of the clock ({@link WaitStrategy#BORROW}).
+         *
+         * @return
+         */
+        public long getBorrows() {
+            return borrows.sum();
+        }
+
+        /**
+         * Number of times a thread waited for the clock.
+         *
+         * @return
+         */
+        public long getWaits() {
+            return waits.sum();
+        }
+
+        /**
+         * Total time spent waiting for the clock, in nanoseconds.
+         *
+         * @return
+         */
+        public long getWaitNanos() {
+            return waitNanos.sum();
+        }
+
+        /**
+         * Number of {@link IdGenerationException}s thrown ({@link WaitStrategy#FAIL_FAST}, or
+         * invalid node-id).
+         *
+         * @return
+         */
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "{sequenceOverflows=" + getSequenceOverflows() + ", clockBackwards="
+                    + getClockBackwards() + ", maxClockBackwardMs=" + getMaxClockBackwardMs()
+                    + ", borrows=" + getBorrows() + ", waits=" + getWaits() + ", waitNanos="
+                    + getWaitNanos() + ", failures=" + getFailures() + "}";
+        }
+    }
+
+    /**
+     * Default wait strategy.
+     *
+     * @since 1.0.0
+     */
+    public final static WaitStrategy DEFAULT_WAIT_STRATEGY = WaitStrategy.PARK;
+
+    /**
+     * Default value of {@link #getMaxBorrowMs()}.
+     *
+     * @since 1.0.0
+     */
+    public final static long DEFAULT_MAX_BORROW_MS = 1000;
+
+    /* parked threads wake up at least this often to re-check the clock */
+    private final static long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private volatile WaitStrategy waitStrategy = DEFAULT_WAIT_STRATEGY;
+    private volatile long maxBorrowMs = DEFAULT_MAX_BORROW_MS;
+    private final Metrics metrics = new Metrics();
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * What to do when the sequence of a tick is exhausted or the clock moved backwards. Default
+     * value: {@link #DEFAULT_WAIT_STRATEGY}.
+     *
+     * <p>
+     * Instances returned by {@link #getInstance(long)} are cached and shared per node-id: this
+     * setting (as well as {@link #setMaxBorrowMs(long)}) applies to every user of the instance in
+     * the JVM, so set it once at startup rather than per caller.
+     * </p>
+     *
+     * @param waitStrategy
+     * @return
+     * @since 1.0.0
+     */
+    public IdGenerator setWaitStrategy(WaitStrategy waitStrategy) {
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy must not be null!");
+        }
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    public long getMaxBorrowMs() {
+        return maxBorrowMs;
+    }
+
+    /**
+     * How far ahead of the clock IDs can be generated with {@link WaitStrategy#BORROW}, in
+     * milliseconds. Default value: {@link #DEFAULT_MAX_BORROW_MS}.
+     *
+     * @param maxBorrowMs
+     * @return
+     * @since 1.0.0
+     */
+    public IdGenerator setMaxBorrowMs(long maxBorrowMs) {
+        if (maxBorrowMs < 0) {
+            throw new IllegalArgumentException("Max borrow must not be negative: " + maxBorrowMs);
+        }
+        this.maxBorrowMs = maxBorrowMs;
+        return this;
+    }
+
+    /**
+     * Counters of sequence overflows, backward clock jumps and waits of this generator.
+     *
+     * @return
+     * @since 1.0.0
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    private void checkNodeId() {
+        NodeIdProvider provider = nodeIdProvider;
+        if (provider != null && !provider.isNodeIdValid()) {
+            metrics.failures.increment();
+            throw new IdGenerationException("Node-id " + nodeId + " of " + provider
+                    + " is no longer valid (e.g. its lease was lost)!");
+        }
+    }
+
+    private final static int SHIFT_PACKED_TICK = 20;
+    /* set when the tick was borrowed ahead of the clock */
+    private final static long FLAG_PACKED_AHEAD = 1L << (SHIFT_PACKED_TICK - 1);
+    private final static long MASK_PACKED_SEQUENCE = FLAG_PACKED_AHEAD - 1;
+
+    /**
+     * Packed {@code <tick><1-bit:ahead flag><19-bit:sequence>} state of an ID type, where
+     * {@code tick} is the (UNIX) timestamp divided by the tick size.
+     *
+     * <p>
+     * State is updated with a CAS loop: under contention a thread simply retries with the fresh
+     * state. When the sequence of the current tick is exhausted or the clock moved backwards, the
+     * generator's {@link WaitStrategy} applies.
+     * </p>
+     */
+    private final class TickSequence {
+        private final long tickSize;
+        private final long maxSequence;
+        private final AtomicLong state = new AtomicLong();
+
+        TickSequence(long tickSize, long maxSequence) {
+            this.tickSize = tickSize;
+            this.maxSequence = maxSequence;
+        }
+
+        /**
+         * Reserves the next {@code (tick, sequence)} pair.
+         *
+         * @return the packed pair, see {@link #tickOf(long)} and {@link #sequenceOf(long)}
+         */
+        long next() {
+            return reserve(1);
+        }
+
+        /**
+         * Reserves a block of consecutive sequences in the current tick, with a single CAS.
+         *
+         * @param count maximum number of sequences to reserve, at least 1
+         * @return the packed {@code (tick, first sequence)} pair, the number of sequences actually
+         * reserved is given by {@link #reservedCount(long, int)}
+         */
+        long reserve(int count) {
+            checkNodeId();
+            while (true) {
+                long current = state.get();
+                long lastTick = tickOf(current);
+                long now = System.currentTimeMillis();
+                long tick = now / tickSize;
+                long first = 0;
+                // being behind a borrowed tick is not a clock regression
+                boolean backwards = tick < lastTick && (current & FLAG_PACKED_AHEAD) == 0;
+                boolean overflow = false;
+                boolean ahead = false;
+                if (tick <= lastTick) {
+                    first = sequenceOf(current) + 1;
+                    overflow = first > maxSequence;
+                    // next usable tick
+                    long target = overflow ? lastTick + 1 : lastTick;
+                    ahead = target > tick;
+                    if (ahead) {
+                        if (waitStrategy != WaitStrategy.BORROW
+                                || target * tickSize - now > maxBorrowMs) {
+                            waitFor(target, backwards, overflow, lastTick * tickSize - now);
+                            continue;
+                        }
+                        first = overflow ? 0 : first;
+                    }
+                    tick = target;
+                }
+                long last = Math.min(first + count - 1, maxSequence);
+                long next = tick << SHIFT_PACKED_TICK | (ahead ? FLAG_PACKED_AHEAD : 0) | last;
+                if (state.compareAndSet(current, next)) {
+                    if (ahead) {
+                        record(backwards, overflow, lastTick * tickSize - now);
+                        metrics.borrows.increment();
+                    }
+                    return tick << SHIFT_PACKED_TICK | first;
+                }
+            }
+        }
+
+        private void record(boolean backwards, boolean overflow, long backwardMs) {
+            if (backwards) {
+                metrics.clockBackwards.increment();
+                metrics.maxClockBackwardMs.accumulate(backwardMs);
+            }
+            if (overflow) {
+                metrics.sequenceOverflows.increment();
+            }
+        }
+
+        private void waitFor(long targetTick, boolean backwards, boolean overflow,
+                             long backwardMs) {
+            record(backwards, overflow, backwardMs);
+            WaitStrategy strategy = waitStrategy;
+            if (strategy == WaitStrategy.FAIL_FAST) {
+                metrics.failures.increment();
+                throw new IdGenerationException(backwards
+                        ? "Clock moved backwards by " + backwardMs + " ms!"
+                        : "No sequence available before tick " + targetTick + "!");
+            }
+            metrics.waits.increment();
+            long start = System.nanoTime();
+            if (strategy == WaitStrategy.SPIN) {
+                waitTillNextTick(targetTick - 1, tickSize);
+            } else {
+                // BORROW only needs to get back within the borrow window
+                long untilMs = targetTick * tickSize
+                        - (strategy == WaitStrategy.BORROW ? maxBorrowMs : 0);
+                long remainingMs;
+                while ((remainingMs = untilMs - System.currentTimeMillis()) > 0) {
+                    LockSupport.parkNanos(
+                            Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMs), MAX_PARK_NANOS));
+                }
+            }
+            metrics.waitNanos.add(System.nanoTime() - start);
+        }
+
+        /**
+         * Number of sequences actually reserved by {@link #reserve(int)}.
+         *
+         * @param packed the value returned by {@link #reserve(int)}
+         * @param count  the requested count
+         * @return
+         */
+        int reservedCount(long packed, int count) {
+            return (int) Math.min(count, maxSequence - sequenceOf(packed) + 1);
+        }
+
+        static long tickOf(long packed) {
+            return packed >>> SHIFT_PACKED_TICK;
+        }
+
+        static long sequenceOf(long packed) {
+            return packed & MASK_PACKED_SEQUENCE;
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Same as {@code Long.toHexString(id).toUpperCase()}, with less intermediate garbage.
+     */
+    private static String toLegacyHex(long id) {
+        char[] buff = new char[IdEncoding.HEX.width64()];
+        IdEncoding.HEX.encode(id, buff, 0);
+        return stripLeadingZeros(buff);
+    }
+
+    /**
+     * Same as {@code Long.toString(id, Character.MAX_RADIX).toUpperCase()}, with less
+     * intermediate garbage.
+     */
+    private static String toLegacyAscii(long id) {
+        if (id < 0) {
+            return Long.toString(id, Character.MAX_RADIX).toUpperCase();
+        }
+        char[] buff = new char[IdEncoding.BASE36.width64()];
+        IdEncoding.BASE36.encode(id, buff, 0);
+        return stripLeadingZeros(buff);
+    }
+
+    private static String stripLeadingZeros(char[] buff) {
+        int start = 0;
+        while (start < buff.length - 1 && buff[start] == '0') {
+            start++;
+        }
+        return new String(buff, start, buff.length - start);
+    }
+
+    /**
+     * Generates a 64-bit id as a fixed-width string (lexicographic order is the id order).
+     *
+     * @param encoding
+     * @return
+     * @since 1.0.0
+     */
+    public String generateId64String(IdEncoding encoding) {
+        return encoding.encode(generateId64());
+    }
+
+    /**
+     * Generates a 128-bit id as a fixed-width string (lexicographic order is the id order).
+     *
+     * @param encoding
+     * @return
+     * @since 1.0.0
+     */
+    public String generateId128String(IdEncoding encoding) {
+        return encoding.encode(generateId128Value());
+    }
+
     /* tiny id */
 
     /**
@@ -232,8 +687,6 @@ public class IdGenerator {
         return extractTimestampTiny(Long.parseLong(idTinyAscii, Character.MAX_RADIX));
     }
 
-    private AtomicLong sequenceTiny = new AtomicLong();
-
     /**
      * Generates a tiny id (various bit long, does not include node info).
      *
@@ -255,29 +708,11 @@ public class IdGenerator {
      *
      * @return
      */
-    synchronized public long generateIdTiny() {
+    public long generateIdTiny() {
         final long blockSize = 10000L; // block 10000 ms
-        long timestamp = System.currentTimeMillis() / blockSize;
-        long sequence = 0;
-        boolean done = false;
-        while (!done) {
-            done = true;
-            while (timestamp < lastTimestampMillisec.get() / blockSize) {
-                timestamp = waitTillNextTick(timestamp, blockSize);
-            }
-            if (timestamp == lastTimestampMillisec.get() / blockSize) {
-                sequence = sequenceTiny.incrementAndGet();
-                if (sequence > MAX_SEQUENCE_TINY) {
-                    // reset sequence
-                    sequenceTiny.set(sequence = 0);
-                    timestamp = waitTillNextTick(timestamp, blockSize);
-                    done = false;
-                }
-            }
-        }
-        sequenceTiny.set(sequence);
-        lastTimestampMillisec.set(timestamp * blockSize);
-        timestamp -= TIMESTAMP_EPOCH / blockSize;
+        long next = sequenceTiny.next();
+        long timestamp = TickSequence.tickOf(next) - TIMESTAMP_EPOCH / blockSize;
+        long sequence = TickSequence.sequenceOf(next);
         return sequence == 0 ? timestamp
                 : (timestamp << SHIFT_TIMESTAMP_TINY) | (sequence & MASK_SEQUENCE_TINY);
     }
@@ -288,7 +723,7 @@ public class IdGenerator {
      * @return
      */
     public String generateIdTinyHex() {
-        return Long.toHexString(generateIdTiny()).toUpperCase();
+        return toLegacyHex(generateIdTiny());
     }
 
     /**
@@ -297,7 +732,7 @@ public class IdGenerator {
      * @return
      */
     public String generateIdTinyAscii() {
-        return Long.toString(generateIdTiny(), Character.MAX_RADIX).toUpperCase();
+        return toLegacyAscii(generateIdTiny());
     }
 
     /* tiny id */
@@ -349,31 +784,13 @@ public class IdGenerator {
      *
      * @return
      */
-    synchronized public long generateId48() {
+    public long generateId48() {
         final long blockSize = 1000L; // block 1000 ms
-        long timestamp = System.currentTimeMillis() / blockSize;
-        long sequence = 0;
-        boolean done = false;
-        while (!done) {
-            done = true;
-            while (timestamp < lastTimestampMillisec.get() / blockSize) {
-                timestamp = waitTillNextSecond(timestamp);
-            }
-            if (timestamp == lastTimestampMillisec.get() / blockSize) {
-                // increase sequence
-                sequence = sequenceMillisec.incrementAndGet();
-                if (sequence > MAX_SEQUENCE_48) {
-                    // reset sequence
-                    sequenceMillisec.set(sequence = 0);
-                    timestamp = waitTillNextSecond(timestamp);
-                    done = false;
-                }
-            }
-        }
-        sequenceMillisec.set(sequence);
-        lastTimestampMillisec.set(timestamp * blockSize);
+        long next = sequence48.next();
+        long timestamp = TickSequence.tickOf(next);
         timestamp = ((timestamp * blockSize - TIMESTAMP_EPOCH) / blockSize) & MASK_TIMESTAMP_48;
-        return timestamp << SHIFT_TIMESTAMP_48 | template48 | (sequence & MASK_SEQUENCE_48);
+        return timestamp << SHIFT_TIMESTAMP_48 | template48
+                | (TickSequence.sequenceOf(next) & MASK_SEQUENCE_48);
     }
 
     /**
@@ -382,7 +799,7 @@ public class IdGenerator {
      * @return
      */
     public String generateId48Hex() {
-        return Long.toHexString(generateId48()).toUpperCase();
+        return toLegacyHex(generateId48());
     }
 
     /**
@@ -391,7 +808,7 @@ public class IdGenerator {
      * @return
      */
     public String generateId48Ascii() {
-        return Long.toString(generateId48(), Character.MAX_RADIX).toUpperCase();
+        return toLegacyAscii(generateId48());
     }
 
     /* 48-bit id */
@@ -450,30 +867,11 @@ public class IdGenerator {
      *
      * @return
      */
-    synchronized public long generateIdMini() {
-        long timestamp = System.currentTimeMillis();
-        long sequence = 0;
-        boolean done = false;
-        while (!done) {
-            done = true;
-            while (timestamp < lastTimestampMillisec.get()) {
-                timestamp = waitTillNextMillisec(timestamp);
-            }
-            if (timestamp == lastTimestampMillisec.get()) {
-                // increase sequence
-                sequence = sequenceMillisec.incrementAndGet();
-                if (sequence > MAX_SEQUENCE_MINI) {
-                    // reset sequence
-                    sequenceMillisec.set(sequence = 0);
-                    timestamp = waitTillNextMillisec(timestamp);
-                    done = false;
-                }
-            }
-        }
-        sequenceMillisec.set(sequence);
-        lastTimestampMillisec.set(timestamp);
-        timestamp = (timestamp - TIMESTAMP_EPOCH) & MASK_TIMESTAMP_MINI;
-        return timestamp << SHIFT_TIMESTAMP_MINI | templateMini | (sequence & MASK_SEQUENCE_MINI);
+    public long generateIdMini() {
+        long next = sequenceMini.next();
+        long timestamp = (TickSequence.tickOf(next) - TIMESTAMP_EPOCH) & MASK_TIMESTAMP_MINI;
+        return timestamp << SHIFT_TIMESTAMP_MINI | templateMini
+                | (TickSequence.sequenceOf(next) & MASK_SEQUENCE_MINI);
     }
 
     /**
@@ -482,7 +880,7 @@ public class IdGenerator {
      * @return
      */
     public String generateIdMiniHex() {
-        return Long.toHexString(generateIdMini()).toUpperCase();
+        return toLegacyHex(generateIdMini());
     }
 
     /**
@@ -491,7 +889,7 @@ public class IdGenerator {
      * @return
      */
     public String generateIdMiniAscii() {
-        return Long.toString(generateIdMini(), Character.MAX_RADIX).toUpperCase();
+        return toLegacyAscii(generateIdMini());
     }
 
     /* mini id */
@@ -543,30 +941,59 @@ public class IdGenerator {
      *
      * @return
      */
-    synchronized public long generateId64() {
-        long timestamp = System.currentTimeMillis();
-        long sequence = 0;
-        boolean done = false;
-        while (!done) {
-            done = true;
-            while (timestamp < lastTimestampMillisec.get()) {
-                timestamp = waitTillNextMillisec(timestamp);
-            }
-            if (timestamp == lastTimestampMillisec.get()) {
-                // increase sequence
-                sequence = sequenceMillisec.incrementAndGet();
-                if (sequence > MAX_SEQUENCE_64) {
-                    // reset sequence
-                    sequenceMillisec.set(sequence = 0);
-                    timestamp = waitTillNextMillisec(timestamp);
-                    done = false;
-                }
-            }
+    public long generateId64() {
+        long next = sequence64.next();
+        long timestamp = (TickSequence.tickOf(next) - TIMESTAMP_EPOCH) & MASK_TIMESTAMP_64;
+        return timestamp << SHIFT_TIMESTAMP_64 | template64
+                | (TickSequence.sequenceOf(next) & MASK_SEQUENCE_64);
+    }
+
+    /**
+     * Reserves a range of consecutive 64-bit ids in the current millisecond, with a single
+     * synchronization point.
+     *
+     * <p>
+     * At most 8192 ids (the 13-bit sequence) can be generated per millisecond, so the returned
+     * range may hold fewer ids than requested (but at least one).
+     * </p>
+     *
+     * @param maxCount maximum number of ids to reserve
+     * @return
+     * @since 1.0.0
+     */
+    public IdRange reserveId64Range(int maxCount) {
+        if (maxCount < 1) {
+            throw new IllegalArgumentException("Count must be positive: " + maxCount);
         }
-        sequenceMillisec.set(sequence);
-        lastTimestampMillisec.set(timestamp);
-        timestamp = (timestamp - TIMESTAMP_EPOCH) & MASK_TIMESTAMP_64;
-        return timestamp << SHIFT_TIMESTAMP_64 | template64 | (sequence & MASK_SEQUENCE_64);
+        long first = sequence64.reserve(maxCount);
+        long timestamp = TickSequence.tickOf(first);
+        long id = ((timestamp - TIMESTAMP_EPOCH) & MASK_TIMESTAMP_64) << SHIFT_TIMESTAMP_64
+                | template64 | (TickSequence.sequenceOf(first) & MASK_SEQUENCE_64);
+        return new IdRange(timestamp, id, sequence64.reservedCount(first, maxCount));
+    }
+
+    /**
+     * Generates a batch of 64-bit ids, in ascending order.
+     *
+     * <p>
+     * Ids are reserved by ranges (see {@link #reserveId64Range(int)}), hence with one
+     * synchronization point per millisecond rather than per id.
+     * </p>
+     *
+     * @param count
+     * @return
+     * @since 1.0.0
+     */
+    public long[] generateId64Batch(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        long[] result = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            filled += reserveId64Range(count - filled).copyTo(result, filled);
+        }
+        return result;
     }
 
     /**
@@ -575,7 +1002,7 @@ public class IdGenerator {
      * @return
      */
     public String generateId64Hex() {
-        return Long.toHexString(generateId64()).toUpperCase();
+        return toLegacyHex(generateId64());
     }
 
     /**
@@ -584,7 +1011,7 @@ public class IdGenerator {
      * @return
      */
     public String generateId64Ascii() {
-        return Long.toString(generateId64(), Character.MAX_RADIX).toUpperCase();
+        return toLegacyAscii(generateId64());
     }
 
     /* 64-bit id */
@@ -636,33 +1063,24 @@ public class IdGenerator {
      *
      * @return
      */
-    synchronized public BigInteger generateId128() {
-        long timestamp = System.currentTimeMillis();
-        long sequence = 0;
-        boolean done = false;
-        while (!done) {
-            done = true;
-            while (timestamp < lastTimestampMillisec.get()) {
-                timestamp = waitTillNextMillisec(timestamp);
-            }
-            if (timestamp == lastTimestampMillisec.get()) {
-                // increase sequence
-                sequence = sequenceMillisec.incrementAndGet();
-                if (sequence > MAX_SEQUENCE_128) {
-                    // reset sequence
-                    sequenceMillisec.set(sequence = 0);
-                    timestamp = waitTillNextMillisec(timestamp);
-                    done = false;
-                }
-            }
-        }
-        sequenceMillisec.set(sequence);
-        lastTimestampMillisec.set(timestamp);
-        BigInteger biSequence = BigInteger.valueOf(sequence & MASK_SEQUENCE_128);
-        BigInteger biResult = BigInteger.valueOf(timestamp);
-        biResult = biResult.shiftLeft((int) SHIFT_TIMESTAMP_128);
-        biResult = biResult.or(template128).or(biSequence);
-        return biResult;
+    public BigInteger generateId128() {
+        return generateId128Value().toBigInteger();
+    }
+
+    /**
+     * Generates a 128-bit id, as an {@link Id128} (no {@link BigInteger} math).
+     *
+     * <p>
+     * Format: same as {@link #generateId128()}.
+     * </p>
+     *
+     * @return
+     * @since 1.0.0
+     */
+    public Id128 generateId128Value() {
+        long next = sequence128.next();
+        return new Id128(TickSequence.tickOf(next),
+                templateLow128 | (TickSequence.sequenceOf(next) & MASK_SEQUENCE_128));
     }
 
     /**
@@ -671,7 +1089,9 @@ public class IdGenerator {
      * @return
      */
     public String generateId128Hex() {
-        return generateId128().toString(16).toUpperCase();
+        char[] buff = new char[IdEncoding.HEX.width128()];
+        IdEncoding.HEX.encode(generateId128Value(), buff, 0);
+        return stripLeadingZeros(buff);
     }
 
     /**
@@ -0,0 +1,130 @@
+package org.rain.vertx.app.base.id;
+
+import java.util.stream.LongStream;
+
+/**
+ * A range of consecutive ids reserved in one go, see {@link IdGenerator#reserveId64Range(int)}.
+ *
+ * <p>
+ * All ids of the range share the same timestamp and node-id, and only differ by their sequence
+ * number (the lowest bits), hence the {@code i}-th id is simply {@code first + i}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class IdRange {
+    private final long timestamp;
+    private final long first;
+    private final int size;
+
+    public IdRange(long timestamp, long first, int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+        this.timestamp = timestamp;
+        this.first = first;
+        this.size = size;
+    }
+
+    /**
+     * The (UNIX) timestamp shared by all ids of the range.
+     *
+     * @return the UNIX timestamp (milliseconds)
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * First id of the range.
+     *
+     * @return
+     */
+    public long getFirst() {
+        return first;
+    }
+
+    /**
+     * Last id of the range (inclusive).
+     *
+     * @return
+     */
+    public long getLast() {
+        return first + size - 1;
+    }
+
+    /**
+     * Number of ids in the range.
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the {@code index}-th id of the range.
+     *
+     * @param index
+     * @return
+     * @throws IndexOutOfBoundsException
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return first + index;
+    }
+
+    /**
+     * Checks if an id belongs to this range.
+     *
+     * @param id
+     * @return
+     */
+    public boolean contains(long id) {
+        return size > 0 && id >= first && id <= getLast();
+    }
+
+    /**
+     * Copies the ids of this range into an array.
+     *
+     * @param dest
+     * @param offset position of the first id in {@code dest}
+     * @return number of copied ids (i.e. {@link #size()})
+     */
+    public int copyTo(long[] dest, int offset) {
+        for (int i = 0; i < size; i++) {
+            dest[offset + i] = first + i;
+        }
+        return size;
+    }
+
+    /**
+     * Ids of this range as an array.
+     *
+     * @return
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        copyTo(result, 0);
+        return result;
+    }
+
+    /**
+     * Ids of this range as a stream.
+     *
+     * @return
+     */
+    public LongStream stream() {
+        return LongStream.range(first, first + size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "IdRange[" + first + ".." + getLast() + ", size=" + size + "]";
+    }
+}
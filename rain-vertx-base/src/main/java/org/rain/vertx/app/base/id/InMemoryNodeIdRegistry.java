@@ -0,0 +1,38 @@
+package org.rain.vertx.app.base.id;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory {@link NodeIdRegistry}: only guards the {@link IdGenerator}s of one process. Useful as
+ * a stand-in for a shared registry in tests and local development.
+ *
+ * @since 1.0.0
+ */
+public class InMemoryNodeIdRegistry extends AbstractNodeIdRegistry {
+    private final Map<Long, String> leases = new HashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String read(long nodeId) {
+        return leases.get(nodeId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void write(long nodeId, String lease) {
+        leases.put(nodeId, lease);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void delete(long nodeId) {
+        leases.remove(nodeId);
+    }
+}
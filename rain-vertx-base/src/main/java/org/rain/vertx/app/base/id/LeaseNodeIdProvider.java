@@ -0,0 +1,337 @@
+package org.rain.vertx.app.base.id;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.rain.vertx.app.base.hash.HashUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link NodeIdProvider} leasing its node-id from a {@link NodeIdRegistry}, and renewing the lease
+ * in background till {@link #destroy()}.
+ *
+ * <p>
+ * Without a preferred provider, the first free node-id in {@code [0, maxNodeId]} is leased
+ * (scanning from a hash of the owner). With a preferred provider (e.g.
+ * {@link StaticNodeIdProvider}, {@link HostHashNodeIdProvider}), only its node-id is leased:
+ * {@link #init()} fails if another node already uses it, i.e. collisions are detected at startup
+ * rather than silently producing duplicate IDs.
+ * </p>
+ *
+ * <pre>
+ * LeaseNodeIdProvider nodeIdProvider = new LeaseNodeIdProvider(registry).init();
+ * IdGenerator idGen = IdGenerator.getInstance(nodeIdProvider);
+ * ...
+ * nodeIdProvider.destroy();
+ * </pre>
+ *
+ * <p>
+ * The lease is considered valid till its expiry (as of the last successful acquisition) minus
+ * {@link #getSafetyMargin()}, regardless of the renewer thread: if the process or the renewer
+ * stalls past that point (e.g. a long GC pause), or a renewal finds the node-id taken by another
+ * node, {@link #isLeaseValid()} returns {@code false} and generators obtained with
+ * {@link IdGenerator#getInstance(NodeIdProvider)} throw {@link IdGenerationException} till the
+ * lease is renewed again. Callers using the node-id directly must check {@link #isLeaseValid()}
+ * themselves.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class LeaseNodeIdProvider implements NodeIdProvider, AutoCloseable {
+    private final static Logger LOGGER = LoggerFactory.getLogger(LeaseNodeIdProvider.class);
+
+    /**
+     * Default lease duration.
+     */
+    public final static Duration DEFAULT_LEASE_TTL = Duration.ofSeconds(30);
+
+    /**
+     * Default value of {@link #getSafetyMargin()}.
+     */
+    public final static Duration DEFAULT_SAFETY_MARGIN = Duration.ofSeconds(1);
+
+    /**
+     * Generate an owner identifier unique per process: {@code <pid>@<host>:<random>}.
+     *
+     * <p>
+     * The random part makes the owner differ across restarts: a restarted process does not renew
+     * its previous lease but leases another node-id (or, with a preferred provider, waits for the
+     * previous lease to expire). Pass a stable owner (e.g. the pod name of a StatefulSet) to the
+     * constructor to reclaim the same node-id after a restart.
+     * </p>
+     *
+     * @return
+     */
+    public static String defaultOwner() {
+        return ManagementFactory.getRuntimeMXBean().getName() + ":"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private final NodeIdRegistry registry;
+    private final String owner;
+    private long maxNodeId = IdGenerator.MAX_NODE_ID_64;
+    private Duration leaseTtl = DEFAULT_LEASE_TTL;
+    private Duration safetyMargin = DEFAULT_SAFETY_MARGIN;
+    private NodeIdProvider preferred;
+
+    private volatile long nodeId = -1;
+    private volatile long leaseExpiresAt = Long.MIN_VALUE;
+    private ScheduledExecutorService renewer;
+
+    /**
+     * Construct a new {@link LeaseNodeIdProvider} object, with {@link #defaultOwner()}.
+     *
+     * @param registry
+     */
+    public LeaseNodeIdProvider(NodeIdRegistry registry) {
+        this(registry, defaultOwner());
+    }
+
+    public LeaseNodeIdProvider(NodeIdRegistry registry, String owner) {
+        this.registry = registry;
+        this.owner = owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getMaxNodeId() {
+        return maxNodeId;
+    }
+
+    /**
+     * Largest node-id to lease. Default value: {@link IdGenerator#MAX_NODE_ID_64}.
+     *
+     * @param maxNodeId
+     * @return
+     */
+    synchronized public LeaseNodeIdProvider setMaxNodeId(long maxNodeId) {
+        if (maxNodeId < 0) {
+            throw new IllegalArgumentException("Max node-id must not be negative: " + maxNodeId);
+        }
+        this.maxNodeId = maxNodeId;
+        return this;
+    }
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    /**
+     * Lease duration, renewed every third of it. Default value: {@link #DEFAULT_LEASE_TTL}.
+     *
+     * @param leaseTtl
+     * @return
+     */
+    synchronized public LeaseNodeIdProvider setLeaseTtl(Duration leaseTtl) {
+        if (leaseTtl.toMillis() < 3) {
+            throw new IllegalArgumentException("Lease TTL is too short: " + leaseTtl);
+        }
+        this.leaseTtl = leaseTtl;
+        return this;
+    }
+
+    public Duration getSafetyMargin() {
+        return safetyMargin;
+    }
+
+    /**
+     * How long before its expiry the lease stops being valid, to absorb clock drift between this
+     * node and the registry. Must be shorter than the time left on the lease when it is renewed
+     * (two thirds of {@link #getLeaseTtl()}). Default value: {@link #DEFAULT_SAFETY_MARGIN}.
+     *
+     * @param safetyMargin
+     * @return
+     */
+    synchronized public LeaseNodeIdProvider setSafetyMargin(Duration safetyMargin) {
+        if (safetyMargin.isNegative()) {
+            throw new IllegalArgumentException("Safety margin must not be negative: "
+                    + safetyMargin);
+        }
+        this.safetyMargin = safetyMargin;
+        return this;
+    }
+
+    public NodeIdProvider getPreferred() {
+        return preferred;
+    }
+
+    /**
+     * Lease the node-id of this provider only (and fail if it is already used), instead of any
+     * free node-id.
+     *
+     * @param preferred
+     * @return
+     */
+    synchronized public LeaseNodeIdProvider setPreferred(NodeIdProvider preferred) {
+        this.preferred = preferred;
+        return this;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Lease a node-id and start renewing it.
+     *
+     * @return
+     * @throws IdGenerationException if no node-id could be leased
+     * @throws IllegalArgumentException if {@link #getSafetyMargin()} is not shorter than two thirds
+     * of {@link #getLeaseTtl()}
+     */
+    synchronized public LeaseNodeIdProvider init() {
+        if (nodeId >= 0) {
+            LOGGER.warn("This provider has been already initialized");
+            return this;
+        }
+        long ttlMs = leaseTtl.toMillis();
+        long periodMs = ttlMs / 3;
+        if (safetyMargin.toMillis() >= ttlMs - periodMs) {
+            throw new IllegalArgumentException("Safety margin " + safetyMargin
+                    + " is too long for lease TTL " + leaseTtl + "!");
+        }
+        long start = System.currentTimeMillis();
+        long leased = preferred != null ? leasePreferred(ttlMs) : leaseFree(ttlMs);
+        leaseExpiresAt = start + ttlMs;
+        nodeId = leased;
+        renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "node-id-lease-" + leased);
+            t.setDaemon(true);
+            return t;
+        });
+        renewer.scheduleAtFixedRate(this::renew, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        LOGGER.info("Leased node-id " + leased + " for owner [" + owner + "]");
+        return this;
+    }
+
+    private long leasePreferred(long ttlMs) {
+        long id = preferred.getNodeId();
+        if (id < 0 || id > maxNodeId) {
+            throw new IdGenerationException("Node-id " + id + " of " + preferred
+                    + " is out of range [0, " + maxNodeId + "]!");
+        }
+        if (!registry.tryAcquire(id, owner, ttlMs)) {
+            String current = registry.getOwner(id);
+            throw new IdGenerationException("Node-id collision: " + id + " of " + preferred
+                    + (current != null ? " is already used by [" + current + "]!"
+                            : " was recently used by another owner and is quarantined!"));
+        }
+        return id;
+    }
+
+    private long leaseFree(long ttlMs) {
+        long range = maxNodeId + 1;
+        long start = Math.floorMod(HashUtils.fastHashValue(owner), range);
+        for (long i = 0; i < range; i++) {
+            long id = (start + i) % range;
+            if (registry.tryAcquire(id, owner, ttlMs)) {
+                return id;
+            }
+        }
+        throw new IdGenerationException("No free node-id in [0, " + maxNodeId + "]!");
+    }
+
+    /*
+     * Synchronized with destroy(): a renewal never re-acquires a lease that has just been released.
+     */
+    synchronized private void renew() {
+        long id = nodeId;
+        if (id < 0) {
+            return;
+        }
+        long ttlMs = leaseTtl.toMillis();
+        long start = System.currentTimeMillis();
+        try {
+            if (registry.tryAcquire(id, owner, ttlMs)) {
+                leaseExpiresAt = start + ttlMs;
+                return;
+            }
+            leaseExpiresAt = Long.MIN_VALUE;
+            LOGGER.error("Lease of node-id " + id + " was lost to [" + registry.getOwner(id)
+                    + "], generated IDs may collide!");
+        } catch (Exception e) {
+            // the lease is still held till it expires
+            LOGGER.error("Cannot renew lease of node-id " + id + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /**
+     * Stop renewing the lease, and release it.
+     */
+    synchronized public void destroy() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+            renewer = null;
+        }
+        if (nodeId >= 0) {
+            try {
+                registry.release(nodeId, owner);
+            } catch (Exception e) {
+                LOGGER.warn(e.getMessage(), e);
+            }
+            nodeId = -1;
+            leaseExpiresAt = Long.MIN_VALUE;
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if {@link #init()} has not been called
+     */
+    @Override
+    public long getNodeId() {
+        long result = nodeId;
+        if (result < 0) {
+            throw new IllegalStateException("No node-id leased, call init() first!");
+        }
+        return result;
+    }
+
+    /**
+     * Is the lease still held, i.e. has it been acquired or renewed less than
+     * {@link #getLeaseTtl()} minus {@link #getSafetyMargin()} ago (and not lost to another node)?
+     *
+     * @return
+     */
+    public boolean isLeaseValid() {
+        long expiresAt = leaseExpiresAt;
+        return expiresAt != Long.MIN_VALUE
+                && System.currentTimeMillis() < expiresAt - safetyMargin.toMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Same as {@link #isLeaseValid()}.
+     * </p>
+     */
+    @Override
+    public boolean isNodeIdValid() {
+        return isLeaseValid();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "LeaseNodeIdProvider[" + owner + ", nodeId=" + nodeId + "]";
+    }
+}
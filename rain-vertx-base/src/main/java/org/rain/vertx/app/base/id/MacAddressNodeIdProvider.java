@@ -0,0 +1,92 @@
+package org.rain.vertx.app.base.id;
+
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.Collections;
+
+import org.rain.vertx.app.base.hash.HashUtils;
+
+/**
+ * {@link NodeIdProvider} hashing the MAC address of the first non-loopback, non-virtual network
+ * interface into {@code [0, maxNodeId]}.
+ *
+ * <p>
+ * Unlike {@link IdGenerator#getMacAddr()} (the MAC of the interface of
+ * {@code InetAddress.getLocalHost()}, whose low bits are truncated), all interfaces are scanned and
+ * the whole address is hashed. Container runtimes may still assign the same MAC to several
+ * containers: wrap it in a {@link LeaseNodeIdProvider} to detect collisions.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class MacAddressNodeIdProvider implements NodeIdProvider {
+    private final long maxNodeId;
+    private volatile long macAddr = -1;
+
+    /**
+     * Node-ids fit into 64-bit IDs ({@link IdGenerator#MAX_NODE_ID_64}).
+     */
+    public MacAddressNodeIdProvider() {
+        this(IdGenerator.MAX_NODE_ID_64);
+    }
+
+    public MacAddressNodeIdProvider(long maxNodeId) {
+        if (maxNodeId < 0) {
+            throw new IllegalArgumentException("Max node-id must not be negative: " + maxNodeId);
+        }
+        this.maxNodeId = maxNodeId;
+    }
+
+    /**
+     * The (48-bit) MAC address used.
+     *
+     * @return
+     * @throws IdGenerationException if no suitable network interface is found
+     */
+    public long getMacAddr() {
+        if (macAddr < 0) {
+            macAddr = findMacAddr();
+        }
+        return macAddr;
+    }
+
+    private static long findMacAddr() {
+        try {
+            for (NetworkInterface ni : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+                if (ni.isLoopback() || ni.isVirtual() || !ni.isUp()) {
+                    continue;
+                }
+                byte[] mac = ni.getHardwareAddress();
+                if (mac == null || mac.length == 0) {
+                    continue;
+                }
+                long result = 0;
+                for (byte b : mac) {
+                    result = (result << 8) | (b & 0xFF);
+                }
+                if (result != 0) {
+                    return result;
+                }
+            }
+        } catch (SocketException e) {
+            throw new IdGenerationException("Cannot list network interfaces!", e);
+        }
+        throw new IdGenerationException("No network interface with a MAC address found!");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodeId() {
+        return Math.floorMod(HashUtils.fastHashValue(getMacAddr()), maxNodeId + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "MacAddressNodeIdProvider[" + Long.toHexString(getMacAddr()) + "]";
+    }
+}
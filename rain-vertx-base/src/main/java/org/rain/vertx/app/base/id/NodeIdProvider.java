@@ -0,0 +1,41 @@
+package org.rain.vertx.app.base.id;
+
+/**
+ * Source of the node-id of {@link IdGenerator}s, see
+ * {@link IdGenerator#getInstance(NodeIdProvider)}.
+ *
+ * <p>
+ * Available providers:
+ * <ul>
+ * <li>{@link StaticNodeIdProvider}: node-id set by configuration (e.g. a StatefulSet ordinal).</li>
+ * <li>{@link HostHashNodeIdProvider}: hash of the host name and address.</li>
+ * <li>{@link MacAddressNodeIdProvider}: hash of a MAC address.</li>
+ * <li>{@link LeaseNodeIdProvider}: node-id leased from a shared {@link NodeIdRegistry}. Wrapping
+ * one of the other providers with it also detects, at startup, node-ids already used by another
+ * node.</li>
+ * </ul>
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public interface NodeIdProvider {
+    /**
+     * Gets the node-id.
+     *
+     * @return
+     * @throws IdGenerationException if the node-id can not be determined
+     */
+    long getNodeId() throws IdGenerationException;
+
+    /**
+     * Is the node-id still safe to use? Providers whose node-id can be lost at runtime (e.g. an
+     * expired lease) return {@code false} then, and {@link IdGenerator}s obtained with
+     * {@link IdGenerator#getInstance(NodeIdProvider)} refuse to generate IDs.
+     *
+     * @return
+     * @since 1.0.0
+     */
+    default boolean isNodeIdValid() {
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package org.rain.vertx.app.base.id;
+
+/**
+ * Shared registry of node-id leases, used by {@link LeaseNodeIdProvider} so that nodes of a
+ * cluster never use the same node-id at the same time.
+ *
+ * <p>
+ * A lease is held by an owner (an identifier unique per process) till it expires. Acquiring a
+ * node-id already leased by the same owner renews the lease. Implementations should not hand out
+ * an expired or released node-id to another owner right away, see
+ * {@link AbstractNodeIdRegistry#getQuarantineMs()}.
+ * </p>
+ *
+ * <p>
+ * Implementations: {@link InMemoryNodeIdRegistry} (single process, tests),
+ * {@link FileNodeIdRegistry} (processes sharing a file system), {@link RocksDbNodeIdRegistry}
+ * (leases persisted by the process owning a RocksDB instance), and
+ * {@code org.rain.vertx.app.redis.id.RedisNodeIdRegistry} of module {@code rain-vertx-redis}
+ * (nodes of a cluster sharing a Redis, e.g. the pods of a deployment).
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public interface NodeIdRegistry {
+    /**
+     * Acquires (or renews) the lease of a node-id.
+     *
+     * @param nodeId
+     * @param owner
+     * @param ttlMs lease duration, in milliseconds
+     * @return {@code false} if the node-id is leased by another owner (or still quarantined)
+     */
+    boolean tryAcquire(long nodeId, String owner, long ttlMs);
+
+    /**
+     * Releases the lease of a node-id, if held by the owner.
+     *
+     * @param nodeId
+     * @param owner
+     */
+    void release(long nodeId, String owner);
+
+    /**
+     * Gets the current owner of a node-id.
+     *
+     * @param nodeId
+     * @return {@code null} if the node-id is not leased (or its lease has expired)
+     */
+    String getOwner(long nodeId);
+}
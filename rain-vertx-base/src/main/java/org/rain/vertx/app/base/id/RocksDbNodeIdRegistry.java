@@ -0,0 +1,67 @@
+package org.rain.vertx.app.base.id;
+
+import java.nio.charset.StandardCharsets;
+
+import org.rain.vertx.app.base.rocksdb.RocksDbWrapper;
+
+/**
+ * {@link NodeIdRegistry} stored in a {@link RocksDbWrapper}, for the {@link IdGenerator}s of the
+ * process owning the database (RocksDB can only be opened read-write by one process).
+ *
+ * <p>
+ * Leases survive restarts of the process: a crashed process's lease is only reused once it has
+ * expired (and been quarantined). Reclaiming the same lease after a restart requires a stable
+ * owner, which {@link LeaseNodeIdProvider#defaultOwner()} is not.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class RocksDbNodeIdRegistry extends AbstractNodeIdRegistry {
+    private final static String KEY_PREFIX = "node-id:";
+
+    private final RocksDbWrapper rocksDb;
+    private final String cfName;
+
+    /**
+     * Store leases in the default column family.
+     *
+     * @param rocksDb
+     */
+    public RocksDbNodeIdRegistry(RocksDbWrapper rocksDb) {
+        this(rocksDb, RocksDbWrapper.DEFAULT_COLUMN_FAMILY);
+    }
+
+    public RocksDbNodeIdRegistry(RocksDbWrapper rocksDb, String cfName) {
+        this.rocksDb = rocksDb;
+        this.cfName = cfName;
+    }
+
+    private static String key(long nodeId) {
+        return KEY_PREFIX + nodeId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String read(long nodeId) {
+        byte[] data = rocksDb.get(cfName, key(nodeId));
+        return data != null ? new String(data, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void write(long nodeId, String lease) {
+        rocksDb.put(cfName, key(nodeId), lease);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void delete(long nodeId) {
+        rocksDb.delete(cfName, key(nodeId));
+    }
+}
@@ -0,0 +1,58 @@
+package org.rain.vertx.app.base.id;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * {@link NodeIdProvider} returning a configured node-id.
+ *
+ * @since 1.0.0
+ */
+public class StaticNodeIdProvider implements NodeIdProvider {
+    /**
+     * Build a provider from a system property, or an environment variable of the same name.
+     *
+     * @param name
+     * @return
+     * @throws IdGenerationException if the property is not set, or not a number
+     */
+    public static StaticNodeIdProvider fromProperty(String name) {
+        String value = System.getProperty(name);
+        if (StringUtils.isBlank(value)) {
+            value = System.getenv(name);
+        }
+        if (StringUtils.isBlank(value)) {
+            throw new IdGenerationException("Node-id property [" + name + "] is not set!");
+        }
+        try {
+            return new StaticNodeIdProvider(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IdGenerationException(
+                    "Invalid node-id [" + value + "] in [" + name + "]!", e);
+        }
+    }
+
+    private final long nodeId;
+
+    public StaticNodeIdProvider(long nodeId) {
+        if (nodeId < 0) {
+            throw new IllegalArgumentException("Node-id must not be negative: " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "StaticNodeIdProvider[" + nodeId + "]";
+    }
+}
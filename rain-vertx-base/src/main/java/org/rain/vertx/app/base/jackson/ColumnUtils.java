@@ -0,0 +1,252 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import org.eclipse.collections.api.list.primitive.MutableDoubleList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+
+/**
+ * Utility class to extract a "column" (the value at the same DPath in every element) of an array
+ * of rows into primitive arrays/lists, without boxing.
+ *
+ * <p>
+ * Rows can be an {@link ArrayNode}, a {@link List}/{@link Collection} or an array of objects.
+ * The DPath expression is relative to each row ({@code null} or empty means the row itself), and
+ * values are converted with {@link ValueUtils#convertToDouble(Object)},
+ * {@link ValueUtils#convertToLong(Object)} or {@link ValueUtils#convertToInt(Object)}: missing
+ * values are returned as {@code 0}.
+ * </p>
+ *
+ * <p>
+ * Sample usage:
+ * </p>
+ *
+ * <pre>
+ * double[] values = ColumnUtils.extractDoubles(report.get("rows"), "metrics.value");
+ * double total = 0;
+ * for (double v : values) {
+ *     total += v;
+ * }
+ * </pre>
+ *
+ * <p>
+ * Arrays of at least {@link #PARALLEL_THRESHOLD} rows are extracted in parallel (rows must not be
+ * modified meanwhile).
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class ColumnUtils {
+    /**
+     * Minimum number of rows to extract in parallel.
+     */
+    public final static int PARALLEL_THRESHOLD = 1 << 13;
+
+    private static List<?> asRows(Object rows) {
+        if (rows instanceof POJONode) {
+            rows = DPathUtils.extractValue((POJONode) rows);
+        }
+        if (rows == null || rows instanceof NullNode || rows instanceof MissingNode) {
+            return Collections.emptyList();
+        }
+        if (rows instanceof ArrayNode) {
+            return new NodeList((ArrayNode) rows);
+        }
+        if (rows instanceof List && rows instanceof RandomAccess) {
+            return (List<?>) rows;
+        }
+        if (rows instanceof Collection) {
+            return new ArrayList<>((Collection<?>) rows);
+        }
+        if (rows instanceof Object[]) {
+            return Arrays.asList((Object[]) rows);
+        }
+        throw new IllegalArgumentException(
+                "Rows must be an array or a list, got [" + rows.getClass() + "]!");
+    }
+
+    /**
+     * Random-access view of an {@link ArrayNode}.
+     */
+    private static class NodeList extends AbstractList<JsonNode> implements RandomAccess {
+        private final ArrayNode node;
+
+        private NodeList(ArrayNode node) {
+            this.node = node;
+        }
+
+        @Override
+        public JsonNode get(int index) {
+            return node.get(index);
+        }
+
+        @Override
+        public int size() {
+            return node.size();
+        }
+    }
+
+    private static CompiledDPath compile(String dPath) {
+        return dPath == null || dPath.isEmpty() ? null : CompiledDPath.compile(dPath);
+    }
+
+    private static Object value(Object row, CompiledDPath dPath) {
+        return dPath != null ? DPathUtils.getValue(row, dPath) : row;
+    }
+
+    private static IntStream indexes(int size) {
+        IntStream result = IntStream.range(0, size);
+        return size >= PARALLEL_THRESHOLD ? result.parallel() : result;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Extract a column as {@code double[]}.
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static double[] extractDoubles(Object rows, String dPath) {
+        List<?> list = asRows(rows);
+        CompiledDPath path = compile(dPath);
+        double[] result = new double[list.size()];
+        indexes(result.length).forEach(
+                i -> result[i] = ValueUtils.convertToDouble(value(list.get(i), path)));
+        return result;
+    }
+
+    /**
+     * Extract a column as {@code long[]}.
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static long[] extractLongs(Object rows, String dPath) {
+        List<?> list = asRows(rows);
+        CompiledDPath path = compile(dPath);
+        long[] result = new long[list.size()];
+        indexes(result.length).forEach(
+                i -> result[i] = ValueUtils.convertToLong(value(list.get(i), path)));
+        return result;
+    }
+
+    /**
+     * Extract a column as {@code int[]}.
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static int[] extractInts(Object rows, String dPath) {
+        List<?> list = asRows(rows);
+        CompiledDPath path = compile(dPath);
+        int[] result = new int[list.size()];
+        indexes(result.length).forEach(
+                i -> result[i] = ValueUtils.convertToInt(value(list.get(i), path)));
+        return result;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Extract a column as a HPPC {@link DoubleArrayList} (backed by the extracted array, no copy).
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static DoubleArrayList extractHppcDoubles(Object rows, String dPath) {
+        DoubleArrayList result = new DoubleArrayList(0);
+        result.buffer = extractDoubles(rows, dPath);
+        result.elementsCount = result.buffer.length;
+        return result;
+    }
+
+    /**
+     * Extract a column as a HPPC {@link LongArrayList} (backed by the extracted array, no copy).
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static LongArrayList extractHppcLongs(Object rows, String dPath) {
+        LongArrayList result = new LongArrayList(0);
+        result.buffer = extractLongs(rows, dPath);
+        result.elementsCount = result.buffer.length;
+        return result;
+    }
+
+    /**
+     * Extract a column as a HPPC {@link IntArrayList} (backed by the extracted array, no copy).
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static IntArrayList extractHppcInts(Object rows, String dPath) {
+        IntArrayList result = new IntArrayList(0);
+        result.buffer = extractInts(rows, dPath);
+        result.elementsCount = result.buffer.length;
+        return result;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Extract a column as an Eclipse Collections {@link MutableDoubleList} (backed by the
+     * extracted array, no copy).
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static MutableDoubleList extractEclipseDoubles(Object rows, String dPath) {
+        return org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList
+                .newListWith(extractDoubles(rows, dPath));
+    }
+
+    /**
+     * Extract a column as an Eclipse Collections {@link MutableLongList} (backed by the extracted
+     * array, no copy).
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static MutableLongList extractEclipseLongs(Object rows, String dPath) {
+        return org.eclipse.collections.impl.list.mutable.primitive.LongArrayList
+                .newListWith(extractLongs(rows, dPath));
+    }
+
+    /**
+     * Extract a column as an Eclipse Collections {@link MutableIntList} (backed by the extracted
+     * array, no copy).
+     *
+     * @param rows
+     * @param dPath
+     * @return
+     */
+    public static MutableIntList extractEclipseInts(Object rows, String dPath) {
+        return org.eclipse.collections.impl.list.mutable.primitive.IntArrayList
+                .newListWith(extractInts(rows, dPath));
+    }
+}
@@ -0,0 +1,233 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * A DPath expression, pre-parsed into typed segments (see {@link DPathUtils} for the notation).
+ *
+ * <p>
+ * Parsing is done once per path string: compiled paths are kept in a bounded cache, so
+ * {@link DPathUtils} get/set/delete operations do not re-split the path nor run any regular
+ * expression. Hot paths can also hold on to a {@link CompiledDPath} and pass it to
+ * {@link DPathUtils} directly.
+ * </p>
+ *
+ * <p>
+ * Tokens are split exactly as {@link DPathUtils#splitDpath(String)} does. Invalid indexes (e.g.
+ * {@code "[a]"}) do not fail compilation; the error is raised when the segment is evaluated, as
+ * before.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class CompiledDPath {
+    /**
+     * Type of a path segment.
+     */
+    public enum SegmentType {
+        /**
+         * Access a map's attribute, e.g. {@code name}.
+         */
+        FIELD,
+        /**
+         * Access an element of a list/array, e.g. {@code [1]}.
+         */
+        INDEX,
+        /**
+         * Append to a list/array (only meaningful as last segment when setting a value):
+         * {@code []}.
+         */
+        APPEND,
+        /**
+         * Bracketed token whose index is not an integer, e.g. {@code [a]}.
+         */
+        INVALID_INDEX
+    }
+
+    /**
+     * A path segment.
+     */
+    public static final class Segment {
+        private final SegmentType type;
+        private final String token;
+        private final int index;
+
+        private Segment(SegmentType type, String token, int index) {
+            this.type = type;
+            this.token = token;
+            this.index = index;
+        }
+
+        public SegmentType getType() {
+            return type;
+        }
+
+        /**
+         * The original token, e.g. {@code "name"} or {@code "[1]"}.
+         *
+         * @return
+         */
+        public String getToken() {
+            return token;
+        }
+
+        /**
+         * The index, only meaningful if type is {@link SegmentType#INDEX}.
+         *
+         * @return
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Is this a bracketed segment ({@link SegmentType#INDEX}, {@link SegmentType#APPEND} or
+         * {@link SegmentType#INVALID_INDEX})?
+         *
+         * @return
+         */
+        public boolean isIndex() {
+            return type != SegmentType.FIELD;
+        }
+
+        /**
+         * Error raised when parsing the index of this segment, {@code null} if the index is valid.
+         * Only called on error paths.
+         */
+        NumberFormatException indexError() {
+            try {
+                Integer.parseInt(token.substring(1, token.length() - 1));
+                return null;
+            } catch (NumberFormatException e) {
+                return e;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return token;
+        }
+    }
+
+    /**
+     * Max number of compiled paths kept in cache.
+     */
+    public final static int CACHE_SIZE = 10_000;
+
+    private final static Cache<String, CompiledDPath> CACHE = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+
+    /**
+     * Compile a DPath expression (cached).
+     *
+     * @param dPath
+     * @return
+     */
+    public static CompiledDPath compile(String dPath) {
+        CompiledDPath result = CACHE.getIfPresent(dPath);
+        return result != null ? result : CACHE.get(dPath, CompiledDPath::new);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private final String path;
+    private final String[] tokens;
+    private final Segment[] segments;
+
+    private CompiledDPath(String path) {
+        this.path = path;
+        this.tokens = DPathUtils.tokenize(path);
+        this.segments = new Segment[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            segments[i] = parseSegment(tokens[i]);
+        }
+    }
+
+    private static Segment parseSegment(String token) {
+        Matcher m = DPathUtils.PATTERN_INDEX.matcher(token);
+        if (!m.matches()) {
+            return new Segment(SegmentType.FIELD, token, -1);
+        }
+        if ("[]".equals(token)) {
+            return new Segment(SegmentType.APPEND, token, Integer.MAX_VALUE);
+        }
+        try {
+            return new Segment(SegmentType.INDEX, token, Integer.parseInt(m.group(1)));
+        } catch (NumberFormatException e) {
+            return new Segment(SegmentType.INVALID_INDEX, token, -1);
+        }
+    }
+
+    /**
+     * The original DPath expression.
+     *
+     * @return
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The path tokens, as returned by {@link DPathUtils#splitDpath(String)}.
+     *
+     * @return
+     */
+    public String[] getTokens() {
+        return tokens.clone();
+    }
+
+    /**
+     * Number of segments.
+     *
+     * @return
+     */
+    public int size() {
+        return segments.length;
+    }
+
+    /**
+     * Get a segment.
+     *
+     * @param i
+     * @return
+     */
+    public Segment getSegment(int i) {
+        return segments[i];
+    }
+
+    Segment[] segments() {
+        return segments;
+    }
+
+    /**
+     * Path of the first {@code i+1} segments, joined by {@link DPathUtils#PATH_SEPARATOR}. Only
+     * called on error paths.
+     */
+    String pathTo(int i) {
+        return String.join(String.valueOf(DPathUtils.PATH_SEPARATOR),
+                Arrays.asList(tokens).subList(0, i + 1));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CompiledDPath && path.equals(((CompiledDPath) obj).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,261 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import org.rain.vertx.app.base.jackson.CompiledDPath.Segment;
+import org.rain.vertx.app.base.jackson.CompiledDPath.SegmentType;
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * Extract values of several DPath expressions from the same target in a single traversal.
+ *
+ * <p>
+ * Paths are merged into a prefix trie: a common prefix (e.g. {@code "employees[0]"} for
+ * {@code "employees[0].name"} and {@code "employees[0].age"}) is resolved once, instead of once
+ * per path as with repeated {@link DPathUtils#getValue(Object, String)} calls. Each extracted value
+ * is the same as what {@link DPathUtils#getValue(Object, String)} would return (including errors
+ * on invalid paths).
+ * </p>
+ *
+ * <p>
+ * Sample usage:
+ * </p>
+ *
+ * <pre>
+ * DPathProjection projection = DPathProjection.of(Map.of("name", "employees[0].first_name",
+ *         "age", "employees[0].age"));
+ * Map&lt;String, Object&gt; values = projection.extract(company);
+ * Employee employee = projection.extract(company, Employee.class);
+ * </pre>
+ *
+ * <p>
+ * Instances are immutable and thread-safe, build them once and reuse.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class DPathProjection {
+    private final static ObjectMapper MAPPER = SerializationUtils.createObjectMapper(null);
+
+    /**
+     * Projection of a list of paths, each path is also its own alias.
+     *
+     * @param dPaths
+     * @return
+     */
+    public static DPathProjection of(String... dPaths) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        for (String dPath : dPaths) {
+            aliases.put(dPath, dPath);
+        }
+        return new DPathProjection(aliases);
+    }
+
+    /**
+     * Projection of a map of {@code alias -> path}.
+     *
+     * @param aliases result keys are the map's keys, in iteration order
+     * @return
+     */
+    public static DPathProjection of(Map<String, String> aliases) {
+        return new DPathProjection(aliases);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    static class Node {
+        final Segment segment;
+        private final List<Node> children = new ArrayList<>();
+        private final List<Integer> slots = new ArrayList<>();
+        Node[] childArr;
+        int[] slotArr;
+        /**
+         * Number of slots of this node and all its descendants.
+         */
+        int totalSlots;
+
+        private Node(Segment segment) {
+            this.segment = segment;
+        }
+
+        private Node child(Segment segment) {
+            for (Node child : children) {
+                if (child.segment.getToken().equals(segment.getToken())) {
+                    return child;
+                }
+            }
+            Node child = new Node(segment);
+            children.add(child);
+            return child;
+        }
+
+        private void freeze() {
+            childArr = children.toArray(new Node[0]);
+            slotArr = slots.stream().mapToInt(Integer::intValue).toArray();
+            totalSlots = slotArr.length;
+            for (Node child : childArr) {
+                child.freeze();
+                totalSlots += child.totalSlots;
+            }
+        }
+    }
+
+    private final String[] aliases;
+    private final Node root = new Node(null);
+
+    private DPathProjection(Map<String, String> aliases) {
+        this.aliases = aliases.keySet().toArray(new String[0]);
+        for (int i = 0; i < this.aliases.length; i++) {
+            CompiledDPath dPath = CompiledDPath.compile(aliases.get(this.aliases[i]));
+            Node node = root;
+            for (int j = 0, n = dPath.size(); j < n; j++) {
+                node = node.child(dPath.getSegment(j));
+            }
+            node.slots.add(i);
+        }
+        root.freeze();
+    }
+
+    /**
+     * Result keys, in order.
+     *
+     * @return
+     */
+    public List<String> getAliases() {
+        return Collections.unmodifiableList(Arrays.asList(aliases));
+    }
+
+    String[] aliases() {
+        return aliases;
+    }
+
+    Node root() {
+        return root;
+    }
+
+    private static Object finish(Object value, boolean json) {
+        if (value instanceof POJONode) {
+            value = DPathUtils.extractValue((POJONode) value);
+        }
+        return json && value != null && !(value instanceof JsonNode) ? JacksonUtils.toJson(value)
+                : value;
+    }
+
+    /**
+     * Lenient counterpart of {@link DPathUtils#extractValue(Object, Segment)}: a segment that does
+     * not match the value's structure (missing key or index, or unexpected type) yields
+     * {@code null} instead of an error.
+     */
+    private static Object extractValueLenient(Object value, Segment segment) {
+        if (value instanceof POJONode) {
+            value = DPathUtils.extractValue((POJONode) value);
+        }
+        if (segment.isIndex()) {
+            if (segment.getType() != SegmentType.INDEX) {
+                return null;
+            }
+            int i = segment.getIndex();
+            if (value instanceof ArrayNode) {
+                return ((ArrayNode) value).get(i);
+            }
+            if (value instanceof Object[]) {
+                Object[] array = (Object[]) value;
+                return i >= 0 && i < array.length ? array[i] : null;
+            }
+            if (value instanceof List<?>) {
+                List<?> list = (List<?>) value;
+                return i >= 0 && i < list.size() ? list.get(i) : null;
+            }
+            return null;
+        }
+        if (value instanceof ObjectNode) {
+            return ((ObjectNode) value).get(segment.getToken());
+        }
+        if (value instanceof Map<?, ?>) {
+            return ((Map<?, ?>) value).get(segment.getToken());
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the values of a node and its descendants.
+     *
+     * @param node
+     * @param value
+     * @param result
+     * @param json {@code true} to convert values to {@link JsonNode}s
+     * @param lenient {@code true} to map paths not matching the value's structure to {@code null}
+     *         instead of throwing an error
+     */
+    static void visit(Node node, Object value, Object[] result, boolean json, boolean lenient) {
+        if (node.slotArr.length > 0) {
+            Object finished = finish(value, json);
+            for (int slot : node.slotArr) {
+                result[slot] = finished;
+            }
+        }
+        if (value == null || value instanceof NullNode || value instanceof MissingNode) {
+            // all descendants are null
+            return;
+        }
+        for (Node child : node.childArr) {
+            visit(child, lenient ? extractValueLenient(value, child.segment)
+                    : DPathUtils.extractValue(value, child.segment), result, json, lenient);
+        }
+    }
+
+    /**
+     * Extract all values, indexed as {@link #getAliases()}.
+     *
+     * @param target
+     * @return
+     */
+    public Object[] extractValues(Object target) {
+        Object[] result = new Object[aliases.length];
+        visit(root, target, result, target instanceof JsonNode, false);
+        return result;
+    }
+
+    /**
+     * Extract all values as a flat {@code alias -> value} map, missing values are mapped to
+     * {@code null}. If target is a {@link JsonNode}, values are {@link JsonNode}s.
+     *
+     * @param target
+     * @return
+     */
+    public Map<String, Object> extract(Object target) {
+        Object[] values = extractValues(target);
+        Map<String, Object> result = new LinkedHashMap<>(aliases.length * 4 / 3 + 1);
+        for (int i = 0; i < aliases.length; i++) {
+            result.put(aliases[i], values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Extract all values into a typed object (e.g. a record or a bean), whose properties are
+     * named after the aliases.
+     *
+     * @param target
+     * @param clazz
+     * @return
+     */
+    public <T> T extract(Object target, Class<T> clazz) {
+        if (clazz == null) {
+            throw new NullPointerException("Class parameter is null!");
+        }
+        return MAPPER.convertValue(extract(target), clazz);
+    }
+}
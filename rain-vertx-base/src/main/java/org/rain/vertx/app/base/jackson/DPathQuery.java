@@ -0,0 +1,488 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * A DPath query: a DPath expression extended with wildcards, slices and filters, matching any
+ * number of values. Matches are produced lazily as a {@link Stream}, so aggregations over large
+ * arrays do not materialize intermediate collections.
+ *
+ * <p>
+ * Notation, in addition to {@link DPathUtils}'s:
+ * </p>
+ * <ul>
+ * <li><code>[*]</code> or <code>*</code>: all elements of a list/array, or all values of a
+ * map</li>
+ * <li><code>[start:end]</code>: elements {@code start} (inclusive) to {@code end} (exclusive) of a
+ * list/array; bounds are optional and negative values count from the end, e.g.
+ * <code>[-2:]</code></li>
+ * <li><code>[-i]</code>: i'th element from the end of a list/array</li>
+ * <li><code>[?(@.path op literal)]</code>: elements (or map values) matching a predicate;
+ * {@code op} is one of {@code == != > >= < <=}, {@code literal} a number, a quoted string,
+ * {@code true}, {@code false} or {@code null}. Without operator (<code>[?(@.path)]</code>), matches
+ * elements where the value exists and is not {@code false}.</li>
+ * <li><code>['name']</code>: access a map's attribute whose name contains special characters</li>
+ * </ul>
+ * Example: <code>orders[*].items[?(@.qty &gt; 0)].price</code>.
+ *
+ * <p>
+ * Unlike {@link DPathUtils#getValue(Object, String)}, queries are lenient: missing attributes,
+ * out-of-bound indexes and type mismatches simply produce no match. {@code null} values are not
+ * emitted. If the target is a {@link JsonNode}, matches are {@link JsonNode}s.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class DPathQuery {
+    private enum StepType {
+        FIELD, INDEX, WILDCARD, SLICE, FILTER
+    }
+
+    private enum Operator {
+        EQ("=="), NE("!="), GE(">="), LE("<="), GT(">"), LT("<");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    private static class Step {
+        private final StepType type;
+        private String field;
+        private int index, start, end;
+        private boolean hasStart, hasEnd;
+        private CompiledDPath filterPath;
+        private Operator operator;
+        private Object literal;
+
+        private Step(StepType type) {
+            this.type = type;
+        }
+    }
+
+    /**
+     * Max number of compiled queries kept in cache.
+     */
+    public final static int CACHE_SIZE = 10_000;
+
+    private final static Cache<String, DPathQuery> CACHE = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+
+    /**
+     * Compile a query (cached).
+     *
+     * @param query
+     * @return
+     * @throws IllegalArgumentException if the query is malformed
+     */
+    public static DPathQuery compile(String query) {
+        DPathQuery result = CACHE.getIfPresent(query);
+        return result != null ? result : CACHE.get(query, DPathQuery::new);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private final String query;
+    private final Step[] steps;
+
+    private DPathQuery(String query) {
+        this.query = query;
+        this.steps = parse(query);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    @Override
+    public String toString() {
+        return query;
+    }
+
+    private static Step[] parse(String query) {
+        List<Step> steps = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        for (int i = 0, n = query.length(); i < n; ) {
+            char c = query.charAt(i);
+            if (c == DPathUtils.PATH_SEPARATOR) {
+                addField(steps, field);
+                i++;
+            } else if (c == '[') {
+                addField(steps, field);
+                int end = findClosingBracket(query, i);
+                steps.add(parseBracket(query, query.substring(i + 1, end).trim()));
+                i = end + 1;
+            } else {
+                field.append(c);
+                i++;
+            }
+        }
+        addField(steps, field);
+        return steps.toArray(new Step[0]);
+    }
+
+    private static void addField(List<Step> steps, StringBuilder field) {
+        if (field.length() > 0 && !field.toString().isBlank()) {
+            String name = field.toString();
+            Step step;
+            if ("*".equals(name)) {
+                step = new Step(StepType.WILDCARD);
+            } else {
+                step = new Step(StepType.FIELD);
+                step.field = name;
+            }
+            steps.add(step);
+        }
+        field.setLength(0);
+    }
+
+    private static int findClosingBracket(String query, int open) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = open, n = query.length(); i < n; i++) {
+            char c = query.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unclosed bracket at position " + open + " in query ["
+                + query + "]!");
+    }
+
+    private static boolean isQuoted(String str) {
+        return str.length() >= 2 && (str.charAt(0) == '\'' || str.charAt(0) == '"')
+                && str.charAt(str.length() - 1) == str.charAt(0);
+    }
+
+    private static Step parseBracket(String query, String inner) {
+        try {
+            if ("*".equals(inner)) {
+                return new Step(StepType.WILDCARD);
+            }
+            if (inner.startsWith("?(") && inner.endsWith(")")) {
+                return parseFilter(query, inner.substring(2, inner.length() - 1).trim());
+            }
+            if (isQuoted(inner)) {
+                Step step = new Step(StepType.FIELD);
+                step.field = inner.substring(1, inner.length() - 1);
+                return step;
+            }
+            int colon = inner.indexOf(':');
+            if (colon >= 0) {
+                Step step = new Step(StepType.SLICE);
+                String start = inner.substring(0, colon).trim();
+                String end = inner.substring(colon + 1).trim();
+                step.hasStart = !start.isEmpty();
+                step.start = step.hasStart ? Integer.parseInt(start) : 0;
+                step.hasEnd = !end.isEmpty();
+                step.end = step.hasEnd ? Integer.parseInt(end) : 0;
+                return step;
+            }
+            Step step = new Step(StepType.INDEX);
+            step.index = Integer.parseInt(inner);
+            return step;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid index [" + inner + "] in query [" + query
+                    + "]!", e);
+        }
+    }
+
+    private static Step parseFilter(String query, String expr) {
+        if (!expr.startsWith("@")) {
+            throw new IllegalArgumentException("Filter [" + expr
+                    + "] must start with '@' in query [" + query + "]!");
+        }
+        Step step = new Step(StepType.FILTER);
+        int opPos = -1;
+        char quote = 0;
+        for (int i = 1, n = expr.length(); i < n && opPos < 0; i++) {
+            char c = expr.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else {
+                for (Operator op : Operator.values()) {
+                    if (expr.startsWith(op.symbol, i)) {
+                        step.operator = op;
+                        opPos = i;
+                        break;
+                    }
+                }
+            }
+        }
+        String left = (opPos < 0 ? expr : expr.substring(0, opPos)).substring(1).trim();
+        if (left.startsWith(String.valueOf(DPathUtils.PATH_SEPARATOR))) {
+            left = left.substring(1);
+        }
+        step.filterPath = left.isEmpty() ? null : CompiledDPath.compile(left);
+        if (opPos >= 0) {
+            String right = expr.substring(opPos + step.operator.symbol.length()).trim();
+            step.literal = parseLiteral(query, right);
+        }
+        return step;
+    }
+
+    private static Object parseLiteral(String query, String literal) {
+        if (isQuoted(literal)) {
+            return literal.substring(1, literal.length() - 1);
+        }
+        switch (literal) {
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            case "null":
+                return null;
+            default:
+                try {
+                    return new BigDecimal(literal);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid literal [" + literal
+                            + "] in query [" + query + "]!", e);
+                }
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private static Object unwrap(Object value) {
+        return value instanceof POJONode ? DPathUtils.extractValue((POJONode) value) : value;
+    }
+
+    private static boolean isPresent(Object value) {
+        return value != null && !(value instanceof NullNode) && !(value instanceof MissingNode);
+    }
+
+    private static Object field(Object target, String name) {
+        if (target instanceof ObjectNode) {
+            return ((ObjectNode) target).get(name);
+        }
+        if (target instanceof Map<?, ?>) {
+            return ((Map<?, ?>) target).get(name);
+        }
+        return null;
+    }
+
+    private static int size(Object target) {
+        if (target instanceof ArrayNode) {
+            return ((ArrayNode) target).size();
+        }
+        if (target instanceof List<?>) {
+            return ((List<?>) target).size();
+        }
+        if (target instanceof Object[]) {
+            return ((Object[]) target).length;
+        }
+        return -1;
+    }
+
+    private static Object element(Object target, int index) {
+        if (target instanceof ArrayNode) {
+            return ((ArrayNode) target).get(index);
+        }
+        if (target instanceof List<?>) {
+            return ((List<?>) target).get(index);
+        }
+        return ((Object[]) target)[index];
+    }
+
+    private static Stream<?> children(Object target) {
+        if (target instanceof ArrayNode || target instanceof ObjectNode) {
+            return StreamSupport.stream(((JsonNode) target).spliterator(), false);
+        }
+        if (target instanceof List<?>) {
+            return ((List<?>) target).stream();
+        }
+        if (target instanceof Object[]) {
+            return Arrays.stream((Object[]) target);
+        }
+        if (target instanceof Map<?, ?>) {
+            return ((Map<?, ?>) target).values().stream();
+        }
+        return Stream.empty();
+    }
+
+    private static Stream<?> range(Object target, int from, int to) {
+        return from < to ? IntStream.range(from, to).mapToObj(i -> element(target, i))
+                : Stream.empty();
+    }
+
+    /**
+     * Value of a filter's relative path, {@code null} if it does not exist.
+     */
+    private static Object filterValue(Object target, CompiledDPath path) {
+        Object value = target;
+        for (int i = 0, n = path == null ? 0 : path.size(); i < n && isPresent(value); i++) {
+            CompiledDPath.Segment segment = path.getSegment(i);
+            value = unwrap(value);
+            if (segment.getType() == CompiledDPath.SegmentType.FIELD) {
+                value = field(value, segment.getToken());
+            } else if (segment.getType() == CompiledDPath.SegmentType.INDEX) {
+                int size = size(value), index = segment.getIndex();
+                value = index >= 0 && index < size ? element(value, index) : null;
+            } else {
+                value = null;
+            }
+        }
+        value = unwrap(value);
+        if (value instanceof JsonNode) {
+            JsonNode node = (JsonNode) value;
+            if (!isPresent(node)) {
+                return null;
+            }
+            if (node.isNumber()) {
+                return node.decimalValue();
+            }
+            if (node.isTextual()) {
+                return node.textValue();
+            }
+            if (node.isBoolean()) {
+                return node.booleanValue();
+            }
+        }
+        return value;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof Number) {
+            try {
+                return new BigDecimal(value.toString());
+            } catch (NumberFormatException e) {
+                // NaN, Infinity
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static boolean matches(Step step, Object target) {
+        Object value = filterValue(target, step.filterPath);
+        if (step.operator == null) {
+            return value != null && !Boolean.FALSE.equals(value);
+        }
+        Object literal = step.literal;
+        int cmp;
+        BigDecimal left = toDecimal(value), right = toDecimal(literal);
+        if (left != null && right != null) {
+            cmp = left.compareTo(right);
+        } else if (value == null || literal == null) {
+            boolean equal = value == literal;
+            return step.operator == Operator.EQ ? equal : step.operator == Operator.NE && !equal;
+        } else if (value instanceof Comparable && value.getClass() == literal.getClass()) {
+            cmp = ((Comparable) value).compareTo(literal);
+        } else {
+            return step.operator == Operator.NE;
+        }
+        switch (step.operator) {
+            case EQ:
+                return cmp == 0;
+            case NE:
+                return cmp != 0;
+            case GT:
+                return cmp > 0;
+            case GE:
+                return cmp >= 0;
+            case LT:
+                return cmp < 0;
+            default:
+                return cmp <= 0;
+        }
+    }
+
+    private static Stream<?> apply(Step step, Object target) {
+        Object value = unwrap(target);
+        switch (step.type) {
+            case FIELD:
+                return Stream.of(field(value, step.field));
+            case INDEX: {
+                int size = size(value);
+                int index = step.index < 0 ? size + step.index : step.index;
+                return index >= 0 && index < size ? Stream.of(element(value, index))
+                        : Stream.empty();
+            }
+            case SLICE: {
+                int size = size(value);
+                if (size < 0) {
+                    return Stream.empty();
+                }
+                int from = !step.hasStart ? 0 : step.start < 0 ? size + step.start : step.start;
+                int to = !step.hasEnd ? size : step.end < 0 ? size + step.end : step.end;
+                return range(value, Math.max(from, 0), Math.min(to, size));
+            }
+            case FILTER:
+                return children(value).filter(v -> isPresent(v) && matches(step, v));
+            default:
+                return children(value);
+        }
+    }
+
+    /**
+     * Evaluate the query against a target object, lazily.
+     *
+     * @param target
+     * @return
+     */
+    public Stream<Object> stream(Object target) {
+        boolean json = target instanceof JsonNode;
+        Stream<Object> result = isPresent(target) ? Stream.of(target) : Stream.empty();
+        for (Step step : steps) {
+            result = result.<Object>flatMap(v -> apply(step, v)).filter(DPathQuery::isPresent);
+        }
+        return result.map(v -> {
+            Object value = unwrap(v);
+            return json && !(value instanceof JsonNode) ? JacksonUtils.toJson(value) : value;
+        });
+    }
+
+    /**
+     * Evaluate the query against a target object, lazily, converting matches to the specified
+     * class (see {@link ValueUtils#convertValue(Object, Class)}).
+     *
+     * @param target
+     * @param clazz
+     * @return
+     */
+    public <T> Stream<T> stream(Object target, Class<T> clazz) {
+        if (clazz == null) {
+            throw new NullPointerException("Class parameter is null!");
+        }
+        return stream(target).map(v -> ValueUtils.convertValue(v, clazz));
+    }
+}
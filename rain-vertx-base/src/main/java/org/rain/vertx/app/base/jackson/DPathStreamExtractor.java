@@ -0,0 +1,229 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rain.vertx.app.base.jackson.CompiledDPath.SegmentType;
+import org.rain.vertx.app.base.jackson.DPathProjection.Node;
+import org.rain.vertx.app.base.serialization.DeserializationException;
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * Extract values of several DPath expressions directly from JSON bytes/stream, without building
+ * the whole {@link JsonNode} tree.
+ *
+ * <p>
+ * Tokens are streamed from a {@link JsonParser} and matched against the prefix trie of the paths
+ * (see {@link DPathProjection}): subtrees no path goes through are skipped with
+ * {@link JsonParser#skipChildren()}, only matched values are materialized (as {@link JsonNode}s),
+ * and parsing stops as soon as all paths have been resolved.
+ * </p>
+ *
+ * <p>
+ * Unlike {@link DPathUtils#getValue(JsonNode, String)}, a path that does not match the document
+ * structure (e.g. an index applied to an object, or an index out of bounds) yields {@code null}
+ * instead of an error, as the mismatch may only be known after the relevant part of the input has
+ * been consumed.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe, build them once and reuse.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class DPathStreamExtractor {
+    private final static ObjectMapper MAPPER = SerializationUtils.createObjectMapper(null);
+
+    /**
+     * Extractor of a list of paths, each path is also its own alias.
+     *
+     * @param dPaths
+     * @return
+     */
+    public static DPathStreamExtractor of(String... dPaths) {
+        return new DPathStreamExtractor(DPathProjection.of(dPaths));
+    }
+
+    /**
+     * Extractor of a map of {@code alias -> path}.
+     *
+     * @param aliases
+     * @return
+     */
+    public static DPathStreamExtractor of(Map<String, String> aliases) {
+        return new DPathStreamExtractor(DPathProjection.of(aliases));
+    }
+
+    /**
+     * Extractor of the paths of a projection.
+     *
+     * @param projection
+     * @return
+     */
+    public static DPathStreamExtractor of(DPathProjection projection) {
+        return new DPathStreamExtractor(projection);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private final DPathProjection projection;
+
+    private DPathStreamExtractor(DPathProjection projection) {
+        this.projection = projection;
+    }
+
+    public DPathProjection getProjection() {
+        return projection;
+    }
+
+    private static Node fieldChild(Node node, String name) {
+        for (Node child : node.childArr) {
+            if (child.segment.getType() == SegmentType.FIELD
+                    && child.segment.getToken().equals(name)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static Node indexChild(Node node, int index) {
+        for (Node child : node.childArr) {
+            if (child.segment.getType() == SegmentType.INDEX
+                    && child.segment.getIndex() == index) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Match the value the parser is positioned at against a trie node.
+     *
+     * @return number of slots still to be resolved
+     */
+    private static int read(JsonParser parser, Node node, Object[] result, int remaining)
+            throws IOException {
+        if (node.slotArr.length > 0) {
+            // the value itself is requested: materialize it, descendants are resolved on the tree
+            JsonNode value = MAPPER.readTree(parser);
+            DPathProjection.visit(node, value, result, true, true);
+            return remaining - node.totalSlots;
+        }
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                Node child = fieldChild(node, parser.getCurrentName());
+                parser.nextToken();
+                if (child != null) {
+                    remaining = read(parser, child, result, remaining);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (remaining > 0 && parser.nextToken() != JsonToken.END_ARRAY) {
+                Node child = indexChild(node, index++);
+                if (child != null) {
+                    remaining = read(parser, child, result, remaining);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Extract all values from a parser, indexed as {@link DPathProjection#getAliases()}. The parser
+     * is left positioned where extraction stopped.
+     *
+     * @param parser
+     * @return
+     */
+    public JsonNode[] extractValues(JsonParser parser) {
+        Object[] result = new Object[projection.aliases().length];
+        try {
+            if (parser.nextToken() != null) {
+                read(parser, projection.root(), result, projection.root().totalSlots);
+            }
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+        JsonNode[] values = new JsonNode[result.length];
+        for (int i = 0; i < result.length; i++) {
+            values[i] = (JsonNode) result[i];
+        }
+        return values;
+    }
+
+    private Map<String, JsonNode> toMap(JsonNode[] values) {
+        String[] aliases = projection.aliases();
+        Map<String, JsonNode> result = new LinkedHashMap<>(aliases.length * 4 / 3 + 1);
+        for (int i = 0; i < aliases.length; i++) {
+            result.put(aliases[i], values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Extract all values from JSON bytes as a flat {@code alias -> value} map.
+     *
+     * @param json
+     * @return
+     */
+    public Map<String, JsonNode> extract(byte[] json) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            return toMap(extractValues(parser));
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * Extract all values from a JSON stream as a flat {@code alias -> value} map. The stream is
+     * not closed, and may not be fully consumed.
+     *
+     * @param json
+     * @return
+     */
+    public Map<String, JsonNode> extract(InputStream json) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return toMap(extractValues(parser));
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * Extract all values from JSON bytes into a typed object (e.g. a record or a bean), whose
+     * properties are named after the aliases.
+     *
+     * @param json
+     * @param clazz
+     * @return
+     */
+    public <T> T extract(byte[] json, Class<T> clazz) {
+        return MAPPER.convertValue(extract(json), clazz);
+    }
+
+    /**
+     * Extract all values from a JSON stream into a typed object (e.g. a record or a bean), whose
+     * properties are named after the aliases. The stream is not closed.
+     *
+     * @param json
+     * @param clazz
+     * @return
+     */
+    public <T> T extract(InputStream json, Class<T> clazz) {
+        return MAPPER.convertValue(extract(json), clazz);
+    }
+}
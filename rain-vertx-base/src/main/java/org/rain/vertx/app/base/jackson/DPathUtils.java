@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -20,6 +21,8 @@ import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.POJONode;
+import org.rain.vertx.app.base.jackson.CompiledDPath.Segment;
+import org.rain.vertx.app.base.jackson.CompiledDPath.SegmentType;
 
 /**
  * Utility to access data from a hierarchy structure.
@@ -95,12 +98,22 @@ import com.fasterxml.jackson.databind.node.POJONode;
  * Long age2 = DPathUtils.getValue(company, &quot;employees.[1].age&quot;, Long.class);
  * </pre>
  *
+ * <p>
+ * Path strings are parsed once and cached as {@link CompiledDPath}; hot paths may also compile a
+ * path up-front and use the {@link CompiledDPath} overloads.
+ * </p>
+ *
+ * <p>
+ * Wildcards, slices and filters (e.g. <code>items[?(@.qty &gt; 0)].price</code>) are supported by
+ * {@link #streamValues(Object, String)}, see {@link DPathQuery}.
+ * </p>
+ *
  * @author Thanh Nguyen <btnguyen2k@gmail.com>
  * @since 0.1.0
  */
 public class DPathUtils {
 
-    private final static Pattern PATTERN_INDEX = Pattern.compile("^\\[(.*?)\\]$");
+    final static Pattern PATTERN_INDEX = Pattern.compile("^\\[(.*?)\\]$");
     private final static Pattern PATTERN_END_INDEX = Pattern.compile("^(.*)(\\[.*?\\])$");
     public final static char PATH_SEPARATOR = '.';
 
@@ -119,30 +132,29 @@ public class DPathUtils {
      * @return
      * @since 0.6.1
      */
-    @SuppressWarnings("serial")
     public final static String[] splitDpath(String dpath) {
+        return CompiledDPath.compile(dpath).getTokens();
+    }
+
+    /**
+     * Split {@code DPath} string to tokens, uncached (see {@link #splitDpath(String)}).
+     */
+    static String[] tokenize(String dpath) {
         String[] tokens = StringUtils.split(dpath, PATH_SEPARATOR);
-        List<String> tokenList = new ArrayList<String>() {
-            {
-                for (String token : tokens) {
-                    List<String> temp = new ArrayList<String>() {
-                        {
-                            String _token = token;
-                            Matcher m = PATTERN_END_INDEX.matcher(_token);
-                            while (m.matches()) {
-                                _token = m.group(1);
-                                add(0, m.group(2));
-                                m = PATTERN_END_INDEX.matcher(_token);
-                            }
-                            if (!StringUtils.isBlank(_token)) {
-                                add(0, _token);
-                            }
-                        }
-                    };
-                    addAll(temp);
-                }
+        List<String> tokenList = new ArrayList<>();
+        for (String token : tokens) {
+            int pos = tokenList.size();
+            String _token = token;
+            Matcher m = PATTERN_END_INDEX.matcher(_token);
+            while (m.matches()) {
+                _token = m.group(1);
+                tokenList.add(pos, m.group(2));
+                m = PATTERN_END_INDEX.matcher(_token);
+            }
+            if (!StringUtils.isBlank(_token)) {
+                tokenList.add(pos, _token);
             }
-        };
+        }
         return tokenList.toArray(ArrayUtils.EMPTY_STRING_ARRAY);
     }
 
@@ -154,65 +166,60 @@ public class DPathUtils {
         return value;
     }
 
-    private static Object extractValue(Object target, String index) {
+    static Object extractValue(Object target, Segment index) {
         if (target == null) {
             return null;
         }
         if (target instanceof JsonNode) {
             return extractValue((JsonNode) target, index);
         }
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches()) {
-            try {
-                int i = Integer.parseInt(m.group(1));
-                if (target instanceof Object[]) {
-                    return ((Object[]) target)[i];
-                }
-                if (target instanceof List<?>) {
-                    return ((List<?>) target).get(i);
-                }
-                throw new IllegalArgumentException("Expect an array or list for index [" + index
-                        + "] but received [" + target.getClass() + "] instead.");
-            } catch (IndexOutOfBoundsException e) {
-                // rethrow for now
-                throw e;
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Invalid index value: " + index, e);
+        if (index.isIndex()) {
+            if (index.getType() != SegmentType.INDEX) {
+                throw new IllegalArgumentException("Invalid index value: " + index,
+                        index.indexError());
             }
+            int i = index.getIndex();
+            if (target instanceof Object[]) {
+                return ((Object[]) target)[i];
+            }
+            if (target instanceof List<?>) {
+                return ((List<?>) target).get(i);
+            }
+            throw new IllegalArgumentException("Expect an array or list for index [" + index
+                    + "] but received [" + target.getClass() + "] instead.");
         }
         if (target instanceof Map<?, ?>) {
-            return ((Map<?, ?>) target).get(index);
+            return ((Map<?, ?>) target).get(index.getToken());
         }
         throw new IllegalArgumentException(
                 "Unsupported type [" + target.getClass() + "] or invalid index [" + index + "]");
     }
 
-    private static Object extractValue(JsonNode node, String index) {
+    private static Object extractValue(JsonNode node, Segment index) {
         if (node == null || node instanceof NullNode || node instanceof MissingNode) {
             return null;
         }
         if (node instanceof POJONode) {
             return extractValue(extractValue((POJONode) node), index);
         }
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches()) {
-            try {
-                int i = Integer.parseInt(m.group(1));
-                if (node instanceof ArrayNode) {
-                    if (i >= 0 && i < node.size()) {
-                        return node.get(i);
-                    } else {
-                        throw new IndexOutOfBoundsException(String.valueOf(i));
-                    }
+        if (index.isIndex()) {
+            if (index.getType() != SegmentType.INDEX) {
+                throw new IllegalArgumentException("Invalid index value: " + index,
+                        index.indexError());
+            }
+            int i = index.getIndex();
+            if (node instanceof ArrayNode) {
+                if (i >= 0 && i < node.size()) {
+                    return node.get(i);
+                } else {
+                    throw new IndexOutOfBoundsException(String.valueOf(i));
                 }
-                throw new IllegalArgumentException("Expect an ArrayNode for index [" + index
-                        + "] but received [" + node.getClass() + "] instead.");
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Invalid index value: " + index, e);
             }
+            throw new IllegalArgumentException("Expect an ArrayNode for index [" + index
+                    + "] but received [" + node.getClass() + "] instead.");
         }
         if (node instanceof ObjectNode) {
-            return node.get(index);
+            return node.get(index.getToken());
         }
         throw new IllegalArgumentException(
                 "Unsupported type [" + node.getClass() + "] or invalid index [" + index + "]");
@@ -353,6 +360,41 @@ public class DPathUtils {
                     "Target object [" + cursor.getClass() + "] is not a List, ArrayNode or array!");
         }
     }
+
+    /**
+     * Set the value at the last segment of a path: {@code []} appends, {@code [i]} sets an element
+     * and {@code name} sets an attribute.
+     */
+    private static void setLastValue(CompiledDPath dPath, Object cursor, Object value) {
+        Segment index = dPath.getSegment(dPath.size() - 1);
+        switch (index.getType()) {
+            case APPEND:
+            case INDEX:
+                setFieldValue(dPath.getPath(), cursor, index.getIndex(), value);
+                break;
+            case INVALID_INDEX:
+                throw new IllegalArgumentException("Error: Invalid index. Path [" + dPath
+                        + "], target [" + cursor.getClass() + "].", index.indexError());
+            default:
+                setFieldValue(dPath.getPath(), cursor, index.getToken(), value);
+        }
+    }
+
+    /**
+     * Delete the value at the last segment of a path.
+     */
+    private static void deleteLastValue(CompiledDPath dPath, Object cursor) {
+        Segment index = dPath.getSegment(dPath.size() - 1);
+        if (index.getType() == SegmentType.INDEX) {
+            deleteFieldValue(dPath.getPath(), cursor, index.getIndex());
+        } else if (index.isIndex()) {
+            throw new IllegalArgumentException("Error: Invalid index. Path [" + dPath
+                    + "], target [" + cursor.getClass() + "].", index.indexError());
+        } else {
+            deleteFieldValue(dPath.getPath(), cursor, index.getToken());
+        }
+    }
+
     /*----------------------------------------------------------------------*/
 
     /**
@@ -370,6 +412,57 @@ public class DPathUtils {
         return ValueUtils.convertDate(obj, dateTimeFormat);
     }
 
+    /**
+     * Extract a {@code long} value from the target object using DPath expression, without boxing
+     * (see {@link ValueUtils#convertToLong(Object)}). Missing value is returned as {@code 0}.
+     *
+     * @param target
+     * @param dPath
+     * @return
+     * @since 1.0.0
+     */
+    public static long getLong(Object target, String dPath) {
+        return ValueUtils.convertToLong(getValue(target, CompiledDPath.compile(dPath)));
+    }
+
+    /**
+     * Extract a {@code long} value from the target object using a compiled DPath expression.
+     *
+     * @param target
+     * @param dPath
+     * @return
+     * @since 1.0.0
+     */
+    public static long getLong(Object target, CompiledDPath dPath) {
+        return ValueUtils.convertToLong(getValue(target, dPath));
+    }
+
+    /**
+     * Extract a {@code double} value from the target object using DPath expression, without
+     * boxing (see {@link ValueUtils#convertToDouble(Object)}). Missing value is returned as
+     * {@code 0}.
+     *
+     * @param target
+     * @param dPath
+     * @return
+     * @since 1.0.0
+     */
+    public static double getDouble(Object target, String dPath) {
+        return ValueUtils.convertToDouble(getValue(target, CompiledDPath.compile(dPath)));
+    }
+
+    /**
+     * Extract a {@code double} value from the target object using a compiled DPath expression.
+     *
+     * @param target
+     * @param dPath
+     * @return
+     * @since 1.0.0
+     */
+    public static double getDouble(Object target, CompiledDPath dPath) {
+        return ValueUtils.convertToDouble(getValue(target, dPath));
+    }
+
     /**
      * Extract a value from the target object using DPath expression (generic
      * version).
@@ -380,6 +473,20 @@ public class DPathUtils {
      * @return
      */
     public static <T> T getValue(Object target, String dPath, Class<T> clazz) {
+        return getValue(target, CompiledDPath.compile(dPath), clazz);
+    }
+
+    /**
+     * Extract a value from the target object using a compiled DPath expression (generic
+     * version).
+     *
+     * @param target
+     * @param dPath
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T getValue(Object target, CompiledDPath dPath, Class<T> clazz) {
         if (clazz == null) {
             throw new NullPointerException("Class parameter is null!");
         }
@@ -408,12 +515,22 @@ public class DPathUtils {
      * @param dPath
      */
     public static Object getValue(Object target, String dPath) {
+        return getValue(target, CompiledDPath.compile(dPath));
+    }
+
+    /**
+     * Extract a value from the target object using a compiled DPath expression.
+     *
+     * @param target
+     * @param dPath
+     * @since 1.0.0
+     */
+    public static Object getValue(Object target, CompiledDPath dPath) {
         if (target instanceof JsonNode) {
             return getValue((JsonNode) target, dPath);
         }
-        String[] paths = splitDpath(dPath);
         Object result = target;
-        for (String path : paths) {
+        for (Segment path : dPath.segments()) {
             result = extractValue(result, path);
         }
         return result instanceof POJONode ? extractValue((POJONode) result) : result;
@@ -431,6 +548,48 @@ public class DPathUtils {
         return Optional.ofNullable(getValue(target, dPath));
     }
 
+    /**
+     * Extract values of several DPath expressions in a single traversal (see
+     * {@link DPathProjection}). Callers extracting the same paths repeatedly should build the
+     * {@link DPathProjection} once and reuse it.
+     *
+     * @param target
+     * @param dPaths
+     * @return {@code path -> value} map, in the order of {@code dPaths}
+     * @since 1.0.0
+     */
+    public static Map<String, Object> getValues(Object target, String... dPaths) {
+        return DPathProjection.of(dPaths).extract(target);
+    }
+
+    /**
+     * Evaluate a query (a DPath expression with wildcards, slices and filters, see
+     * {@link DPathQuery}) against the target object, lazily.
+     *
+     * @param target
+     * @param query e.g. {@code "items[?(@.qty > 0)].price"}
+     * @return
+     * @since 1.0.0
+     */
+    public static Stream<Object> streamValues(Object target, String query) {
+        return DPathQuery.compile(query).stream(target);
+    }
+
+    /**
+     * Evaluate a query (a DPath expression with wildcards, slices and filters, see
+     * {@link DPathQuery}) against the target object, lazily, converting matches to the specified
+     * class.
+     *
+     * @param target
+     * @param query e.g. {@code "items[*].price"}
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> Stream<T> streamValues(Object target, String query, Class<T> clazz) {
+        return DPathQuery.compile(query).stream(target, clazz);
+    }
+
     /*----------------------------------------------------------------------*/
 
     /**
@@ -459,6 +618,20 @@ public class DPathUtils {
      * @since 0.6.2
      */
     public static <T> T getValue(JsonNode node, String dPath, Class<T> clazz) {
+        return getValue(node, CompiledDPath.compile(dPath), clazz);
+    }
+
+    /**
+     * Extract a value from the target {@link JsonNode} using a compiled DPath expression (generic
+     * version).
+     *
+     * @param node
+     * @param dPath
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T getValue(JsonNode node, CompiledDPath dPath, Class<T> clazz) {
         if (clazz == null) {
             throw new NullPointerException("Class parameter is null!");
         }
@@ -488,9 +661,19 @@ public class DPathUtils {
      * @since 0.6.2
      */
     public static JsonNode getValue(JsonNode node, String dPath) {
-        String[] paths = splitDpath(dPath);
+        return getValue(node, CompiledDPath.compile(dPath));
+    }
+
+    /**
+     * Extract a value from the target {@link JsonNode} using a compiled DPath expression.
+     *
+     * @param node
+     * @param dPath
+     * @since 1.0.0
+     */
+    public static JsonNode getValue(JsonNode node, CompiledDPath dPath) {
         Object result = node;
-        for (String path : paths) {
+        for (Segment path : dPath.segments()) {
             result = extractValue(result, path);
         }
         if (result instanceof POJONode) {
@@ -515,70 +698,67 @@ public class DPathUtils {
 
     /*----------------------------------------------------------------------*/
 
-    private static Object createIntermediate(Object target, StringBuffer pathSofar, String index,
-                                             String nextIndex) {
+    private static Object createIntermediate(Object target, CompiledDPath dPath, int pos) {
         if (target instanceof JsonNode) {
-            return createIntermediate((JsonNode) target, pathSofar, index, nextIndex);
+            return createIntermediate((JsonNode) target, dPath, pos);
         }
-        Object value = PATTERN_INDEX.matcher(nextIndex).matches() ? new ArrayList<Object>()
+        Object value = dPath.getSegment(pos + 1).isIndex() ? new ArrayList<Object>()
                 : new HashMap<String, Object>();
-        return createIntermediate(target, pathSofar, index, value);
+        return createIntermediate(target, dPath, pos, value);
     }
 
     @SuppressWarnings("unchecked")
-    private static Object createIntermediate(Object target, StringBuffer pathSofar, String index,
+    private static Object createIntermediate(Object target, CompiledDPath dPath, int pos,
                                              Object value) {
         if (target == null) {
             return null;
         }
         if (target instanceof JsonNode) {
-            return createIntermediate((JsonNode) target, pathSofar, index, value);
+            return createIntermediate((JsonNode) target, dPath, pos, value);
         }
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches()) {
-            try {
-                int i = Integer.parseInt(m.group(1));
-                if (target instanceof List<?>) {
-                    List<Object> temp = (List<Object>) target;
-                    if (i >= 0 && i < temp.size()) {
-                        // the middle item is null (in some cases)
-                        temp.set(i, value);
-                    } else if (i == temp.size()) {
-                        // special case: add the last item
-                        temp.add(value);
-                    } else {
-                        throw new IllegalArgumentException("Error: Index out of bound. Path ["
-                                + pathSofar + "], target [" + target.getClass() + "].");
-                    }
-                    return value;
-                } else if (target instanceof Object[]) {
-                    Object[] temp = (Object[]) target;
-                    if (i >= 0 && i < temp.length) {
-                        // the middle item is null (in some cases)
-                        temp[i] = value;
-                    } else {
-                        throw new IllegalArgumentException("Error: Index out of bound. Path ["
-                                + pathSofar + "], target [" + target.getClass() + "].");
-                    }
-                    return value;
+        Segment index = dPath.getSegment(pos);
+        if (index.isIndex()) {
+            if (index.getType() != SegmentType.INDEX) {
+                throw new IllegalArgumentException("Error: Invalid index. Path ["
+                        + dPath.pathTo(pos) + "], target [" + target.getClass() + "].",
+                        index.indexError());
+            }
+            int i = index.getIndex();
+            if (target instanceof List<?>) {
+                List<Object> temp = (List<Object>) target;
+                if (i >= 0 && i < temp.size()) {
+                    // the middle item is null (in some cases)
+                    temp.set(i, value);
+                } else if (i == temp.size()) {
+                    // special case: add the last item
+                    temp.add(value);
                 } else {
-                    throw new IllegalArgumentException("Expect an array or list for path ["
-                            + pathSofar + "] but received [" + target.getClass() + "] instead.");
+                    throw new IllegalArgumentException("Error: Index out of bound. Path ["
+                            + dPath.pathTo(pos) + "], target [" + target.getClass() + "].");
                 }
-            } catch (IndexOutOfBoundsException e) {
-                // rethrow for now
-                throw e;
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Error: Invalid index. Path [" + pathSofar
-                        + "], target [" + target.getClass() + "].", e);
+                return value;
+            } else if (target instanceof Object[]) {
+                Object[] temp = (Object[]) target;
+                if (i >= 0 && i < temp.length) {
+                    // the middle item is null (in some cases)
+                    temp[i] = value;
+                } else {
+                    throw new IllegalArgumentException("Error: Index out of bound. Path ["
+                            + dPath.pathTo(pos) + "], target [" + target.getClass() + "].");
+                }
+                return value;
+            } else {
+                throw new IllegalArgumentException("Expect an array or list for path ["
+                        + dPath.pathTo(pos) + "] but received [" + target.getClass()
+                        + "] instead.");
             }
         } else if (target instanceof Map<?, ?>) {
             Map<Object, Object> temp = (Map<Object, Object>) target;
-            temp.put(index, value);
+            temp.put(index.getToken(), value);
             return value;
         } else {
             throw new IllegalArgumentException("Target object of type [" + target.getClass()
-                    + "] is not writable with path [" + pathSofar + "]!");
+                    + "] is not writable with path [" + dPath.pathTo(pos) + "]!");
         }
     }
 
@@ -633,6 +813,21 @@ public class DPathUtils {
      */
     public static void setValue(Object target, String dPath, Object value,
                                 boolean createIntermediatePath) {
+        setValue(target, CompiledDPath.compile(dPath), value, createIntermediatePath);
+    }
+
+    /**
+     * Set a value to the target object specified by a compiled DPath expression (see
+     * {@link #setValue(Object, String, Object, boolean)}).
+     *
+     * @param target
+     * @param dPath
+     * @param value
+     * @param createIntermediatePath
+     * @since 1.0.0
+     */
+    public static void setValue(Object target, CompiledDPath dPath, Object value,
+                                boolean createIntermediatePath) {
         if (target == null) {
             throw new IllegalArgumentException("Target is null!");
         }
@@ -640,47 +835,25 @@ public class DPathUtils {
             setValue((JsonNode) target, dPath, value, createIntermediatePath);
             return;
         }
-        String[] paths = splitDpath(dPath);
+        Segment[] paths = dPath.segments();
         Object cursor = target, prevCursor = target;
-        StringBuffer pathSofar = new StringBuffer();
         // "seek"to the correct position
         for (int i = 0; i < paths.length - 1; i++) {
-            if (i > 0) {
-                pathSofar.append(PATH_SEPARATOR);
-            }
-            String index = paths[i], nextIndex = paths[i + 1];
-            pathSofar.append(index);
             try {
-                cursor = extractValue(cursor, index);
+                cursor = extractValue(cursor, paths[i]);
             } catch (IndexOutOfBoundsException e) {
                 cursor = null;
             }
             if (cursor == null && createIntermediatePath) {
                 // creating intermediate value
-                cursor = createIntermediate(prevCursor, pathSofar, index, nextIndex);
+                cursor = createIntermediate(prevCursor, dPath, i);
             }
             prevCursor = cursor;
         }
         if (cursor == null) {
             throw new IllegalArgumentException("Path not found [" + dPath + "]!");
         }
-
-        String index = paths[paths.length - 1];
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches() || "[]".equals(index)) {
-            try {
-                int i = "[]".equals(index) ? Integer.MAX_VALUE : Integer.parseInt(m.group(1));
-                setFieldValue(dPath, cursor, i, value);
-            } catch (IndexOutOfBoundsException e) {
-                // rethrow for now
-                throw e;
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Error: Invalid index. Path [" + dPath
-                        + "], target [" + cursor.getClass() + "].", e);
-            }
-        } else {
-            setFieldValue(dPath, cursor, index, value);
-        }
+        setLastValue(dPath, cursor, value);
     }
 
     /**
@@ -699,11 +872,23 @@ public class DPathUtils {
      * @since 0.6.1
      */
     public static void deleteValue(Object target, String dPath) {
+        deleteValue(target, CompiledDPath.compile(dPath));
+    }
+
+    /**
+     * Delete a value from the target object specified by a compiled DPath expression (see
+     * {@link #deleteValue(Object, String)}).
+     *
+     * @param target
+     * @param dPath
+     * @since 1.0.0
+     */
+    public static void deleteValue(Object target, CompiledDPath dPath) {
         if (target instanceof JsonNode) {
             deleteValue((JsonNode) target, dPath);
             return;
         }
-        String[] paths = splitDpath(dPath);
+        Segment[] paths = dPath.segments();
         Object cursor = target;
         // "seek"to the correct position
         for (int i = 0; i < paths.length - 1; i++) {
@@ -712,94 +897,75 @@ public class DPathUtils {
         if (cursor == null) {
             return;
         }
-
-        String index = paths[paths.length - 1];
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches()) {
-            try {
-                int i = Integer.parseInt(m.group(1));
-                deleteFieldValue(dPath, cursor, i);
-            } catch (IndexOutOfBoundsException e) {
-                // rethrow for now
-                throw e;
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Error: Invalid index. Path [" + dPath
-                        + "], target [" + cursor.getClass() + "].", e);
-            }
-        } else {
-            deleteFieldValue(dPath, cursor, index);
-        }
+        deleteLastValue(dPath, cursor);
     }
 
     /*----------------------------------------------------------------------*/
 
     @SuppressWarnings("rawtypes")
-    private static Object createIntermediate(JsonNode node, StringBuffer pathSofar, String index,
-                                             String nextIndex) {
+    private static Object createIntermediate(JsonNode node, CompiledDPath dPath, int pos) {
         if (node instanceof POJONode) {
-            return createIntermediate(extractValue((POJONode) node), pathSofar, index, nextIndex);
+            return createIntermediate(extractValue((POJONode) node), dPath, pos);
         }
         if (node instanceof ContainerNode) {
             ContainerNode temp = (ContainerNode) node;
-            JsonNode value = PATTERN_INDEX.matcher(nextIndex).matches() ? temp.arrayNode()
+            JsonNode value = dPath.getSegment(pos + 1).isIndex() ? temp.arrayNode()
                     : temp.objectNode();
-            return createIntermediate(temp, pathSofar, index, value);
+            return createIntermediate(temp, dPath, pos, value);
         }
         return null;
     }
 
-    private static Object createIntermediate(JsonNode node, StringBuffer pathSofar, String index,
+    private static Object createIntermediate(JsonNode node, CompiledDPath dPath, int pos,
                                              Object value) {
         if (node == null) {
             return null;
         }
         if (node instanceof POJONode) {
-            return createIntermediate(extractValue((POJONode) node), pathSofar, index, value);
+            return createIntermediate(extractValue((POJONode) node), dPath, pos, value);
         }
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches()) {
-            try {
-                int i = Integer.parseInt(m.group(1));
-                if (node instanceof ArrayNode) {
-                    ArrayNode temp = (ArrayNode) node;
-                    if (i >= 0 && i < temp.size()) {
-                        // the middle item is null (in some cases)
-                        temp.set(i, value instanceof JsonNode ? (JsonNode) value
-                                : JacksonUtils.toJson(value));
-                    } else if (i == temp.size()) {
-                        // special case: add the last item
-                        if (value instanceof JsonNode) {
-                            temp.add((JsonNode) value);
-                        } else {
-                            temp.addPOJO(value);
-                        }
+        Segment index = dPath.getSegment(pos);
+        if (index.isIndex()) {
+            if (index.getType() != SegmentType.INDEX) {
+                throw new IllegalArgumentException("Error: Invalid index. Path ["
+                        + dPath.pathTo(pos) + "], target [" + node.getClass() + "].",
+                        index.indexError());
+            }
+            int i = index.getIndex();
+            if (node instanceof ArrayNode) {
+                ArrayNode temp = (ArrayNode) node;
+                if (i >= 0 && i < temp.size()) {
+                    // the middle item is null (in some cases)
+                    temp.set(i, value instanceof JsonNode ? (JsonNode) value
+                            : JacksonUtils.toJson(value));
+                } else if (i == temp.size()) {
+                    // special case: add the last item
+                    if (value instanceof JsonNode) {
+                        temp.add((JsonNode) value);
                     } else {
-                        throw new IllegalArgumentException("Error: Index out of bound. Path ["
-                                + pathSofar + "], target [" + node.getClass() + "].");
+                        temp.addPOJO(value);
                     }
-                    return value;
                 } else {
-                    throw new IllegalArgumentException("Expect an ArrayNode for path [" + pathSofar
-                            + "] but received [" + node.getClass() + "] instead.");
+                    throw new IllegalArgumentException("Error: Index out of bound. Path ["
+                            + dPath.pathTo(pos) + "], target [" + node.getClass() + "].");
                 }
-            } catch (IndexOutOfBoundsException e) {
-                // rethrow for now
-                throw e;
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Error: Invalid index. Path [" + pathSofar
-                        + "], target [" + node.getClass() + "].", e);
+                return value;
+            } else {
+                throw new IllegalArgumentException("Expect an ArrayNode for path ["
+                        + dPath.pathTo(pos) + "] but received [" + node.getClass()
+                        + "] instead.");
             }
         } else if (node instanceof ObjectNode) {
             ObjectNode temp = (ObjectNode) node;
             if (value instanceof JsonNode) {
-                temp.set(index, (JsonNode) value);
+                temp.set(index.getToken(), (JsonNode) value);
             } else {
-                temp.putPOJO(index, value);
+                temp.putPOJO(index.getToken(), value);
             }
             return value;
         } else {
             throw new IllegalArgumentException("Target object of type [" + node.getClass()
-                    + "] is not writable with path [" + pathSofar + "]!");
+                    + "] is not writable with path [" + dPath.pathTo(pos) + "]!");
         }
     }
 
@@ -854,28 +1020,37 @@ public class DPathUtils {
      */
     public static void setValue(JsonNode node, String dPath, Object value,
                                 boolean createIntermediatePath) {
+        setValue(node, CompiledDPath.compile(dPath), value, createIntermediatePath);
+    }
+
+    /**
+     * Set a value to the target {@link JsonNode} specified by a compiled DPath expression (see
+     * {@link #setValue(JsonNode, String, Object, boolean)}).
+     *
+     * @param node
+     * @param dPath
+     * @param value
+     * @param createIntermediatePath
+     * @since 1.0.0
+     */
+    public static void setValue(JsonNode node, CompiledDPath dPath, Object value,
+                                boolean createIntermediatePath) {
         if (node == null) {
             throw new IllegalArgumentException("Target is null!");
         }
-        String[] paths = splitDpath(dPath);
+        Segment[] paths = dPath.segments();
         Object cursor = node, prevCursor = node;
-        StringBuffer pathSofar = new StringBuffer();
         // "seek"to the correct position
         for (int i = 0; i < paths.length - 1; i++) {
-            if (i > 0) {
-                pathSofar.append(PATH_SEPARATOR);
-            }
-            String index = paths[i], nextIndex = paths[i + 1];
-            pathSofar.append(index);
             try {
-                cursor = extractValue(cursor, index);
+                cursor = extractValue(cursor, paths[i]);
             } catch (IndexOutOfBoundsException e) {
                 cursor = null;
             }
             if ((cursor == null || cursor instanceof NullNode || cursor instanceof MissingNode)
                     && createIntermediatePath) {
                 // creating intermediate value
-                cursor = createIntermediate(prevCursor, pathSofar, index, nextIndex);
+                cursor = createIntermediate(prevCursor, dPath, i);
             }
             prevCursor = cursor;
         }
@@ -885,22 +1060,7 @@ public class DPathUtils {
 
         JsonNode valueNode = value instanceof JsonNode ? (JsonNode) value
                 : JacksonUtils.toJson(value);
-        String index = paths[paths.length - 1];
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches() || "[]".equals(index)) {
-            try {
-                int i = "[]".equals(index) ? Integer.MAX_VALUE : Integer.parseInt(m.group(1));
-                setFieldValue(dPath, cursor, i, valueNode);
-            } catch (IndexOutOfBoundsException e) {
-                // rethrow for now
-                throw e;
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Error: Invalid index. Path [" + dPath
-                        + "], target [" + cursor.getClass() + "].", e);
-            }
-        } else {
-            setFieldValue(dPath, cursor, index, valueNode);
-        }
+        setLastValue(dPath, cursor, valueNode);
     }
 
     /**
@@ -911,7 +1071,18 @@ public class DPathUtils {
      * @since 0.6.2
      */
     public static void deleteValue(JsonNode node, String dPath) {
-        String[] paths = splitDpath(dPath);
+        deleteValue(node, CompiledDPath.compile(dPath));
+    }
+
+    /**
+     * Delete a value from the target {@link JsonNode} specified by a compiled DPath expression.
+     *
+     * @param node
+     * @param dPath
+     * @since 1.0.0
+     */
+    public static void deleteValue(JsonNode node, CompiledDPath dPath) {
+        Segment[] paths = dPath.segments();
         Object cursor = node;
         // "seek"to the correct position
         for (int i = 0; i < paths.length - 1; i++) {
@@ -920,23 +1091,7 @@ public class DPathUtils {
         if (cursor == null || cursor instanceof NullNode || cursor instanceof MissingNode) {
             return;
         }
-
-        String index = paths[paths.length - 1];
-        Matcher m = PATTERN_INDEX.matcher(index);
-        if (m.matches()) {
-            try {
-                int i = Integer.parseInt(m.group(1));
-                deleteFieldValue(dPath, cursor, i);
-            } catch (IndexOutOfBoundsException e) {
-                // rethrow for now
-                throw e;
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Error: Invalid index. Path [" + dPath
-                        + "], target [" + cursor.getClass() + "].", e);
-            }
-        } else {
-            deleteFieldValue(dPath, cursor, index);
-        }
+        deleteLastValue(dPath, cursor);
     }
 
     /*@SuppressWarnings("unchecked")
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -183,6 +184,50 @@ public class JacksonUtils {
         return SerializationUtils.readJson(source, classLoader);
     }
 
+    /**
+     * Stream the elements of a top-level JSON array one at a time, without reading the whole
+     * document into memory. Closing the stream closes the source.
+     *
+     * @param source
+     * @param clazz  element class, use {@link JsonNode} to get trees
+     * @return
+     * @see JsonStreamReader
+     * @since 1.0.0
+     */
+    public static <T> Stream<T> streamJsonArray(InputStream source, Class<T> clazz) {
+        return JsonStreamReader.ofArray(source, clazz).stream();
+    }
+
+    /**
+     * Stream the elements of the JSON array at a dot-separated field path (e.g.
+     * {@code "data.items"}) one at a time. Closing the stream closes the source.
+     *
+     * @param source
+     * @param arrayPath
+     * @param clazz     element class, use {@link JsonNode} to get trees
+     * @return
+     * @see JsonStreamReader
+     * @since 1.0.0
+     */
+    public static <T> Stream<T> streamJsonArray(InputStream source, String arrayPath,
+                                                Class<T> clazz) {
+        return JsonStreamReader.ofArray(source, arrayPath, clazz).stream();
+    }
+
+    /**
+     * Stream the records of a JSON-lines input one at a time. Closing the stream closes the
+     * source.
+     *
+     * @param source
+     * @param clazz  record class, use {@link JsonNode} to get trees
+     * @return
+     * @see JsonStreamReader
+     * @since 1.0.0
+     */
+    public static <T> Stream<T> streamJsonLines(InputStream source, Class<T> clazz) {
+        return JsonStreamReader.ofJsonLines(source, clazz).stream();
+    }
+
     /**
      * Extract value from a {@link JsonNode}.
      *
@@ -222,6 +267,51 @@ public class JacksonUtils {
         return DPathUtils.getDate(node, dPath, dateTimeFormat);
     }
 
+    /**
+     * Extract a column of {@code double}s from an array inside the target {@link JsonNode},
+     * without boxing.
+     *
+     * @param node
+     * @param rowsDPath DPath of the array of rows
+     * @param dPath     DPath of the value, relative to each row
+     * @return
+     * @see ColumnUtils
+     * @since 1.0.0
+     */
+    public static double[] getDoubles(JsonNode node, String rowsDPath, String dPath) {
+        return ColumnUtils.extractDoubles(DPathUtils.getValue(node, rowsDPath), dPath);
+    }
+
+    /**
+     * Extract a column of {@code long}s from an array inside the target {@link JsonNode},
+     * without boxing.
+     *
+     * @param node
+     * @param rowsDPath DPath of the array of rows
+     * @param dPath     DPath of the value, relative to each row
+     * @return
+     * @see ColumnUtils
+     * @since 1.0.0
+     */
+    public static long[] getLongs(JsonNode node, String rowsDPath, String dPath) {
+        return ColumnUtils.extractLongs(DPathUtils.getValue(node, rowsDPath), dPath);
+    }
+
+    /**
+     * Extract a column of {@code int}s from an array inside the target {@link JsonNode},
+     * without boxing.
+     *
+     * @param node
+     * @param rowsDPath DPath of the array of rows
+     * @param dPath     DPath of the value, relative to each row
+     * @return
+     * @see ColumnUtils
+     * @since 1.0.0
+     */
+    public static int[] getInts(JsonNode node, String rowsDPath, String dPath) {
+        return ColumnUtils.extractInts(DPathUtils.getValue(node, rowsDPath), dPath);
+    }
+
     /**
      * Extract a value from the target {@link JsonNode} using DPath expression (generic
      * version).
@@ -344,6 +434,11 @@ public class JacksonUtils {
      * <li>Otherwise, return {@code obj.hashCode()}</li>
      * </ul>
      *
+     * <p>
+     * Note: values are hashed via their string form. For large documents, prefer the much faster
+     * {@link #checksumFast(JsonNode)} (which yields different values).
+     * </p>
+     *
      * @param node
      * @param hashFunc
      * @return
@@ -462,6 +557,31 @@ public class JacksonUtils {
         return checksum(node, HashUtils.sha512);
     }
 
+    /**
+     * Calculate a fast, allocation-free 64-bit checksum of a {@link JsonNode}.
+     *
+     * @param node
+     * @return
+     * @see JsonChecksum
+     * @since 1.0.0
+     */
+    public static long checksumFast(JsonNode node) {
+        return JsonChecksum.checksum(node);
+    }
+
+    /**
+     * Calculate the checksum of a serialized JSON document, without building a tree. The result
+     * equals {@code checksumFast(readJson(json))}.
+     *
+     * @param json
+     * @return
+     * @see JsonChecksum
+     * @since 1.0.0
+     */
+    public static long checksumFast(byte[] json) {
+        return JsonChecksum.checksum(json);
+    }
+
     /*----------------------------------------------------------------------*/
 
     private static class MyClass {
@@ -0,0 +1,383 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.rain.vertx.app.base.serialization.DeserializationException;
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * Fast 64-bit structural checksum of JSON documents.
+ *
+ * <p>
+ * Unlike {@link JacksonUtils#checksum(JsonNode, com.google.common.hash.HashFunction)}, values are
+ * not rendered to strings and no intermediate hash objects are created: primitives (string
+ * characters, number bits...) are mixed directly into a 64-bit state.
+ * </p>
+ *
+ * <ul>
+ * <li>Array elements are combined in order.</li>
+ * <li>Object fields are combined with a commutative accumulator, so the checksum does not depend
+ * on field order.</li>
+ * <li>Integral numbers are hashed by value, floating point numbers by their {@code double} value,
+ * so {@code IntNode(1)} equals {@code LongNode(1)}, but {@code 1} differs from {@code 1.0}.</li>
+ * <li>{@code null}, {@link NullNode} and {@link MissingNode} at top level have checksum {@code 0}.
+ * </li>
+ * </ul>
+ *
+ * <p>
+ * The checksum can also be calculated straight from serialized JSON ({@link #checksum(byte[])}),
+ * streaming tokens without building a tree; the result equals the checksum of the parsed tree.
+ * </p>
+ *
+ * <p>
+ * For documents that are checked repeatedly, {@link #newMemo(long)} returns an instance that
+ * memoizes the checksums of container nodes (objects/arrays). Memoized nodes must not be modified
+ * afterwards, or {@link #invalidate(JsonNode)} must be called.
+ * </p>
+ *
+ * <p>
+ * Checksums are not cryptographic and are stable across JVMs and versions of this library.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class JsonChecksum {
+    private final static ObjectMapper MAPPER = SerializationUtils.createObjectMapper(null);
+
+    private final static long SEED = 0x6A09E667F3BCC909L;
+    private final static long TAG_NULL = 0x01, TAG_TRUE = 0x02, TAG_FALSE = 0x03, TAG_INT = 0x04,
+            TAG_BIG_INT = 0x05, TAG_FLOAT = 0x06, TAG_STRING = 0x07, TAG_BINARY = 0x08,
+            TAG_ARRAY = 0x09, TAG_OBJECT = 0x0A, TAG_FIELD = 0x0B;
+
+    /**
+     * Stateless instance, without memoization.
+     */
+    private final static JsonChecksum INSTANCE = new JsonChecksum(null);
+
+    /**
+     * Calculate checksum of a {@link JsonNode}.
+     *
+     * @param node
+     * @return
+     */
+    public static long checksum(JsonNode node) {
+        return INSTANCE.of(node);
+    }
+
+    /**
+     * Calculate checksum of a serialized JSON document, without building a tree. The result
+     * equals {@code checksum(JacksonUtils.readJson(json))}.
+     *
+     * @param json
+     * @return
+     */
+    public static long checksum(byte[] json) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            return checksum(parser);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * Calculate checksum of a serialized JSON document, without building a tree. The stream is not
+     * closed.
+     *
+     * @param json
+     * @return
+     */
+    public static long checksum(InputStream json) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return checksum(parser);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * Calculate checksum of the next JSON value of a parser.
+     *
+     * @param parser
+     * @return
+     */
+    public static long checksum(JsonParser parser) {
+        try {
+            JsonToken token = parser.nextToken();
+            return token == null || token == JsonToken.VALUE_NULL ? 0 : hash(parser, token);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * Create an instance that memoizes checksums of container nodes (by identity).
+     *
+     * @param maxSize max number of memoized nodes
+     * @return
+     */
+    public static JsonChecksum newMemo(long maxSize) {
+        return new JsonChecksum(Caffeine.newBuilder().weakKeys().maximumSize(maxSize).build());
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private final Cache<JsonNode, Long> memo;
+
+    private JsonChecksum(Cache<JsonNode, Long> memo) {
+        this.memo = memo;
+    }
+
+    /**
+     * Calculate checksum of a {@link JsonNode}, using memoized checksums of sub-trees if any.
+     *
+     * @param node
+     * @return
+     */
+    public long of(JsonNode node) {
+        if (node == null || node instanceof NullNode || node instanceof MissingNode) {
+            return 0;
+        }
+        return hash(node);
+    }
+
+    /**
+     * Drop the memoized checksum of a node (e.g. after modifying it). Checksums of its ancestors
+     * must also be invalidated.
+     *
+     * @param node
+     */
+    public void invalidate(JsonNode node) {
+        if (memo != null && node != null) {
+            memo.invalidate(node);
+        }
+    }
+
+    /**
+     * Drop all memoized checksums.
+     */
+    public void invalidateAll() {
+        if (memo != null) {
+            memo.invalidateAll();
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private static long mix(long h, long v) {
+        h ^= v * 0x9E3779B97F4A7C15L;
+        return Long.rotateLeft(h, 31) * 0xBF58476D1CE4E5B9L;
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static long hashChars(long tag, CharSequence str) {
+        int len = str.length();
+        long h = mix(mix(SEED, tag), len);
+        int i = 0;
+        for (; i + 4 <= len; i += 4) {
+            h = mix(h, str.charAt(i) | (long) str.charAt(i + 1) << 16
+                    | (long) str.charAt(i + 2) << 32 | (long) str.charAt(i + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < len; i++, shift += 16) {
+            tail |= (long) str.charAt(i) << shift;
+        }
+        return finish(mix(h, tail));
+    }
+
+    private static long hashChars(long tag, char[] buf, int offset, int len) {
+        long h = mix(mix(SEED, tag), len);
+        int i = offset, end = offset + len;
+        for (; i + 4 <= end; i += 4) {
+            h = mix(h, buf[i] | (long) buf[i + 1] << 16 | (long) buf[i + 2] << 32
+                    | (long) buf[i + 3] << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < end; i++, shift += 16) {
+            tail |= (long) buf[i] << shift;
+        }
+        return finish(mix(h, tail));
+    }
+
+    private static long hashBytes(byte[] data) {
+        long h = mix(mix(SEED, TAG_BINARY), data.length);
+        int i = 0;
+        for (; i + 8 <= data.length; i += 8) {
+            long v = 0;
+            for (int j = 0; j < 8; j++) {
+                v |= (data[i + j] & 0xFFL) << (j * 8);
+            }
+            h = mix(h, v);
+        }
+        long tail = 0;
+        for (int shift = 0; i < data.length; i++, shift += 8) {
+            tail |= (data[i] & 0xFFL) << shift;
+        }
+        return finish(mix(h, tail));
+    }
+
+    private static long hashLong(long v) {
+        return finish(mix(mix(SEED, TAG_INT), v));
+    }
+
+    private static long hashBigInteger(BigInteger v) {
+        return v.bitLength() < 64 ? hashLong(v.longValue()) : hashChars(TAG_BIG_INT, v.toString());
+    }
+
+    private static long hashDouble(double v) {
+        // normalize -0.0 and NaNs
+        long bits = v == 0.0 ? 0L : Double.doubleToLongBits(v);
+        return finish(mix(mix(SEED, TAG_FLOAT), bits));
+    }
+
+    private final static long HASH_NULL = finish(mix(SEED, TAG_NULL));
+    private final static long HASH_TRUE = finish(mix(SEED, TAG_TRUE));
+    private final static long HASH_FALSE = finish(mix(SEED, TAG_FALSE));
+
+    private static long arrayHash(long h, int size) {
+        return finish(mix(h, size));
+    }
+
+    private static long fieldHash(long nameHash, long valueHash) {
+        return finish(mix(mix(nameHash, TAG_FIELD), valueHash));
+    }
+
+    private static long objectHash(long sum, int size) {
+        return finish(mix(mix(mix(SEED, TAG_OBJECT), sum), size));
+    }
+
+    private long hash(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return HASH_NULL;
+        }
+        switch (node.getNodeType()) {
+            case STRING:
+                return hashChars(TAG_STRING, node.textValue());
+            case BOOLEAN:
+                return node.booleanValue() ? HASH_TRUE : HASH_FALSE;
+            case NUMBER:
+                if (node.isIntegralNumber()) {
+                    return node.canConvertToLong() ? hashLong(node.longValue())
+                            : hashBigInteger(node.bigIntegerValue());
+                }
+                return hashDouble(node.doubleValue());
+            case BINARY:
+                try {
+                    return hashBytes(node.binaryValue());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            case POJO: {
+                Object pojo = DPathUtils.extractValue((POJONode) node);
+                return hash(pojo instanceof JsonNode ? (JsonNode) pojo : JacksonUtils.toJson(pojo));
+            }
+            case ARRAY:
+            case OBJECT:
+                if (memo != null) {
+                    Long cached = memo.getIfPresent(node);
+                    if (cached != null) {
+                        return cached;
+                    }
+                }
+                long result = node.isArray() ? hashArray((ArrayNode) node)
+                        : hashObject((ObjectNode) node);
+                if (memo != null) {
+                    memo.put(node, result);
+                }
+                return result;
+            default:
+                return node.hashCode();
+        }
+    }
+
+    private long hashArray(ArrayNode node) {
+        long h = mix(SEED, TAG_ARRAY);
+        int size = node.size();
+        for (int i = 0; i < size; i++) {
+            h = mix(h, hash(node.get(i)));
+        }
+        return arrayHash(h, size);
+    }
+
+    private long hashObject(ObjectNode node) {
+        long sum = 0;
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            sum += fieldHash(hashChars(TAG_STRING, field.getKey()), hash(field.getValue()));
+        }
+        return objectHash(sum, node.size());
+    }
+
+    /**
+     * Hash the value starting at the current token.
+     */
+    private static long hash(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return HASH_NULL;
+            case VALUE_TRUE:
+                return HASH_TRUE;
+            case VALUE_FALSE:
+                return HASH_FALSE;
+            case VALUE_STRING:
+                return hashChars(TAG_STRING, parser.getTextCharacters(), parser.getTextOffset(),
+                        parser.getTextLength());
+            case VALUE_NUMBER_INT:
+                return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                        ? hashBigInteger(parser.getBigIntegerValue())
+                        : hashLong(parser.getLongValue());
+            case VALUE_NUMBER_FLOAT:
+                return hashDouble(parser.getDoubleValue());
+            case VALUE_EMBEDDED_OBJECT: {
+                Object value = parser.getEmbeddedObject();
+                return value instanceof byte[] ? hashBytes((byte[]) value)
+                        : INSTANCE.hash(JacksonUtils.toJson(value));
+            }
+            case START_ARRAY: {
+                long h = mix(SEED, TAG_ARRAY);
+                int size = 0;
+                JsonToken next;
+                while ((next = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    h = mix(h, hash(parser, next));
+                    size++;
+                }
+                return arrayHash(h, size);
+            }
+            case START_OBJECT: {
+                long sum = 0;
+                int size = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    long nameHash = hashChars(TAG_STRING, parser.getTextCharacters(),
+                            parser.getTextOffset(), parser.getTextLength());
+                    sum += fieldHash(nameHash, hash(parser, parser.nextToken()));
+                    size++;
+                }
+                return objectHash(sum, size);
+            }
+            default:
+                throw new DeserializationException("Unexpected token " + token);
+        }
+    }
+}
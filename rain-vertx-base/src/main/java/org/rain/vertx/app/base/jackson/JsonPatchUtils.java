@@ -0,0 +1,385 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Compute and apply deltas between {@link JsonNode} documents.
+ *
+ * <ul>
+ * <li>JSON Merge Patch (RFC 7386): {@link #diffMergePatch(JsonNode, JsonNode)},
+ * {@link #applyMergePatch(JsonNode, JsonNode)}.</li>
+ * <li>JSON Patch (RFC 6902): {@link #diff(JsonNode, JsonNode)}, {@link #apply(JsonNode, JsonNode)}
+ * (operations {@code add}, {@code remove}, {@code replace}, {@code move}, {@code copy} and
+ * {@code test}).</li>
+ * </ul>
+ *
+ * <p>
+ * Diffs are computed structurally. Sub-tree checksums (see {@link JsonChecksum}) are calculated
+ * once per diff and used to skip unchanged sub-trees, and to align array elements on their common
+ * prefix/suffix so that an insertion or a removal in an array does not produce a cascade of
+ * replacements.
+ * </p>
+ *
+ * <p>
+ * Apply methods do not modify their inputs, they return a patched copy.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class JsonPatchUtils {
+    private final static JsonNodeFactory FACTORY = JsonNodeFactory.instance;
+
+    public final static String OP_ADD = "add";
+    public final static String OP_REMOVE = "remove";
+    public final static String OP_REPLACE = "replace";
+    public final static String OP_MOVE = "move";
+    public final static String OP_COPY = "copy";
+    public final static String OP_TEST = "test";
+
+    /**
+     * Max number of sub-tree checksums memoized during a diff.
+     */
+    private final static long DIFF_MEMO_SIZE = 1 << 16;
+
+    /*----------------------------------------------------------------------*/
+
+    private static boolean isNull(JsonNode node) {
+        return node == null || node.isNull() || node.isMissingNode();
+    }
+
+    private static boolean same(JsonNode a, JsonNode b, JsonChecksum checksum) {
+        return a == b || (checksum.of(a) == checksum.of(b) && a.equals(b));
+    }
+
+    /**
+     * Leaf comparator of the {@code test} operation: numbers are compared by value (RFC 6902
+     * section 4.6, {@code 1} equals {@code 1.0}), other nodes with {@link JsonNode#equals(Object)}.
+     */
+    private final static Comparator<JsonNode> TEST_COMPARATOR = (a, b) -> {
+        if (a.isNumber() && b.isNumber() && isFinite(a) && isFinite(b)) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    private static boolean isFinite(JsonNode number) {
+        return !number.isFloatingPointNumber() || Double.isFinite(number.doubleValue());
+    }
+
+    /**
+     * Escape a property name as a JSON Pointer token.
+     */
+    private static String escape(String name) {
+        return name.indexOf('~') < 0 && name.indexOf('/') < 0 ? name
+                : name.replace("~", "~0").replace("/", "~1");
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Apply a JSON Merge Patch (RFC 7386) to a document.
+     *
+     * @param target document, not modified
+     * @param patch
+     * @return the patched document
+     */
+    public static JsonNode applyMergePatch(JsonNode target, JsonNode patch) {
+        return mergePatch(target != null ? target.deepCopy() : null, patch);
+    }
+
+    private static JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return patch != null ? patch.deepCopy() : null;
+        }
+        ObjectNode result = target != null && target.isObject() ? (ObjectNode) target
+                : FACTORY.objectNode();
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (isNull(field.getValue())) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(),
+                        mergePatch(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute a JSON Merge Patch (RFC 7386) that transforms {@code source} into {@code target}.
+     *
+     * <p>
+     * Note: as per RFC 7386, {@code null} values in {@code target} can not be expressed (they
+     * mean "remove") and arrays are replaced as a whole.
+     * </p>
+     *
+     * @param source
+     * @param target
+     * @return the merge patch, an empty object if documents are equal
+     */
+    public static JsonNode diffMergePatch(JsonNode source, JsonNode target) {
+        JsonChecksum checksum = JsonChecksum.newMemo(DIFF_MEMO_SIZE);
+        if (isNull(source) && isNull(target) || !isNull(source) && !isNull(target)
+                && same(source, target, checksum)) {
+            return FACTORY.objectNode();
+        }
+        return mergeDiff(source, target, checksum);
+    }
+
+    private static JsonNode mergeDiff(JsonNode source, JsonNode target, JsonChecksum checksum) {
+        if (isNull(target)) {
+            return FACTORY.nullNode();
+        }
+        if (source == null || !source.isObject() || !target.isObject()) {
+            return target.deepCopy();
+        }
+        ObjectNode patch = FACTORY.objectNode();
+        for (Iterator<String> it = source.fieldNames(); it.hasNext(); ) {
+            String name = it.next();
+            if (!target.has(name)) {
+                patch.putNull(name);
+            }
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> it = target.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode from = source.get(field.getKey()), to = field.getValue();
+            if (from == null || !same(from, to, checksum)) {
+                patch.set(field.getKey(), mergeDiff(from, to, checksum));
+            }
+        }
+        return patch;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Compute a JSON Patch (RFC 6902) that transforms {@code source} into {@code target}.
+     *
+     * @param source
+     * @param target
+     * @return array of {@code add}/{@code remove}/{@code replace} operations, empty if documents
+     * are equal
+     */
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode ops = FACTORY.arrayNode();
+        JsonNode from = isNull(source) ? FACTORY.nullNode() : source;
+        JsonNode to = isNull(target) ? FACTORY.nullNode() : target;
+        diff("", from, to, ops, JsonChecksum.newMemo(DIFF_MEMO_SIZE));
+        return ops;
+    }
+
+    private static void addOp(ArrayNode ops, String op, String path, JsonNode value) {
+        ObjectNode node = ops.addObject();
+        node.put("op", op);
+        node.put("path", path);
+        if (value != null) {
+            node.set("value", value.deepCopy());
+        }
+    }
+
+    private static void diff(String path, JsonNode source, JsonNode target, ArrayNode ops,
+                             JsonChecksum checksum) {
+        if (same(source, target, checksum)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = source.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                String childPath = path + "/" + escape(field.getKey());
+                JsonNode to = target.get(field.getKey());
+                if (to == null) {
+                    addOp(ops, OP_REMOVE, childPath, null);
+                } else {
+                    diff(childPath, field.getValue(), to, ops, checksum);
+                }
+            }
+            for (Iterator<Map.Entry<String, JsonNode>> it = target.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (!source.has(field.getKey())) {
+                    addOp(ops, OP_ADD, path + "/" + escape(field.getKey()), field.getValue());
+                }
+            }
+        } else if (source.isArray() && target.isArray()) {
+            diffArray(path, (ArrayNode) source, (ArrayNode) target, ops, checksum);
+        } else {
+            addOp(ops, OP_REPLACE, path, target);
+        }
+    }
+
+    private static void diffArray(String path, ArrayNode source, ArrayNode target, ArrayNode ops,
+                                  JsonChecksum checksum) {
+        int srcSize = source.size(), dstSize = target.size();
+        int prefix = 0, max = Math.min(srcSize, dstSize);
+        while (prefix < max && same(source.get(prefix), target.get(prefix), checksum)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix && same(source.get(srcSize - 1 - suffix),
+                target.get(dstSize - 1 - suffix), checksum)) {
+            suffix++;
+        }
+        int srcMid = srcSize - prefix - suffix, dstMid = dstSize - prefix - suffix;
+        int paired = Math.min(srcMid, dstMid);
+        for (int i = prefix; i < prefix + paired; i++) {
+            diff(path + "/" + i, source.get(i), target.get(i), ops, checksum);
+        }
+        // remove from the end so that indexes of remaining elements do not shift
+        for (int i = prefix + srcMid - 1; i >= prefix + paired; i--) {
+            addOp(ops, OP_REMOVE, path + "/" + i, null);
+        }
+        for (int i = prefix + paired; i < prefix + dstMid; i++) {
+            addOp(ops, OP_ADD, path + "/" + i, target.get(i));
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Apply a JSON Patch (RFC 6902) to a document. The patch is applied atomically: if an
+     * operation fails, an exception is thrown and no result is returned.
+     *
+     * @param target document, not modified
+     * @param patch  array of operations
+     * @return the patched document
+     * @throws IllegalArgumentException if the patch is malformed, a path does not exist or a
+     *                                  {@code test} operation fails
+     */
+    public static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new IllegalArgumentException("JSON patch must be an array of operations!");
+        }
+        JsonNode doc = isNull(target) ? FACTORY.nullNode() : target.deepCopy();
+        for (JsonNode op : patch) {
+            doc = applyOp(doc, op);
+        }
+        return doc;
+    }
+
+    private static String requireText(JsonNode op, String field) {
+        JsonNode value = op.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("Missing [" + field + "] in operation " + op);
+        }
+        return value.textValue();
+    }
+
+    private static JsonNode requireValue(JsonNode op) {
+        JsonNode value = op.get("value");
+        if (value == null) {
+            throw new IllegalArgumentException("Missing [value] in operation " + op);
+        }
+        return value.deepCopy();
+    }
+
+    private static JsonNode applyOp(JsonNode doc, JsonNode op) {
+        String type = requireText(op, "op");
+        JsonPointer path = JsonPointer.compile(requireText(op, "path"));
+        switch (type) {
+            case OP_ADD:
+                return add(doc, path, requireValue(op));
+            case OP_REMOVE:
+                remove(doc, path);
+                return doc;
+            case OP_REPLACE: {
+                JsonNode value = requireValue(op);
+                remove(doc, path);
+                return path.matches() ? value : add(doc, path, value);
+            }
+            case OP_MOVE: {
+                JsonPointer from = JsonPointer.compile(requireText(op, "from"));
+                if (path.toString().startsWith(from + "/")) {
+                    throw new IllegalArgumentException("Can not move a value into one of its"
+                            + " children, operation " + op);
+                }
+                JsonNode value = get(doc, from);
+                remove(doc, from);
+                return from.matches() ? value : add(doc, path, value);
+            }
+            case OP_COPY: {
+                JsonPointer from = JsonPointer.compile(requireText(op, "from"));
+                return add(doc, path, get(doc, from).deepCopy());
+            }
+            case OP_TEST:
+                if (!get(doc, path).equals(TEST_COMPARATOR, requireValue(op))) {
+                    throw new IllegalArgumentException("Test failed for operation " + op);
+                }
+                return doc;
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + op);
+        }
+    }
+
+    private static JsonNode get(JsonNode doc, JsonPointer path) {
+        JsonNode node = doc.at(path);
+        if (node.isMissingNode()) {
+            throw new IllegalArgumentException("Path not found [" + path + "]!");
+        }
+        return node;
+    }
+
+    private static JsonNode parent(JsonNode doc, JsonPointer path) {
+        JsonNode parent = get(doc, path.head());
+        if (!parent.isContainerNode()) {
+            throw new IllegalArgumentException("Parent of path [" + path
+                    + "] is not an object or array!");
+        }
+        return parent;
+    }
+
+    private static int arrayIndex(JsonPointer last, int max) {
+        String token = last.getMatchingProperty();
+        int index = last.getMatchingIndex();
+        if ("-".equals(token)) {
+            return max;
+        }
+        if (index < 0 || index > max) {
+            throw new IllegalArgumentException("Invalid array index [" + token + "]!");
+        }
+        return index;
+    }
+
+    private static JsonNode add(JsonNode doc, JsonPointer path, JsonNode value) {
+        if (path.matches()) {
+            return value;
+        }
+        JsonNode parent = parent(doc, path);
+        JsonPointer last = path.last();
+        if (parent.isArray()) {
+            ArrayNode array = (ArrayNode) parent;
+            array.insert(arrayIndex(last, array.size()), value);
+        } else {
+            ((ObjectNode) parent).set(last.getMatchingProperty(), value);
+        }
+        return doc;
+    }
+
+    private static void remove(JsonNode doc, JsonPointer path) {
+        if (path.matches()) {
+            return;
+        }
+        JsonNode parent = parent(doc, path);
+        JsonPointer last = path.last();
+        if (parent.isArray()) {
+            ArrayNode array = (ArrayNode) parent;
+            int index = arrayIndex(last, array.size() - 1);
+            if (index < 0 || "-".equals(last.getMatchingProperty())) {
+                throw new IllegalArgumentException("Path not found [" + path + "]!");
+            }
+            array.remove(index);
+        } else {
+            String name = last.getMatchingProperty();
+            if (!parent.has(name)) {
+                throw new IllegalArgumentException("Path not found [" + path + "]!");
+            }
+            ((ObjectNode) parent).remove(name);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package org.rain.vertx.app.base.jackson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.rxjava3.core.Flowable;
+import org.apache.commons.lang3.StringUtils;
+import org.rain.vertx.app.base.serialization.DeserializationException;
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * Streaming JSON reader, built on {@link JsonParser}: yields the elements of a (possibly huge) JSON
+ * array, or the records of a JSON-lines input, one at a time. Only the current element is
+ * materialized, so memory usage does not depend on the input size.
+ *
+ * <ul>
+ * <li>Array mode: the input is a JSON array, or a JSON object containing the array at a
+ * dot-separated field path (e.g. {@code "data.items"}).</li>
+ * <li>JSON-lines mode: the input is a sequence of JSON values (usually one per line).</li>
+ * </ul>
+ *
+ * <p>
+ * Elements are converted to the requested class; request {@link JsonNode} to get small trees. The
+ * reader is an {@link Iterator}, and can be turned into a {@link Stream} ({@link #stream()}) or a
+ * {@link Flowable} ({@link #flowable(io.reactivex.rxjava3.functions.Supplier)}). Closing the
+ * reader closes the input.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <T>
+ * @since 1.0.0
+ */
+public class JsonStreamReader<T> implements Iterator<T>, Closeable {
+    private final static ObjectMapper MAPPER = SerializationUtils.createObjectMapper(null);
+
+    /**
+     * Read elements of the top-level JSON array.
+     *
+     * @param source
+     * @param clazz
+     * @return
+     */
+    public static <T> JsonStreamReader<T> ofArray(InputStream source, Class<T> clazz) {
+        return ofArray(source, null, clazz);
+    }
+
+    /**
+     * Read elements of the JSON array at a field path.
+     *
+     * @param source
+     * @param arrayPath dot-separated field names leading to the array, {@code null} or empty for
+     *                  the top-level array
+     * @param clazz
+     * @return
+     */
+    public static <T> JsonStreamReader<T> ofArray(InputStream source, String arrayPath,
+                                                  Class<T> clazz) {
+        return new JsonStreamReader<>(createParser(source), arrayPath, false, clazz);
+    }
+
+    /**
+     * Read elements of the JSON array at a field path.
+     *
+     * @param source
+     * @param arrayPath dot-separated field names leading to the array, {@code null} or empty for
+     *                  the top-level array
+     * @param clazz
+     * @return
+     */
+    public static <T> JsonStreamReader<T> ofArray(Reader source, String arrayPath,
+                                                  Class<T> clazz) {
+        return new JsonStreamReader<>(createParser(source), arrayPath, false, clazz);
+    }
+
+    /**
+     * Read records of a JSON-lines input.
+     *
+     * @param source
+     * @param clazz
+     * @return
+     */
+    public static <T> JsonStreamReader<T> ofJsonLines(InputStream source, Class<T> clazz) {
+        return new JsonStreamReader<>(createParser(source), null, true, clazz);
+    }
+
+    /**
+     * Read records of a JSON-lines input.
+     *
+     * @param source
+     * @param clazz
+     * @return
+     */
+    public static <T> JsonStreamReader<T> ofJsonLines(Reader source, Class<T> clazz) {
+        return new JsonStreamReader<>(createParser(source), null, true, clazz);
+    }
+
+    private static JsonParser createParser(InputStream source) {
+        try {
+            return MAPPER.getFactory().createParser(source);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    private static JsonParser createParser(Reader source) {
+        try {
+            return MAPPER.getFactory().createParser(source);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private final JsonParser parser;
+    private final String[] arrayPath;
+    private final boolean jsonLines;
+    private final Class<T> clazz;
+    private final boolean asTree;
+    private boolean started = false, positioned = false, finished = false;
+
+    private JsonStreamReader(JsonParser parser, String arrayPath, boolean jsonLines,
+                             Class<T> clazz) {
+        this.parser = parser;
+        this.arrayPath = StringUtils.isBlank(arrayPath) ? new String[0]
+                : StringUtils.split(arrayPath, '.');
+        this.jsonLines = jsonLines;
+        this.clazz = clazz;
+        this.asTree = JsonNode.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Position the parser at the start of the array. Return {@code false} if the path does not
+     * exist.
+     */
+    private boolean locateArray() throws IOException {
+        JsonToken token = parser.nextToken();
+        for (String field : arrayPath) {
+            if (token != JsonToken.START_OBJECT) {
+                return false;
+            }
+            boolean found = false;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                token = parser.nextToken();
+                if (field.equals(name)) {
+                    found = true;
+                    break;
+                }
+                parser.skipChildren();
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new DeserializationException("Expected a JSON array at path ["
+                    + String.join(".", arrayPath) + "], found " + token);
+        }
+        return true;
+    }
+
+    private void advance() {
+        try {
+            if (!started) {
+                started = true;
+                if (!jsonLines && !locateArray()) {
+                    finished = true;
+                    return;
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == null || (!jsonLines && token == JsonToken.END_ARRAY)) {
+                finished = true;
+            } else {
+                positioned = true;
+            }
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        if (!positioned && !finished) {
+            advance();
+        }
+        return positioned;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        positioned = false;
+        try {
+            return asTree ? (T) MAPPER.readTree(parser) : MAPPER.readValue(parser, clazz);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        finished = true;
+        positioned = false;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * Remaining elements as a sequential {@link Stream}; closing the stream closes this reader.
+     *
+     * @return
+     */
+    public Stream<T> stream() {
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Wrap a reader factory into a backpressure-aware {@link Flowable}. The reader is created on
+     * subscription and closed on completion, error or cancellation. {@code null} elements are
+     * skipped, as RxJava does not allow {@code null} values.
+     *
+     * @param readerFactory e.g. {@code () -> JsonStreamReader.ofArray(new FileInputStream(f),
+     *                      MyRecord.class)}
+     * @return
+     */
+    public static <T> Flowable<T> flowable(
+            io.reactivex.rxjava3.functions.Supplier<JsonStreamReader<T>> readerFactory) {
+        return Flowable.generate(readerFactory, (reader, emitter) -> {
+            // exactly one signal per call: skip nulls until a value or the end of the stream
+            while (reader.hasNext()) {
+                T value = reader.next();
+                if (value != null) {
+                    emitter.onNext(value);
+                    return;
+                }
+            }
+            emitter.onComplete();
+        }, JsonStreamReader::close);
+    }
+}
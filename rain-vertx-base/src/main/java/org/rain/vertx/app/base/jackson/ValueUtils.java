@@ -10,6 +10,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -17,6 +22,7 @@ import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.NumericNode;
 import com.fasterxml.jackson.databind.node.POJONode;
+import org.apache.commons.lang3.ClassUtils;
 import org.rain.vertx.app.base.date.DateFormatUtils;
 
 /**
@@ -54,56 +60,8 @@ public class ValueUtils {
         if (target instanceof JsonNode) {
             return convertNumber((JsonNode) target, clazz);
         }
-        if (clazz == Number.class) {
-            return target instanceof Number ? (N) target : null;
-        }
-        if (clazz == Byte.class || clazz == byte.class) {
-            byte value = target instanceof Number ? ((Number) target).byteValue()
-                    : target instanceof String ? Byte.parseByte(target.toString()) : 0;
-            return (N) Byte.valueOf(value);
-        }
-        if (clazz == Short.class || clazz == short.class) {
-            short value = target instanceof Number ? ((Number) target).shortValue()
-                    : target instanceof String ? Short.parseShort(target.toString()) : 0;
-            return (N) Short.valueOf(value);
-        }
-        if (clazz == Integer.class || clazz == int.class) {
-            int value = target instanceof Number ? ((Number) target).intValue()
-                    : target instanceof String ? Integer.parseInt(target.toString()) : 0;
-            return (N) Integer.valueOf(value);
-        }
-        if (clazz == Long.class || clazz == long.class) {
-            long value = target instanceof Number ? ((Number) target).longValue()
-                    : target instanceof String ? Long.parseLong(target.toString()) : 0;
-            return (N) Long.valueOf(value);
-        }
-        if (clazz == Float.class || clazz == float.class) {
-            float value = target instanceof Number ? ((Number) target).floatValue()
-                    : target instanceof String ? Float.parseFloat(target.toString()) : 0;
-            return (N) Float.valueOf(value);
-        }
-        if (clazz == Double.class || clazz == double.class) {
-            double value = target instanceof Number ? ((Number) target).doubleValue()
-                    : target instanceof String ? Double.parseDouble(target.toString()) : 0;
-            return (N) Double.valueOf(value);
-        }
-        if (clazz == BigInteger.class) {
-            BigInteger value = target instanceof BigInteger ? (BigInteger) target
-                    : target instanceof Number ? BigInteger.valueOf(((Number) target).longValue())
-                    : target instanceof String
-                    ? BigInteger.valueOf(Long.parseLong(target.toString()))
-                    : BigInteger.ZERO;
-            return (N) value;
-        }
-        if (clazz == BigDecimal.class) {
-            BigDecimal value = target instanceof BigDecimal ? (BigDecimal) target
-                    : target instanceof Number ? BigDecimal.valueOf(((Number) target).doubleValue())
-                    : target instanceof String
-                    ? BigDecimal.valueOf(Double.parseDouble(target.toString()))
-                    : BigDecimal.ZERO;
-            return (N) value;
-        }
-        return null;
+        Class<?> sourceClass = target != null ? target.getClass() : Void.class;
+        return (N) NUMBER_CONVERTERS.get(clazz).get(sourceClass).apply(target);
     }
 
     /**
@@ -217,34 +175,106 @@ public class ValueUtils {
         if (target == null) {
             return null;
         }
-        if (target instanceof JsonNode) {
-            return convertValue((JsonNode) target, clazz);
+        return (T) converters.get(clazz).get(target.getClass()).apply(target);
+    }
+
+    /**
+     * Convert a target object to {@code int}, without boxing.
+     *
+     * <p>
+     * Numbers, strings and {@link JsonNode}s are converted directly, other types go through
+     * {@link #convertValue(Object, Class)}. If {@code target} is {@code null} or can not be
+     * converted, {@code 0} is returned.
+     * </p>
+     *
+     * @param target
+     * @return
+     * @throws NumberFormatException if {@code target} is a non-numeric string
+     * @since 1.0.0
+     */
+    public static int convertToInt(Object target) throws NumberFormatException {
+        if (target instanceof Number) {
+            return ((Number) target).intValue();
         }
-        if (Number.class.isAssignableFrom(clazz) || byte.class == clazz || short.class == clazz
-                || int.class == clazz || long.class == clazz || float.class == clazz
-                || double.class == clazz) {
-            return convertNumber(target, clazz);
+        if (target instanceof String) {
+            return Integer.parseInt((String) target);
+        }
+        if (target instanceof JsonNode) {
+            JsonNode node = (JsonNode) target;
+            if (node instanceof POJONode) {
+                return convertToInt(DPathUtils.extractValue((POJONode) node));
+            }
+            return node.isNumber() ? node.asInt()
+                    : node.isTextual() ? Integer.parseInt(node.asText()) : 0;
         }
-        if (clazz == Boolean.class || clazz == boolean.class) {
-            return (T) convertBoolean(target);
+        Object value = convertValue(target, Integer.class);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    /**
+     * Convert a target object to {@code long}, without boxing.
+     *
+     * <p>
+     * Numbers, strings and {@link JsonNode}s are converted directly, other types go through
+     * {@link #convertValue(Object, Class)}. If {@code target} is {@code null} or can not be
+     * converted, {@code 0} is returned.
+     * </p>
+     *
+     * @param target
+     * @return
+     * @throws NumberFormatException if {@code target} is a non-numeric string
+     * @since 1.0.0
+     */
+    public static long convertToLong(Object target) throws NumberFormatException {
+        if (target instanceof Number) {
+            return ((Number) target).longValue();
         }
-        if (clazz == Character.class || clazz == char.class) {
-            return (T) convertChar(target);
+        if (target instanceof String) {
+            return Long.parseLong((String) target);
         }
-        if (Date.class.isAssignableFrom(clazz)) {
-            return (T) convertDate(target);
+        if (target instanceof JsonNode) {
+            JsonNode node = (JsonNode) target;
+            if (node instanceof POJONode) {
+                return convertToLong(DPathUtils.extractValue((POJONode) node));
+            }
+            return node.isNumber() ? node.asLong()
+                    : node.isTextual() ? Long.parseLong(node.asText()) : 0;
         }
-        if (Object[].class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz)) {
-            return (T) convertArrayOrList(target);
+        Object value = convertValue(target, Long.class);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * Convert a target object to {@code double}, without boxing.
+     *
+     * <p>
+     * Numbers, strings and {@link JsonNode}s are converted directly, other types go through
+     * {@link #convertValue(Object, Class)}. If {@code target} is {@code null} or can not be
+     * converted, {@code 0} is returned.
+     * </p>
+     *
+     * @param target
+     * @return
+     * @throws NumberFormatException if {@code target} is a non-numeric string
+     * @since 1.0.0
+     */
+    public static double convertToDouble(Object target) throws NumberFormatException {
+        if (target instanceof Number) {
+            return ((Number) target).doubleValue();
         }
-        if (clazz.isAssignableFrom(target.getClass())) {
-            return (T) target;
+        if (target instanceof String) {
+            return Double.parseDouble((String) target);
         }
-        if (clazz == String.class) {
-            return (T) target.toString();
+        if (target instanceof JsonNode) {
+            JsonNode node = (JsonNode) target;
+            if (node instanceof POJONode) {
+                return convertToDouble(DPathUtils.extractValue((POJONode) node));
+            }
+            return node.isNumber() ? node.asDouble()
+                    : node.isTextual() ? Double.parseDouble(node.asText()) : 0;
         }
-        throw new IllegalArgumentException(
-                "Cannot convert an object of type [" + target.getClass() + "] to [" + clazz + "]!");
+        Object value = convertValue(target, Double.class);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
     }
 
     /*----------------------------------------------------------------------*/
@@ -272,55 +302,7 @@ public class ValueUtils {
         if (node instanceof POJONode) {
             return convertNumber(DPathUtils.extractValue((POJONode) node), clazz);
         }
-        if (clazz == Byte.class || clazz == byte.class) {
-            byte value = node.isNumber() ? (byte) node.asInt()
-                    : node.isTextual() ? Byte.parseByte(node.asText()) : 0;
-            return (N) Byte.valueOf(value);
-        }
-        if (clazz == Short.class || clazz == short.class) {
-            short value = node.isNumber() ? (short) node.asInt()
-                    : node.isTextual() ? Short.parseShort(node.asText()) : 0;
-            return (N) Short.valueOf(value);
-        }
-        if (clazz == Integer.class || clazz == int.class) {
-            int value = node.isNumber() ? node.asInt()
-                    : node.isTextual() ? Integer.parseInt(node.asText()) : 0;
-            return (N) Integer.valueOf(value);
-        }
-        if (clazz == Long.class || clazz == long.class) {
-            long value = node.isNumber() ? node.asLong()
-                    : node.isTextual() ? Long.parseLong(node.asText()) : 0;
-            return (N) Long.valueOf(value);
-        }
-        if (clazz == Float.class || clazz == float.class) {
-            float value = node.isNumber() ? (float) node.asDouble()
-                    : node.isTextual() ? Float.parseFloat(node.asText()) : 0;
-            return (N) Float.valueOf(value);
-        }
-        if (clazz == Double.class || clazz == double.class) {
-            double value = node.isNumber() ? node.asDouble()
-                    : node.isTextual() ? Double.parseDouble(node.asText()) : 0;
-            return (N) Double.valueOf(value);
-        }
-        if (clazz == BigInteger.class) {
-            BigInteger value = node instanceof NumericNode ? ((NumericNode) node).bigIntegerValue()
-                    : BigInteger.valueOf(node.isTextual() ? Long.parseLong(node.asText()) : 0);
-            return (N) value;
-        }
-        if (clazz == BigDecimal.class) {
-            BigDecimal value = node instanceof NumericNode ? ((NumericNode) node).decimalValue()
-                    : BigDecimal.valueOf(node.isTextual() ? Double.parseDouble(node.asText()) : 0);
-            return (N) value;
-        }
-        if (clazz == Number.class && node.isNumber()) {
-            if (node.isIntegralNumber()) {
-                return (N) Long.valueOf(node.asLong());
-            }
-            if (node.isFloatingPointNumber()) {
-                return (N) Double.valueOf(node.asDouble());
-            }
-        }
-        return null;
+        return (N) JSON_NUMBER_CONVERTERS.get(clazz).apply(node);
     }
 
     /**
@@ -437,37 +419,308 @@ public class ValueUtils {
         if (clazz == null) {
             throw new NullPointerException("Class parameter is null!");
         }
-        if (node == null || node instanceof NullNode || node instanceof MissingNode) {
+        if (node == null) {
             return null;
         }
-        if (node instanceof POJONode) {
-            return convertValue(DPathUtils.extractValue((POJONode) node), clazz);
+        return (T) converters.get(clazz).get(node.getClass()).apply(node);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Converters registered via {@link #registerConverter(Class, Class, Function)}:
+     * {@code target class (primitive classes are wrapped) -> source class -> converter}.
+     */
+    private final static ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Function<Object, Object>>>
+            USER_CONVERTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Resolved converters, {@code target class -> source class -> converter}. Replaced as a whole
+     * when user converters change.
+     */
+    private static volatile ClassValue<ClassValue<Function<Object, Object>>> converters =
+            newConverterTable(ValueUtils::resolveConverter);
+
+    /**
+     * Built-in number converters used by {@link #convertNumber(Object, Class)}, source class
+     * {@link Void} stands for {@code null}.
+     */
+    private final static ClassValue<ClassValue<Function<Object, Object>>> NUMBER_CONVERTERS =
+            newConverterTable(ValueUtils::numberConverter);
+
+    /**
+     * Built-in number converters used by {@link #convertNumber(JsonNode, Class)}.
+     */
+    private final static ClassValue<Function<JsonNode, Object>> JSON_NUMBER_CONVERTERS =
+            new ClassValue<>() {
+                @Override
+                protected Function<JsonNode, Object> computeValue(Class<?> targetClass) {
+                    return jsonNumberConverter(targetClass);
+                }
+            };
+
+    private static ClassValue<ClassValue<Function<Object, Object>>> newConverterTable(
+            BiFunction<Class<?>, Class<?>, Function<Object, Object>> resolver) {
+        return new ClassValue<>() {
+            @Override
+            protected ClassValue<Function<Object, Object>> computeValue(Class<?> targetClass) {
+                return new ClassValue<>() {
+                    @Override
+                    protected Function<Object, Object> computeValue(Class<?> sourceClass) {
+                        return resolver.apply(sourceClass, targetClass);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Register a custom converter, used by {@link #convertValue(Object, Class)} and
+     * {@link #convertValue(JsonNode, Class)} in priority over built-in conversions.
+     *
+     * <p>
+     * The converter applies to {@code sourceClass} and its sub-classes/implementations (the
+     * converter registered for the closest super-class wins), it is never called with a
+     * {@code null} value. Primitive and wrapper target classes are treated the same.
+     * </p>
+     *
+     * @param sourceClass
+     * @param targetClass
+     * @param converter
+     * @since 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    synchronized public static <S, T> void registerConverter(Class<S> sourceClass,
+            Class<T> targetClass, Function<? super S, ? extends T> converter) {
+        if (sourceClass == null || targetClass == null || converter == null) {
+            throw new NullPointerException(
+                    "Source class, target class and converter are required!");
+        }
+        USER_CONVERTERS
+                .computeIfAbsent(ClassUtils.primitiveToWrapper(targetClass),
+                        k -> new ConcurrentHashMap<>())
+                .put(sourceClass, (Function<Object, Object>) converter);
+        converters = newConverterTable(ValueUtils::resolveConverter);
+    }
+
+    /**
+     * Remove a custom converter registered via {@link #registerConverter(Class, Class, Function)}.
+     *
+     * @param sourceClass
+     * @param targetClass
+     * @since 1.0.0
+     */
+    synchronized public static void unregisterConverter(Class<?> sourceClass,
+            Class<?> targetClass) {
+        Map<Class<?>, Function<Object, Object>> bySource = USER_CONVERTERS
+                .get(ClassUtils.primitiveToWrapper(targetClass));
+        if (bySource != null && bySource.remove(sourceClass) != null) {
+            converters = newConverterTable(ValueUtils::resolveConverter);
+        }
+    }
+
+    private static Function<Object, Object> findUserConverter(Class<?> sourceClass,
+            Class<?> targetClass) {
+        Map<Class<?>, Function<Object, Object>> bySource = USER_CONVERTERS
+                .get(ClassUtils.primitiveToWrapper(targetClass));
+        if (bySource == null || bySource.isEmpty()) {
+            return null;
+        }
+        for (Class<?> clazz = sourceClass; clazz != null; clazz = clazz.getSuperclass()) {
+            Function<Object, Object> converter = bySource.get(clazz);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        for (Class<?> clazz : ClassUtils.getAllInterfaces(sourceClass)) {
+            Function<Object, Object> converter = bySource.get(clazz);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNumberClass(Class<?> clazz) {
+        return Number.class.isAssignableFrom(clazz)
+                || (clazz.isPrimitive() && clazz != boolean.class && clazz != char.class
+                && clazz != void.class);
+    }
+
+    private static Function<Object, Object> unsupported(Class<?> sourceClass,
+            Class<?> targetClass) {
+        String msg = "Cannot convert an object of type [" + sourceClass + "] to [" + targetClass
+                + "]!";
+        return v -> {
+            throw new IllegalArgumentException(msg);
+        };
+    }
+
+    /**
+     * Resolve the conversion of a (non-null) value, same rules as the legacy
+     * {@code isAssignableFrom} chain but evaluated once per {@code (source, target)}.
+     */
+    private static Function<Object, Object> resolveConverter(Class<?> sourceClass,
+            Class<?> targetClass) {
+        Function<Object, Object> user = findUserConverter(sourceClass, targetClass);
+        if (user != null) {
+            return user;
+        }
+        if (JsonNode.class.isAssignableFrom(sourceClass)) {
+            return jsonConverter(sourceClass, targetClass);
+        }
+        if (isNumberClass(targetClass)) {
+            return numberConverter(sourceClass, targetClass);
         }
-        if (Number.class.isAssignableFrom(clazz) || byte.class == clazz || short.class == clazz
-                || int.class == clazz || long.class == clazz || float.class == clazz
-                || double.class == clazz) {
-            return convertNumber(node, clazz);
+        if (targetClass == Boolean.class || targetClass == boolean.class) {
+            return sourceClass == Boolean.class ? Function.identity()
+                    : sourceClass == String.class ? v -> Boolean.valueOf((String) v)
+                    : v -> Boolean.FALSE;
         }
-        if (clazz == Boolean.class || clazz == boolean.class) {
-            return (T) convertBoolean(node);
+        if (targetClass == Character.class || targetClass == char.class) {
+            return sourceClass == Character.class ? Function.identity() : ValueUtils::convertChar;
         }
-        if (clazz == Character.class || clazz == char.class) {
-            return (T) convertChar(node);
+        if (Date.class.isAssignableFrom(targetClass)) {
+            return ValueUtils::convertDate;
         }
-        if (Date.class.isAssignableFrom(clazz)) {
-            return (T) convertDate(node);
+        if (Object[].class.isAssignableFrom(targetClass)
+                || List.class.isAssignableFrom(targetClass)) {
+            return ValueUtils::convertArrayOrList;
         }
-        if (Object[].class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz)) {
-            return (T) convertArrayOrList(node);
+        if (targetClass.isAssignableFrom(sourceClass)) {
+            return Function.identity();
         }
-        if (clazz.isAssignableFrom(node.getClass())) {
-            return (T) node;
+        if (targetClass == String.class) {
+            return Object::toString;
         }
-        if (clazz == String.class) {
-            return (T) (node.isTextual() ? node.asText() : node.toString());
+        return unsupported(sourceClass, targetClass);
+    }
+
+    private static Function<Object, Object> jsonConverter(Class<?> sourceClass,
+            Class<?> targetClass) {
+        if (NullNode.class.isAssignableFrom(sourceClass)
+                || MissingNode.class.isAssignableFrom(sourceClass)) {
+            return v -> null;
+        }
+        if (POJONode.class.isAssignableFrom(sourceClass)) {
+            return v -> convertValue(DPathUtils.extractValue((POJONode) v), targetClass);
+        }
+        if (isNumberClass(targetClass)) {
+            Function<JsonNode, Object> converter = JSON_NUMBER_CONVERTERS.get(targetClass);
+            return v -> converter.apply((JsonNode) v);
+        }
+        if (targetClass == Boolean.class || targetClass == boolean.class) {
+            return v -> convertBoolean((JsonNode) v);
+        }
+        if (targetClass == Character.class || targetClass == char.class) {
+            return v -> convertChar((JsonNode) v);
+        }
+        if (Date.class.isAssignableFrom(targetClass)) {
+            return v -> convertDate((JsonNode) v);
+        }
+        if (Object[].class.isAssignableFrom(targetClass)
+                || List.class.isAssignableFrom(targetClass)) {
+            return v -> convertArrayOrList((JsonNode) v);
+        }
+        if (targetClass.isAssignableFrom(sourceClass)) {
+            return Function.identity();
+        }
+        if (targetClass == String.class) {
+            return v -> ((JsonNode) v).isTextual() ? ((JsonNode) v).asText() : v.toString();
+        }
+        return unsupported(sourceClass, targetClass);
+    }
+
+    /**
+     * Number conversion of a (non-{@link JsonNode}) value, source class {@link Void} stands for
+     * {@code null}.
+     */
+    private static Function<Object, Object> numberConverter(Class<?> sourceClass,
+            Class<?> targetClass) {
+        Class<?> clazz = ClassUtils.primitiveToWrapper(targetClass);
+        boolean isNumber = Number.class.isAssignableFrom(sourceClass);
+        boolean isString = sourceClass == String.class;
+        if (clazz == Number.class) {
+            return isNumber ? Function.identity() : v -> null;
+        }
+        if (clazz == Byte.class) {
+            return isNumber ? v -> ((Number) v).byteValue()
+                    : isString ? v -> Byte.parseByte((String) v) : v -> (byte) 0;
+        }
+        if (clazz == Short.class) {
+            return isNumber ? v -> ((Number) v).shortValue()
+                    : isString ? v -> Short.parseShort((String) v) : v -> (short) 0;
+        }
+        if (clazz == Integer.class) {
+            return isNumber ? v -> ((Number) v).intValue()
+                    : isString ? v -> Integer.parseInt((String) v) : v -> 0;
+        }
+        if (clazz == Long.class) {
+            return isNumber ? v -> ((Number) v).longValue()
+                    : isString ? v -> Long.parseLong((String) v) : v -> 0L;
         }
-        throw new IllegalArgumentException(
-                "Cannot convert an object of type [" + node.getClass() + "] to [" + clazz + "]!");
+        if (clazz == Float.class) {
+            return isNumber ? v -> ((Number) v).floatValue()
+                    : isString ? v -> Float.parseFloat((String) v) : v -> 0F;
+        }
+        if (clazz == Double.class) {
+            return isNumber ? v -> ((Number) v).doubleValue()
+                    : isString ? v -> Double.parseDouble((String) v) : v -> 0D;
+        }
+        if (clazz == BigInteger.class) {
+            return sourceClass == BigInteger.class ? Function.identity()
+                    : isNumber ? v -> BigInteger.valueOf(((Number) v).longValue())
+                    : isString ? v -> BigInteger.valueOf(Long.parseLong((String) v))
+                    : v -> BigInteger.ZERO;
+        }
+        if (clazz == BigDecimal.class) {
+            return sourceClass == BigDecimal.class ? Function.identity()
+                    : isNumber ? v -> BigDecimal.valueOf(((Number) v).doubleValue())
+                    : isString ? v -> BigDecimal.valueOf(Double.parseDouble((String) v))
+                    : v -> BigDecimal.ZERO;
+        }
+        return v -> null;
     }
 
+    private static Function<JsonNode, Object> jsonNumberConverter(Class<?> targetClass) {
+        Class<?> clazz = ClassUtils.primitiveToWrapper(targetClass);
+        if (clazz == Byte.class) {
+            return node -> node.isNumber() ? (byte) node.asInt()
+                    : node.isTextual() ? Byte.parseByte(node.asText()) : (byte) 0;
+        }
+        if (clazz == Short.class) {
+            return node -> node.isNumber() ? (short) node.asInt()
+                    : node.isTextual() ? Short.parseShort(node.asText()) : (short) 0;
+        }
+        if (clazz == Integer.class) {
+            return node -> node.isNumber() ? node.asInt()
+                    : node.isTextual() ? Integer.parseInt(node.asText()) : 0;
+        }
+        if (clazz == Long.class) {
+            return node -> node.isNumber() ? node.asLong()
+                    : node.isTextual() ? Long.parseLong(node.asText()) : 0L;
+        }
+        if (clazz == Float.class) {
+            return node -> node.isNumber() ? (float) node.asDouble()
+                    : node.isTextual() ? Float.parseFloat(node.asText()) : 0F;
+        }
+        if (clazz == Double.class) {
+            return node -> node.isNumber() ? node.asDouble()
+                    : node.isTextual() ? Double.parseDouble(node.asText()) : 0D;
+        }
+        if (clazz == BigInteger.class) {
+            return node -> node instanceof NumericNode ? ((NumericNode) node).bigIntegerValue()
+                    : BigInteger.valueOf(node.isTextual() ? Long.parseLong(node.asText()) : 0);
+        }
+        if (clazz == BigDecimal.class) {
+            return node -> node instanceof NumericNode ? ((NumericNode) node).decimalValue()
+                    : BigDecimal.valueOf(node.isTextual() ? Double.parseDouble(node.asText()) : 0);
+        }
+        if (clazz == Number.class) {
+            return node -> !node.isNumber() ? null
+                    : node.isIntegralNumber() ? (Object) node.asLong()
+                    : node.isFloatingPointNumber() ? (Object) node.asDouble() : null;
+        }
+        return node -> null;
+    }
 }
@@ -0,0 +1,295 @@
+package org.rain.vertx.app.base.rocksdb;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigUtil;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.Env;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Priority;
+import org.rocksdb.RateLimiter;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksObject;
+import org.rocksdb.WriteOptions;
+
+/**
+ * Build RocksDB options from a config block, and open {@link RocksDbWrapper}s with them, so that
+ * RocksDB can be tuned per environment without recompiling.
+ *
+ * <p>
+ * The schema and default values (the same as {@link RocksDbUtils}'s {@code defaultXxxOptions()})
+ * are documented in the {@code rocksdb-reference.conf} resource next to this class, e.g.:
+ * </p>
+ *
+ * <pre>
+ * rocksdb {
+ *   directory = "/data/rocksdb"
+ *   block-cache-size = 512M
+ *   db-options.rate-limit.bytes-per-second = 64M
+ *   column-families {
+ *     events { write-buffer-size = 128M }
+ *   }
+ * }
+ *
+ * RocksDbWrapper db = RocksDbConfigLoader.open(config.getConfig("rocksdb"));
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public class RocksDbConfigLoader {
+    /**
+     * Resource (relative to this class) holding the schema and default values.
+     */
+    public final static String REFERENCE_RESOURCE = "rocksdb-reference.conf";
+
+    private final static Config REFERENCE = ConfigFactory
+            .parseResources(RocksDbConfigLoader.class, REFERENCE_RESOURCE);
+
+    /**
+     * Merge a config block with the default values.
+     *
+     * @param config
+     * @return
+     */
+    public static Config withDefaults(Config config) {
+        return config.withFallback(REFERENCE).resolve();
+    }
+
+    /**
+     * Build a {@link RateLimiter} from the {@code db-options.rate-limit} block.
+     *
+     * @param config
+     * @return {@code null} if rate limiting is disabled
+     */
+    public static RateLimiter buildRateLimiter(Config config) {
+        Config conf = withDefaults(config).getConfig("db-options.rate-limit");
+        long bytesPerSecond = conf.getBytes("bytes-per-second");
+        return bytesPerSecond > 0
+                ? new RateLimiter(bytesPerSecond, conf.getDuration("refill-period",
+                TimeUnit.MICROSECONDS), conf.getInt("fairness"))
+                : null;
+    }
+
+    /**
+     * Build the shared block cache.
+     *
+     * @param config
+     * @return {@code null} if RocksDB's default cache should be used
+     */
+    public static Cache buildBlockCache(Config config) {
+        long size = withDefaults(config).getBytes("block-cache-size");
+        return size > 0 ? new LRUCache(size) : null;
+    }
+
+    /**
+     * Build {@link DBOptions} from the {@code db-options} block.
+     *
+     * @param config
+     * @param rateLimiter rate limiter to attach, may be {@code null}
+     * @return
+     */
+    public static DBOptions buildDbOptions(Config config, RateLimiter rateLimiter) {
+        Config conf = withDefaults(config).getConfig("db-options");
+        DBOptions opts = new DBOptions();
+        opts.setEnv(Env.getDefault());
+        opts.setCreateIfMissing(conf.getBoolean("create-if-missing"))
+                .setCreateMissingColumnFamilies(conf.getBoolean("create-missing-column-families"))
+                .setErrorIfExists(conf.getBoolean("error-if-exists"));
+        opts.getEnv()
+                .setBackgroundThreads(conf.getInt("background-threads.high"), Priority.HIGH)
+                .setBackgroundThreads(conf.getInt("background-threads.low"), Priority.LOW)
+                .setBackgroundThreads(conf.getInt("background-threads.bottom"), Priority.BOTTOM);
+        opts.setMaxBackgroundCompactions(conf.getInt("max-background-compactions"))
+                .setMaxBackgroundFlushes(conf.getInt("max-background-flushes"))
+                .setIncreaseParallelism(conf.getInt("increase-parallelism"));
+        opts.setBytesPerSync(conf.getBytes("bytes-per-sync"));
+        opts.setMaxOpenFiles(conf.getInt("max-open-files"));
+        opts.setMaxLogFileSize(conf.getBytes("max-log-file-size"))
+                .setLogFileTimeToRoll(conf.getDuration("log-file-time-to-roll", TimeUnit.SECONDS))
+                .setKeepLogFileNum(conf.getLong("keep-log-file-num"));
+        if (rateLimiter != null) {
+            opts.setRateLimiter(rateLimiter);
+        }
+        return opts;
+    }
+
+    /**
+     * Build {@link ColumnFamilyOptions} from the {@code column-family-options} block, with the
+     * overrides of a column family (if any).
+     *
+     * @param config
+     * @param cfName     column family name, {@code null} for the common options only
+     * @param blockCache block cache to use, may be {@code null}
+     * @param resources  RocksDB objects created for the options (e.g. the bloom filter) are added
+     *                   to it; the caller must close them after the options
+     * @return
+     */
+    public static ColumnFamilyOptions buildColumnFamilyOptions(Config config, String cfName,
+                                                               Cache blockCache,
+                                                               List<RocksObject> resources) {
+        Config root = withDefaults(config);
+        Config conf = root.getConfig("column-family-options");
+        String cfPath = cfName != null
+                ? "column-families." + ConfigUtil.quoteString(cfName) : null;
+        if (cfPath != null && root.hasPath(cfPath)) {
+            conf = root.getConfig(cfPath).withFallback(conf);
+        }
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig()
+                .setBlockSize(conf.getBytes("block-size"))
+                .setCacheIndexAndFilterBlocks(conf.getBoolean("cache-index-and-filter-blocks"));
+        if (blockCache != null) {
+            tableConfig.setBlockCache(blockCache);
+        }
+        double bloomBitsPerKey = conf.getDouble("bloom-filter-bits-per-key");
+        if (bloomBitsPerKey > 0) {
+            BloomFilter bloomFilter = new BloomFilter(bloomBitsPerKey);
+            resources.add(bloomFilter);
+            tableConfig.setFilterPolicy(bloomFilter);
+        }
+        ColumnFamilyOptions opts = new ColumnFamilyOptions();
+        opts.setLevelCompactionDynamicLevelBytes(
+                        conf.getBoolean("level-compaction-dynamic-level-bytes"))
+                .setCompressionType(conf.getEnum(CompressionType.class, "compression"))
+                .setBottommostCompressionType(
+                        conf.getEnum(CompressionType.class, "bottommost-compression"))
+                .setWriteBufferSize(conf.getBytes("write-buffer-size"))
+                .setMaxWriteBufferNumber(conf.getInt("max-write-buffer-number"))
+                .setTargetFileSizeBase(conf.getBytes("target-file-size-base"))
+                .setTableFormatConfig(tableConfig);
+        return opts;
+    }
+
+    /**
+     * Build {@link ReadOptions} from the {@code read-options} block.
+     *
+     * @param config
+     * @return
+     */
+    public static ReadOptions buildReadOptions(Config config) {
+        Config conf = withDefaults(config).getConfig("read-options");
+        ReadOptions opts = new ReadOptions();
+        opts.setTailing(conf.getBoolean("tailing"))
+                .setBackgroundPurgeOnIteratorCleanup(
+                        conf.getBoolean("background-purge-on-iterator-cleanup"))
+                .setVerifyChecksums(conf.getBoolean("verify-checksums"))
+                .setFillCache(conf.getBoolean("fill-cache"));
+        return opts;
+    }
+
+    /**
+     * Build {@link WriteOptions} from the {@code write-options} block.
+     *
+     * @param config
+     * @return
+     */
+    public static WriteOptions buildWriteOptions(Config config) {
+        Config conf = withDefaults(config).getConfig("write-options");
+        WriteOptions opts = new WriteOptions();
+        opts.setDisableWAL(conf.getBoolean("disable-wal")).setSync(conf.getBoolean("sync"));
+        return opts;
+    }
+
+    /**
+     * Names of the column families to open: "default", the configured ones and the ones already
+     * present in the data directory.
+     *
+     * @param config
+     * @return
+     * @throws RocksDBException
+     */
+    public static Set<String> getColumnFamilyNames(Config config) throws RocksDBException {
+        Config conf = withDefaults(config);
+        Set<String> result = new LinkedHashSet<>();
+        result.add(RocksDbWrapper.DEFAULT_COLUMN_FAMILY);
+        result.addAll(conf.getConfig("column-families").root().keySet());
+        File directory = new File(conf.getString("directory"));
+        if (new File(directory, "CURRENT").isFile()) {
+            for (String cfName : RocksDbUtils.getColumnFamilyList(directory.getAbsolutePath())) {
+                result.add(cfName);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Open a {@link RocksDbWrapper} configured by a config block. All RocksDB objects built from
+     * the config are owned by the wrapper, and closed when it is destroyed.
+     *
+     * @param config
+     * @return
+     * @throws RocksDbException
+     * @throws IOException
+     */
+    public static RocksDbWrapper open(Config config) throws RocksDbException, IOException {
+        Config conf = withDefaults(config);
+        List<RocksObject> resources = new ArrayList<>();
+        RocksDbWrapper rocksDbWrapper = null;
+        try {
+            RateLimiter rateLimiter = buildRateLimiter(conf);
+            Cache blockCache = buildBlockCache(conf);
+            DBOptions dbOptions = buildDbOptions(conf, rateLimiter);
+            ReadOptions readOptions = buildReadOptions(conf);
+            WriteOptions writeOptions = buildWriteOptions(conf);
+            resources.add(dbOptions);
+            resources.add(readOptions);
+            resources.add(writeOptions);
+            List<ColumnFamilyDescriptor> columnFamilies = new ArrayList<>();
+            List<RocksObject> cfResources = new ArrayList<>();
+            try {
+                for (String cfName : getColumnFamilyNames(conf)) {
+                    ColumnFamilyOptions cfOptions = buildColumnFamilyOptions(conf, cfName,
+                            blockCache, cfResources);
+                    resources.add(cfOptions);
+                    columnFamilies.add(
+                            RocksDbUtils.buildColumnFamilyDescriptor(cfOptions, cfName));
+                }
+            } finally {
+                // closed after the options referencing them
+                resources.addAll(cfResources);
+            }
+            if (blockCache != null) {
+                resources.add(blockCache);
+            }
+            if (rateLimiter != null) {
+                resources.add(rateLimiter);
+            }
+
+            boolean readOnly = conf.getBoolean("read-only");
+            rocksDbWrapper = new RocksDbWrapper(conf.getString("directory"), readOnly);
+            rocksDbWrapper.setDbOptions(dbOptions).setReadOptions(readOptions)
+                    .setWriteOptions(writeOptions).setColumnFamilies(columnFamilies);
+            resources.forEach(rocksDbWrapper::closeOnDestroy);
+            return rocksDbWrapper.init();
+        } catch (RocksDBException e) {
+            cleanup(rocksDbWrapper, resources);
+            throw new RocksDbException(e);
+        } catch (IOException | RuntimeException e) {
+            cleanup(rocksDbWrapper, resources);
+            throw e;
+        }
+    }
+
+    private static void cleanup(RocksDbWrapper rocksDbWrapper, List<RocksObject> resources) {
+        if (rocksDbWrapper != null) {
+            // also closes the resources
+            rocksDbWrapper.destroy();
+        } else {
+            RocksDbUtils.closeRocksObjects(resources.toArray(new RocksObject[0]));
+        }
+    }
+}
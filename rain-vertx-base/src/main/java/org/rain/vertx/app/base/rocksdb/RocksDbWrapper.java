@@ -211,6 +211,7 @@ public class RocksDbWrapper implements AutoCloseable {
     private Set<String> columnFamilyNames = new HashSet<>();
     private Map<String, ColumnFamilyHandle> columnFamilyHandles = new HashMap<>();
     private Map<String, RocksIterator> iterators = new HashMap<>();
+    private List<AutoCloseable> ownedResources = new ArrayList<>();
 
     /**
      * Construct a new {@link RocksDbWrapper} object.
@@ -297,6 +298,20 @@ public class RocksDbWrapper implements AutoCloseable {
         return writeOptions;
     }
 
+    /**
+     * Close a resource (e.g. options, block cache or rate limiter the database depends on) when
+     * this wrapper is destroyed, after the database itself. Resources are closed in the order they
+     * were added.
+     *
+     * @param resource
+     * @return
+     * @since 1.0.0
+     */
+    synchronized public RocksDbWrapper closeOnDestroy(AutoCloseable resource) {
+        ownedResources.add(resource);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -332,6 +347,15 @@ public class RocksDbWrapper implements AutoCloseable {
         }
 
         RocksDbUtils.closeRocksObjects(rocksDb);
+
+        for (AutoCloseable resource : ownedResources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn(e.getMessage(), e);
+            }
+        }
+        ownedResources.clear();
     }
 
     private boolean inited = false;
@@ -0,0 +1,423 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.util.Collection;
+
+import org.xerial.snappy.Snappy;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * Decorator that compresses the output of another {@link ISerDeser}.
+ *
+ * <p>
+ * Only payloads larger than {@link #getThreshold()} bytes are compressed, smaller ones are stored
+ * as-is. Output format:
+ * </p>
+ * <ul>
+ * <li>Uncompressed: {@code <1-byte:0><payload>}</li>
+ * <li>Compressed: {@code <1-byte:algorithm-id><4-byte:original-length><compressed-payload>}</li>
+ * </ul>
+ *
+ * <p>
+ * The algorithm is read back from the header, so data compressed with different algorithms (or
+ * not compressed at all) can be mixed. Reading data compressed with a Zstd dictionary requires the
+ * same dictionary to be set.
+ * </p>
+ *
+ * <p>
+ * The original length read from the header is not trusted: payloads claiming to decompress to
+ * more than {@link #getMaxDecompressedSize()} bytes are rejected before any buffer is allocated,
+ * and payloads that do not decompress to exactly the original length are rejected.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class CompressingSerDeser implements ISerDeser {
+    /**
+     * Supported compression algorithms.
+     */
+    public enum Algorithm {
+        NONE(0), LZ4(1), ZSTD(2), SNAPPY(3),
+        /**
+         * Zstd with a trained dictionary, see {@link #setZstdDictionary(byte[])}.
+         */
+        ZSTD_DICT(4);
+
+        private final byte id;
+
+        Algorithm(int id) {
+            this.id = (byte) id;
+        }
+
+        public byte getId() {
+            return id;
+        }
+
+        public static Algorithm fromId(byte id) {
+            for (Algorithm alg : values()) {
+                if (alg.id == id) {
+                    return alg;
+                }
+            }
+            return null;
+        }
+    }
+
+    public final static int DEFAULT_THRESHOLD = 1024;
+    public final static int DEFAULT_ZSTD_LEVEL = 3;
+    public final static int DEFAULT_MAX_DECOMPRESSED_SIZE = 64 * 1024 * 1024;
+
+    private final static int HEADER_SIZE = 5;
+    private final static LZ4Compressor lz4Compressor = LZ4Factory.fastestInstance()
+            .fastCompressor();
+    private final static LZ4SafeDecompressor lz4Decompressor = LZ4Factory.fastestInstance()
+            .safeDecompressor();
+
+    private final ISerDeser delegate;
+    private volatile Algorithm algorithm = Algorithm.LZ4;
+    private volatile int threshold = DEFAULT_THRESHOLD;
+    private volatile int zstdLevel = DEFAULT_ZSTD_LEVEL;
+    private volatile int maxDecompressedSize = DEFAULT_MAX_DECOMPRESSED_SIZE;
+    private volatile ZstdDictCompress zstdDictCompress;
+    private volatile ZstdDictDecompress zstdDictDecompress;
+
+    public CompressingSerDeser(ISerDeser delegate) {
+        this(delegate, Algorithm.LZ4, DEFAULT_THRESHOLD);
+    }
+
+    public CompressingSerDeser(ISerDeser delegate, Algorithm algorithm) {
+        this(delegate, algorithm, DEFAULT_THRESHOLD);
+    }
+
+    public CompressingSerDeser(ISerDeser delegate, Algorithm algorithm, int threshold) {
+        if (delegate == null) {
+            throw new NullPointerException("Delegate ISerDeser is null!");
+        }
+        this.delegate = delegate;
+        setAlgorithm(algorithm);
+        setThreshold(threshold);
+    }
+
+    public ISerDeser getDelegate() {
+        return delegate;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Algorithm used to compress payloads. {@link Algorithm#ZSTD_DICT} is selected automatically
+     * by {@link #setZstdDictionary(byte[])}.
+     *
+     * @param algorithm
+     * @return
+     */
+    public CompressingSerDeser setAlgorithm(Algorithm algorithm) {
+        if (algorithm == Algorithm.ZSTD_DICT && zstdDictCompress == null) {
+            throw new IllegalStateException("No Zstd dictionary has been set!");
+        }
+        this.algorithm = algorithm != null ? algorithm : Algorithm.NONE;
+        return this;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Payloads whose serialized size is not greater than this value (in bytes) are stored
+     * uncompressed.
+     *
+     * @param threshold
+     * @return
+     */
+    public CompressingSerDeser setThreshold(int threshold) {
+        this.threshold = Math.max(0, threshold);
+        return this;
+    }
+
+    public int getZstdLevel() {
+        return zstdLevel;
+    }
+
+    /**
+     * Zstd compression level (default {@link #DEFAULT_ZSTD_LEVEL}). Must be set before
+     * {@link #setZstdDictionary(byte[])} to take effect for dictionary compression.
+     *
+     * @param zstdLevel
+     * @return
+     */
+    public CompressingSerDeser setZstdLevel(int zstdLevel) {
+        this.zstdLevel = zstdLevel;
+        return this;
+    }
+
+    public int getMaxDecompressedSize() {
+        return maxDecompressedSize;
+    }
+
+    /**
+     * Max size (in bytes) of a decompressed payload (default
+     * {@link #DEFAULT_MAX_DECOMPRESSED_SIZE}). Larger payloads are rejected by
+     * {@link #decompress(byte[])}.
+     *
+     * @param maxDecompressedSize
+     * @return
+     */
+    public CompressingSerDeser setMaxDecompressedSize(int maxDecompressedSize) {
+        if (maxDecompressedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Max decompressed size must not be negative: " + maxDecompressedSize);
+        }
+        this.maxDecompressedSize = maxDecompressedSize;
+        return this;
+    }
+
+    /**
+     * Use a trained Zstd dictionary (see {@link #trainZstdDictionary(Collection, int)}) and switch
+     * algorithm to {@link Algorithm#ZSTD_DICT}.
+     *
+     * @param dictionary
+     * @return
+     */
+    synchronized public CompressingSerDeser setZstdDictionary(byte[] dictionary) {
+        if (dictionary == null) {
+            throw new NullPointerException("Dictionary is null!");
+        }
+        // old dictionaries may still be in use by other threads, they are released by GC
+        zstdDictCompress = new ZstdDictCompress(dictionary, zstdLevel);
+        zstdDictDecompress = new ZstdDictDecompress(dictionary);
+        algorithm = Algorithm.ZSTD_DICT;
+        return this;
+    }
+
+    /**
+     * Train a Zstd dictionary from sample objects, serialized with the delegate {@link ISerDeser}.
+     *
+     * @param samples
+     * @param dictSize max size of the dictionary, in bytes
+     * @return
+     */
+    public byte[] trainZstdDictionary(Collection<?> samples, int dictSize) {
+        byte[][] serialized = new byte[samples.size()][];
+        int totalSize = 0, i = 0;
+        for (Object sample : samples) {
+            byte[] data = delegate.toBytes(sample);
+            serialized[i++] = data;
+            totalSize += data != null ? data.length : 0;
+        }
+        ZstdDictTrainer trainer = new ZstdDictTrainer(totalSize, dictSize);
+        for (byte[] data : serialized) {
+            if (data != null) {
+                trainer.addSample(data);
+            }
+        }
+        return trainer.trainSamples();
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] toBytes(Object obj) throws SerializationException {
+        return toBytes(obj, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] toBytes(Object obj, ClassLoader classLoader) throws SerializationException {
+        byte[] data = delegate.toBytes(obj, classLoader);
+        return data != null ? compress(data) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T fromBytes(byte[] data, Class<T> clazz) throws DeserializationException {
+        return fromBytes(data, clazz, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T fromBytes(byte[] data, Class<T> clazz, ClassLoader classLoader)
+            throws DeserializationException {
+        return data != null ? delegate.fromBytes(decompress(data), clazz, classLoader) : null;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Compress a payload, prefixing it with the header.
+     *
+     * @param data
+     * @return
+     */
+    public byte[] compress(byte[] data) throws SerializationException {
+        Algorithm alg = algorithm;
+        if (alg == Algorithm.NONE || data.length <= threshold) {
+            return storeUncompressed(data);
+        }
+        byte[] buffer;
+        int compressedLength;
+        try {
+            switch (alg) {
+                case LZ4:
+                    buffer = new byte[HEADER_SIZE + lz4Compressor.maxCompressedLength(data.length)];
+                    compressedLength = lz4Compressor.compress(data, 0, data.length, buffer,
+                            HEADER_SIZE, buffer.length - HEADER_SIZE);
+                    break;
+                case ZSTD: {
+                    buffer = new byte[HEADER_SIZE + (int) Zstd.compressBound(data.length)];
+                    long result = Zstd.compressByteArray(buffer, HEADER_SIZE,
+                            buffer.length - HEADER_SIZE, data, 0, data.length, zstdLevel);
+                    compressedLength = (int) checkZstdResult(result);
+                    break;
+                }
+                case ZSTD_DICT: {
+                    buffer = new byte[HEADER_SIZE + (int) Zstd.compressBound(data.length)];
+                    long result = Zstd.compressFastDict(buffer, HEADER_SIZE, data, 0, data.length,
+                            zstdDictCompress);
+                    compressedLength = (int) checkZstdResult(result);
+                    break;
+                }
+                case SNAPPY:
+                    buffer = new byte[HEADER_SIZE + Snappy.maxCompressedLength(data.length)];
+                    compressedLength = Snappy.compress(data, 0, data.length, buffer, HEADER_SIZE);
+                    break;
+                default:
+                    throw new SerializationException("Unsupported compression algorithm: " + alg);
+            }
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException(e);
+        }
+        if (compressedLength >= data.length) {
+            // compression does not pay off
+            return storeUncompressed(data);
+        }
+        buffer[0] = alg.id;
+        writeInt(buffer, 1, data.length);
+        byte[] result = new byte[HEADER_SIZE + compressedLength];
+        System.arraycopy(buffer, 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Decompress a payload previously produced by {@link #compress(byte[])}.
+     *
+     * @param data
+     * @return
+     * @throws DeserializationException if the header is invalid, the original length exceeds
+     * {@link #getMaxDecompressedSize()} or does not match the decompressed payload
+     */
+    public byte[] decompress(byte[] data) throws DeserializationException {
+        if (data.length == 0) {
+            throw new DeserializationException("Invalid data: missing compression header!");
+        }
+        Algorithm alg = Algorithm.fromId(data[0]);
+        if (alg == null) {
+            throw new DeserializationException("Unknown compression algorithm id: " + data[0]);
+        }
+        if (alg == Algorithm.NONE) {
+            byte[] result = new byte[data.length - 1];
+            System.arraycopy(data, 1, result, 0, result.length);
+            return result;
+        }
+        if (data.length < HEADER_SIZE) {
+            throw new DeserializationException("Invalid data: truncated compression header!");
+        }
+        int originalLength = readInt(data, 1);
+        if (originalLength < 0) {
+            throw new DeserializationException("Invalid original length: " + originalLength);
+        }
+        if (originalLength > maxDecompressedSize) {
+            throw new DeserializationException("Original length " + originalLength
+                    + " exceeds the max decompressed size " + maxDecompressedSize + "!");
+        }
+        byte[] result = new byte[originalLength];
+        try {
+            switch (alg) {
+                case LZ4:
+                    checkDecompressedLength(lz4Decompressor.decompress(data, HEADER_SIZE,
+                            data.length - HEADER_SIZE, result, 0), originalLength);
+                    break;
+                case ZSTD:
+                    checkDecompressedLength(checkZstdResult(Zstd.decompressByteArray(result, 0,
+                            originalLength, data, HEADER_SIZE, data.length - HEADER_SIZE)),
+                            originalLength);
+                    break;
+                case ZSTD_DICT:
+                    if (zstdDictDecompress == null) {
+                        throw new DeserializationException(
+                                "Data was compressed with a Zstd dictionary, but none has been set!");
+                    }
+                    checkDecompressedLength(checkZstdResult(Zstd.decompressFastDict(result, 0,
+                            data, HEADER_SIZE, data.length - HEADER_SIZE, zstdDictDecompress)),
+                            originalLength);
+                    break;
+                case SNAPPY:
+                    checkDecompressedLength(Snappy.uncompressedLength(data, HEADER_SIZE,
+                            data.length - HEADER_SIZE), originalLength);
+                    Snappy.uncompress(data, HEADER_SIZE, data.length - HEADER_SIZE, result, 0);
+                    break;
+                default:
+                    throw new DeserializationException("Unsupported compression algorithm: " + alg);
+            }
+        } catch (DeserializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DeserializationException(e);
+        }
+        return result;
+    }
+
+    private static byte[] storeUncompressed(byte[] data) {
+        byte[] result = new byte[data.length + 1];
+        result[0] = Algorithm.NONE.id;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return result;
+    }
+
+    private static long checkZstdResult(long result) {
+        if (Zstd.isError(result)) {
+            throw new SerDeserException("Zstd error: " + Zstd.getErrorName(result));
+        }
+        return result;
+    }
+
+    private static void checkDecompressedLength(long actual, int originalLength)
+            throws DeserializationException {
+        if (actual != originalLength) {
+            throw new DeserializationException("Decompressed length " + actual
+                    + " does not match the original length " + originalLength + "!");
+        }
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] buffer, int offset) {
+        return ((buffer[offset] & 0xFF) << 24) | ((buffer[offset + 1] & 0xFF) << 16)
+                | ((buffer[offset + 2] & 0xFF) << 8) | (buffer[offset + 3] & 0xFF);
+    }
+}
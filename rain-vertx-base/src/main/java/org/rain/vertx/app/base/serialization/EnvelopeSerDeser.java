@@ -0,0 +1,357 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link ISerDeser} that wraps serialized data in a small self-describing envelope, so that data
+ * written by different codecs can be mixed in the same store.
+ *
+ * <p>
+ * Envelope format:
+ * <pre>
+ * [magic: 1 byte][format version (high 4 bits) | flags (low 4 bits): 1 byte][codec id: 1 byte]
+ * [schema version: 2 bytes, big-endian][header check: 2 bytes, big-endian]
+ * [CRC32C of payload: 4 bytes, big-endian, optional][payload]
+ * </pre>
+ * The header check is the low 16 bits of the CRC32C of the first 5 bytes.
+ * </p>
+ *
+ * <p>
+ * On read, the codec id is resolved via a {@link SerDeserRegistry} and the payload is handed to that
+ * codec, regardless of which codec this instance writes with. Data without an envelope (i.e. written
+ * before the envelope was introduced) is rejected, unless a legacy codec is configured (opt-in, see
+ * {@link #setLegacySerDeser(ISerDeser)}): it is then passed to that codec, which allows a store to be
+ * migrated to another codec gradually. Data is only taken for an envelope if its magic, version and
+ * header check all match, so that legacy data is misrouted with a probability of about
+ * {@code 2^-28} (for random bytes) instead of {@code 2^-12} with magic and version only.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class EnvelopeSerDeser implements ISerDeser {
+    /**
+     * First byte of every envelope.
+     */
+    public final static byte MAGIC = (byte) 0xE5;
+
+    /**
+     * Current envelope format version.
+     */
+    public final static int FORMAT_VERSION = 2;
+
+    private final static int FLAG_CHECKSUM = 0x01;
+    /* bytes covered by the header check */
+    private final static int HEADER_CHECKED_SIZE = 5;
+    private final static int HEADER_SIZE = HEADER_CHECKED_SIZE + 2;
+    private final static int CHECKSUM_SIZE = 4;
+
+    /**
+     * Envelope header, as parsed by {@link #parseHeader(byte[])}.
+     */
+    public static class Header {
+        private final int codecId;
+        private final int schemaVersion;
+        private final boolean checksumPresent;
+        private final long checksum;
+        private final int payloadOffset;
+
+        private Header(int codecId, int schemaVersion, boolean checksumPresent, long checksum,
+                int payloadOffset) {
+            this.codecId = codecId;
+            this.schemaVersion = schemaVersion;
+            this.checksumPresent = checksumPresent;
+            this.checksum = checksum;
+            this.payloadOffset = payloadOffset;
+        }
+
+        public int getCodecId() {
+            return codecId;
+        }
+
+        public int getSchemaVersion() {
+            return schemaVersion;
+        }
+
+        public boolean isChecksumPresent() {
+            return checksumPresent;
+        }
+
+        /**
+         * CRC32C of the payload, {@code 0} if {@link #isChecksumPresent()} is {@code false}.
+         *
+         * @return
+         */
+        public long getChecksum() {
+            return checksum;
+        }
+
+        public int getPayloadOffset() {
+            return payloadOffset;
+        }
+    }
+
+    /**
+     * Parse the envelope header of serialized data.
+     *
+     * @param data
+     * @return {@code null} if the data is not wrapped in an envelope
+     */
+    public static Header parseHeader(byte[] data) {
+        if (data == null || data.length < HEADER_SIZE || data[0] != MAGIC
+                || ((data[1] & 0xFF) >>> 4) != FORMAT_VERSION || data[2] == 0
+                || headerCheck(data) != (((data[5] & 0xFF) << 8) | (data[6] & 0xFF))) {
+            return null;
+        }
+        int flags = data[1] & 0x0F;
+        int codecId = data[2] & 0xFF;
+        int schemaVersion = ((data[3] & 0xFF) << 8) | (data[4] & 0xFF);
+        if ((flags & FLAG_CHECKSUM) == 0) {
+            return new Header(codecId, schemaVersion, false, 0, HEADER_SIZE);
+        }
+        if (data.length < HEADER_SIZE + CHECKSUM_SIZE) {
+            return null;
+        }
+        long checksum = ((long) (data[7] & 0xFF) << 24) | ((data[8] & 0xFF) << 16)
+                | ((data[9] & 0xFF) << 8) | (data[10] & 0xFF);
+        return new Header(codecId, schemaVersion, true, checksum, HEADER_SIZE + CHECKSUM_SIZE);
+    }
+
+    /**
+     * Check if serialized data is wrapped in an envelope.
+     *
+     * @param data
+     * @return
+     */
+    public static boolean isEnvelope(byte[] data) {
+        return parseHeader(data) != null;
+    }
+
+    private static long crc32c(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return crc.getValue();
+    }
+
+    private static int headerCheck(byte[] data) {
+        return (int) (crc32c(data, 0, HEADER_CHECKED_SIZE) & 0xFFFF);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Codec used to write, along with its id: both are published together so that data is never
+     * encoded with one codec and stamped with another codec's id.
+     */
+    private static class WriteCodec {
+        private final int codecId;
+        private final ISerDeser codec;
+
+        private WriteCodec(int codecId, ISerDeser codec) {
+            this.codecId = codecId;
+            this.codec = codec;
+        }
+    }
+
+    private final SerDeserRegistry registry;
+    private volatile WriteCodec writeCodec;
+    private volatile int schemaVersion = 0;
+    private volatile boolean checksumEnabled = false;
+    private volatile ISerDeser legacySerDeser;
+
+    /**
+     * Write with the specified built-in codec, using the default registry.
+     *
+     * @param codec
+     */
+    public EnvelopeSerDeser(SerDeserCodec codec) {
+        this(SerDeserRegistry.getDefault(), codec.getCodecId());
+    }
+
+    /**
+     * Write with the codec registered under the specified id.
+     *
+     * @param registry
+     * @param codecId
+     */
+    public EnvelopeSerDeser(SerDeserRegistry registry, int codecId) {
+        this.registry = registry;
+        setCodecId(codecId);
+    }
+
+    public SerDeserRegistry getRegistry() {
+        return registry;
+    }
+
+    public int getCodecId() {
+        return writeCodec.codecId;
+    }
+
+    /**
+     * Codec used to write new data. Data written by any other registered codec can still be read.
+     *
+     * @param codecId
+     * @return
+     */
+    public EnvelopeSerDeser setCodecId(int codecId) {
+        ISerDeser codec = registry.get(codecId);
+        if (codec == null) {
+            throw new IllegalArgumentException("Codec id [" + codecId + "] is not registered!");
+        }
+        this.writeCodec = new WriteCodec(codecId, codec);
+        return this;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /**
+     * Application-defined schema version, written into the envelope of new data (range
+     * {@code [0, 65535]}). Readers can inspect it via {@link #parseHeader(byte[])}.
+     *
+     * @param schemaVersion
+     * @return
+     */
+    public EnvelopeSerDeser setSchemaVersion(int schemaVersion) {
+        if (schemaVersion < 0 || schemaVersion > 0xFFFF) {
+            throw new IllegalArgumentException(
+                    "Schema version must be in range [0, 65535], got [" + schemaVersion + "]!");
+        }
+        this.schemaVersion = schemaVersion;
+        return this;
+    }
+
+    public boolean isChecksumEnabled() {
+        return checksumEnabled;
+    }
+
+    /**
+     * If enabled, a CRC32C checksum of the payload is written into the envelope of new data. A
+     * checksum present in data being read is always verified.
+     *
+     * @param checksumEnabled
+     * @return
+     */
+    public EnvelopeSerDeser setChecksumEnabled(boolean checksumEnabled) {
+        this.checksumEnabled = checksumEnabled;
+        return this;
+    }
+
+    public ISerDeser getLegacySerDeser() {
+        return legacySerDeser;
+    }
+
+    /**
+     * Codec used to read data not wrapped in an envelope. If {@code null} (the default), such data
+     * is rejected.
+     *
+     * @param legacySerDeser
+     * @return
+     */
+    public EnvelopeSerDeser setLegacySerDeser(ISerDeser legacySerDeser) {
+        this.legacySerDeser = legacySerDeser;
+        return this;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private byte[] wrap(int codecId, byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        boolean checksum = checksumEnabled;
+        int headerSize = checksum ? HEADER_SIZE + CHECKSUM_SIZE : HEADER_SIZE;
+        byte[] result = new byte[headerSize + payload.length];
+        int schemaVersion = this.schemaVersion;
+        result[0] = MAGIC;
+        result[1] = (byte) ((FORMAT_VERSION << 4) | (checksum ? FLAG_CHECKSUM : 0));
+        result[2] = (byte) codecId;
+        result[3] = (byte) (schemaVersion >>> 8);
+        result[4] = (byte) schemaVersion;
+        int headerCheck = headerCheck(result);
+        result[5] = (byte) (headerCheck >>> 8);
+        result[6] = (byte) headerCheck;
+        if (checksum) {
+            long crc = crc32c(payload, 0, payload.length);
+            result[7] = (byte) (crc >>> 24);
+            result[8] = (byte) (crc >>> 16);
+            result[9] = (byte) (crc >>> 8);
+            result[10] = (byte) crc;
+        }
+        System.arraycopy(payload, 0, result, headerSize, payload.length);
+        return result;
+    }
+
+    /**
+     * Resolve the codec and payload of serialized data.
+     *
+     * @param data
+     * @return {@code [codec, payload]}
+     */
+    private Object[] unwrap(byte[] data) {
+        Header header = parseHeader(data);
+        if (header == null) {
+            if (legacySerDeser == null) {
+                throw new DeserializationException(
+                        "Data is not wrapped in an envelope and no legacy codec was configured!");
+            }
+            return new Object[] { legacySerDeser, data };
+        }
+        ISerDeser codec = registry.get(header.getCodecId());
+        if (codec == null) {
+            throw new DeserializationException(
+                    "Codec id [" + header.getCodecId() + "] is not registered!");
+        }
+        int offset = header.getPayloadOffset();
+        if (header.isChecksumPresent()
+                && crc32c(data, offset, data.length - offset) != header.getChecksum()) {
+            throw new DeserializationException("Checksum mismatch, data is corrupted!");
+        }
+        return new Object[] { codec, Arrays.copyOfRange(data, offset, data.length) };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] toBytes(Object obj) throws SerializationException {
+        WriteCodec writeCodec = this.writeCodec;
+        return wrap(writeCodec.codecId, writeCodec.codec.toBytes(obj));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] toBytes(Object obj, ClassLoader classLoader) throws SerializationException {
+        WriteCodec writeCodec = this.writeCodec;
+        return wrap(writeCodec.codecId, writeCodec.codec.toBytes(obj, classLoader));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T fromBytes(byte[] data, Class<T> clazz) throws DeserializationException {
+        if (data == null) {
+            return null;
+        }
+        Object[] codecAndPayload = unwrap(data);
+        return ((ISerDeser) codecAndPayload[0]).fromBytes((byte[]) codecAndPayload[1], clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T fromBytes(byte[] data, Class<T> clazz, ClassLoader classLoader)
+            throws DeserializationException {
+        if (data == null) {
+            return null;
+        }
+        Object[] codecAndPayload = unwrap(data);
+        return ((ISerDeser) codecAndPayload[0]).fromBytes((byte[]) codecAndPayload[1], clazz,
+                classLoader);
+    }
+}
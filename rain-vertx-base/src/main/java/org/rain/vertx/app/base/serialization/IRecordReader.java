@@ -0,0 +1,49 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Reads a stream of records written by an {@link IRecordWriter} of the same codec, see
+ * {@link ISerDeser#newRecordReader(java.io.InputStream, Class)}.
+ *
+ * <p>
+ * Closing the reader closes the underlying stream.
+ * </p>
+ *
+ * @param <T>
+ * @since 1.0.0
+ */
+public interface IRecordReader<T> extends Iterator<T>, Closeable {
+    /**
+     * Default max size (in bytes) of a record, see
+     * {@link ISerDeser#newRecordReader(java.io.InputStream, Class, int)}.
+     *
+     * @since 1.0.0
+     */
+    public final static int DEFAULT_MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DeserializationException
+     */
+    @Override
+    public boolean hasNext() throws DeserializationException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DeserializationException
+     */
+    @Override
+    public T next() throws DeserializationException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DeserializationException
+     */
+    @Override
+    public void close() throws DeserializationException;
+}
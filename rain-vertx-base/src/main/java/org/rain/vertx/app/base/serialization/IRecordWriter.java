@@ -0,0 +1,37 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.io.Closeable;
+
+/**
+ * Writes a stream of serialized records, see {@link ISerDeser#newRecordWriter(java.io.OutputStream)}.
+ *
+ * <p>
+ * Closing the writer flushes pending data and closes the underlying stream.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public interface IRecordWriter extends Closeable {
+    /**
+     * Write a record ({@code null} is allowed).
+     *
+     * @param obj
+     * @throws SerializationException
+     */
+    public void write(Object obj) throws SerializationException;
+
+    /**
+     * Flush buffered records to the underlying stream.
+     *
+     * @throws SerializationException
+     */
+    public void flush() throws SerializationException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws SerializationException
+     */
+    @Override
+    public void close() throws SerializationException;
+}
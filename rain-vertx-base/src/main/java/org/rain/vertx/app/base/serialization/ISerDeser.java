@@ -1,5 +1,13 @@
 package org.rain.vertx.app.base.serialization;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rain.vertx.app.base.serialization.binary.BinaryReader;
+import org.rain.vertx.app.base.serialization.binary.BinaryWriter;
+
 /**
  * Serializer/Deserializer interface.
  *
@@ -46,4 +54,106 @@ public interface ISerDeser {
      */
     public <T> T fromBytes(byte[] data, Class<T> clazz, ClassLoader classLoader)
             throws DeserializationException;
-}
\ No newline at end of file
+
+    /**
+     * Serialize a list of objects into one byte array.
+     *
+     * <p>
+     * The default implementation serializes elements one by one and concatenates them, each
+     * prefixed by its length. Implementations may override it to share state (e.g. class
+     * metadata) between elements. Data must be read back with {@link #fromBytesBatch(byte[],
+     * Class)} of the same implementation.
+     * </p>
+     *
+     * @param objs
+     * @return
+     * @throws SerializationException
+     * @since 1.0.0
+     */
+    public default byte[] toBytesBatch(List<?> objs) throws SerializationException {
+        if (objs == null) {
+            return null;
+        }
+        BinaryWriter out = new BinaryWriter(objs.size() * 32 + 8);
+        out.writeVarInt(objs.size());
+        for (Object obj : objs) {
+            out.writeBytes(obj != null ? toBytes(obj) : null);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserialize a list of objects written by {@link #toBytesBatch(List)}.
+     *
+     * @param data
+     * @param clazz
+     * @return
+     * @throws DeserializationException
+     * @since 1.0.0
+     */
+    public default <T> List<T> fromBytesBatch(byte[] data, Class<T> clazz)
+            throws DeserializationException {
+        if (data == null) {
+            return null;
+        }
+        BinaryReader in = new BinaryReader(data);
+        int size = in.readVarInt();
+        List<T> result = new ArrayList<>(Math.min(size, data.length));
+        for (int i = 0; i < size; i++) {
+            byte[] element = in.readBytes();
+            result.add(element != null ? fromBytes(element, clazz) : null);
+        }
+        return result;
+    }
+
+    /**
+     * Create a writer that serializes a stream of records to an {@link OutputStream}.
+     *
+     * <p>
+     * The default implementation writes each record length-prefixed. Records must be read back
+     * with {@link #newRecordReader(InputStream, Class)} of the same implementation.
+     * </p>
+     *
+     * @param out
+     * @return
+     * @since 1.0.0
+     */
+    public default IRecordWriter newRecordWriter(OutputStream out) {
+        return new LengthPrefixedRecordWriter(this, out);
+    }
+
+    /**
+     * Create a reader that deserializes a stream of records written by
+     * {@link #newRecordWriter(OutputStream)}, records larger than
+     * {@link IRecordReader#DEFAULT_MAX_RECORD_SIZE} are rejected.
+     *
+     * @param in
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    public default <T> IRecordReader<T> newRecordReader(InputStream in, Class<T> clazz) {
+        return newRecordReader(in, clazz, IRecordReader.DEFAULT_MAX_RECORD_SIZE);
+    }
+
+    /**
+     * Create a reader that deserializes a stream of records written by
+     * {@link #newRecordWriter(OutputStream)}.
+     *
+     * <p>
+     * The default implementation reads length-prefixed records: a record whose length exceeds
+     * {@code maxRecordSize} is rejected with a {@link DeserializationException} before any buffer
+     * is allocated.
+     * </p>
+     *
+     * @param in
+     * @param clazz
+     * @param maxRecordSize max size (in bytes) of a serialized record
+     * @return
+     * @since 1.0.0
+     */
+    public default <T> IRecordReader<T> newRecordReader(InputStream in, Class<T> clazz,
+                                                        int maxRecordSize) {
+        return new LengthPrefixedRecordReader<>(this, in, clazz, maxRecordSize);
+    }
+}
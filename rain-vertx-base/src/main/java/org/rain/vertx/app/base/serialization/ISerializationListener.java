@@ -0,0 +1,50 @@
+package org.rain.vertx.app.base.serialization;
+
+/**
+ * Instrumentation hook, notified of every serialization/deserialization done by
+ * {@link org.rain.vertx.app.base.utils.SerializationUtils} (see
+ * {@link org.rain.vertx.app.base.utils.SerializationUtils#setListener(ISerializationListener)}).
+ *
+ * <p>
+ * Callbacks are invoked on the serializing thread, implementations must be thread-safe and fast.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public interface ISerializationListener {
+    /**
+     * An object has been serialized.
+     *
+     * @param codec         codec name, e.g. {@code "kryo"}
+     * @param clazz         class of the serialized object
+     * @param size          serialized size, in bytes (UTF-8 encoded length for JSON text), 0 if
+     *                      there is no serialized form or its size is unknown (e.g. JSON read
+     *                      from a stream)
+     * @param durationNanos
+     */
+    public void onSerialize(String codec, Class<?> clazz, int size, long durationNanos);
+
+    /**
+     * An object has been deserialized.
+     *
+     * @param codec         codec name, e.g. {@code "kryo"}
+     * @param clazz         requested class
+     * @param size          serialized size, in bytes (UTF-8 encoded length for JSON text), 0 if
+     *                      there is no serialized form or its size is unknown (e.g. JSON read
+     *                      from a stream)
+     * @param durationNanos
+     */
+    public void onDeserialize(String codec, Class<?> clazz, int size, long durationNanos);
+
+    /**
+     * Serialization or deserialization failed.
+     *
+     * @param codec
+     * @param clazz
+     * @param serialization {@code true} if serializing, {@code false} if deserializing
+     * @param error
+     */
+    public default void onError(String codec, Class<?> clazz, boolean serialization,
+                                Throwable error) {
+    }
+}
@@ -1,5 +1,9 @@
 package org.rain.vertx.app.base.serialization;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
 import org.rain.vertx.app.base.utils.SerializationUtils;
 
 /**
@@ -42,4 +46,59 @@ public class KryoSerDeser implements ISerDeser {
             throws DeserializationException {
         return SerializationUtils.fromByteArrayKryo(data, clazz, classLoader);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Elements share one Kryo instance and output buffer, class metadata is written once per
+     * batch.
+     * </p>
+     *
+     * @since 1.0.0
+     */
+    @Override
+    public byte[] toBytesBatch(List<?> objs) throws SerializationException {
+        return SerializationUtils.toByteArrayKryoBatch(objs, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.0.0
+     */
+    @Override
+    public <T> List<T> fromBytesBatch(byte[] data, Class<T> clazz)
+            throws DeserializationException {
+        return SerializationUtils.fromByteArrayKryoBatch(data, clazz, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Class metadata is shared by all records of the stream.
+     * </p>
+     *
+     * @since 1.0.0
+     */
+    @Override
+    public IRecordWriter newRecordWriter(OutputStream out) {
+        return SerializationUtils.newKryoRecordWriter(out, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Kryo records are not length-prefixed, {@code maxRecordSize} is not used.
+     * </p>
+     *
+     * @since 1.0.0
+     */
+    @Override
+    public <T> IRecordReader<T> newRecordReader(InputStream in, Class<T> clazz,
+                                                int maxRecordSize) {
+        return SerializationUtils.newKryoRecordReader(in, clazz, null);
+    }
 }
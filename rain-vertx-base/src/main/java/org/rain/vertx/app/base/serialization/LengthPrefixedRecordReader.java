@@ -0,0 +1,99 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * Default {@link IRecordReader}, reads records written by {@link LengthPrefixedRecordWriter}.
+ *
+ * @param <T>
+ * @since 1.0.0
+ */
+class LengthPrefixedRecordReader<T> implements IRecordReader<T> {
+    private final ISerDeser serDeser;
+    private final Class<T> clazz;
+    private final int maxRecordSize;
+    private final DataInputStream in;
+    private int nextLength;
+    private boolean nextLengthRead = false;
+
+    LengthPrefixedRecordReader(ISerDeser serDeser, InputStream in, Class<T> clazz,
+                               int maxRecordSize) {
+        if (maxRecordSize < 0) {
+            throw new IllegalArgumentException(
+                    "Max record size must not be negative: " + maxRecordSize);
+        }
+        this.serDeser = serDeser;
+        this.clazz = clazz;
+        this.maxRecordSize = maxRecordSize;
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() throws DeserializationException {
+        if (nextLengthRead) {
+            return true;
+        }
+        try {
+            int b = in.read();
+            if (b < 0) {
+                return false;
+            }
+            nextLength = (b << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8)
+                    | in.readUnsignedByte();
+            nextLengthRead = true;
+            return true;
+        } catch (EOFException e) {
+            throw new DeserializationException("Truncated record header", e);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T next() throws DeserializationException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        nextLengthRead = false;
+        if (nextLength == -1) {
+            return null;
+        }
+        if (nextLength < 0) {
+            throw new DeserializationException("Invalid record length: " + nextLength);
+        }
+        if (nextLength > maxRecordSize) {
+            throw new DeserializationException("Record length " + nextLength
+                    + " exceeds the max record size " + maxRecordSize + "!");
+        }
+        byte[] data = new byte[nextLength];
+        try {
+            in.readFully(data);
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+        return serDeser.fromBytes(data, clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws DeserializationException {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new DeserializationException(e);
+        }
+    }
+}
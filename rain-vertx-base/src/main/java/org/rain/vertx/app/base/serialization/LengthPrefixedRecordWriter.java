@@ -0,0 +1,64 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Default {@link IRecordWriter}: each record is serialized individually and written as a 4-byte
+ * big-endian length ({@code -1} for {@code null}) followed by the serialized data.
+ *
+ * @since 1.0.0
+ */
+class LengthPrefixedRecordWriter implements IRecordWriter {
+    private final ISerDeser serDeser;
+    private final DataOutputStream out;
+
+    LengthPrefixedRecordWriter(ISerDeser serDeser, OutputStream out) {
+        this.serDeser = serDeser;
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(Object obj) throws SerializationException {
+        byte[] data = obj != null ? serDeser.toBytes(obj) : null;
+        try {
+            if (data == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(data.length);
+                out.write(data);
+            }
+        } catch (IOException e) {
+            throw new SerializationException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() throws SerializationException {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new SerializationException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws SerializationException {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new SerializationException(e);
+        }
+    }
+}
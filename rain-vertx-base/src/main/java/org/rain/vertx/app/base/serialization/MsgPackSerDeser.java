@@ -0,0 +1,44 @@
+package org.rain.vertx.app.base.serialization;
+
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * This implementation of {@link ISerDeser} utilizes MessagePack (binary JSON) for
+ * serializing/deserializing.
+ *
+ * @since 1.0.0
+ */
+public class MsgPackSerDeser implements ISerDeser {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] toBytes(Object obj) throws SerializationException {
+        return toBytes(obj, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] toBytes(Object obj, ClassLoader classLoader) throws SerializationException {
+        return SerializationUtils.toByteArrayMsgPack(obj, classLoader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T fromBytes(byte[] data, Class<T> clazz) throws DeserializationException {
+        return fromBytes(data, clazz, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T fromBytes(byte[] data, Class<T> clazz, ClassLoader classLoader)
+            throws DeserializationException {
+        return SerializationUtils.fromByteArrayMsgPack(data, clazz, classLoader);
+    }
+}
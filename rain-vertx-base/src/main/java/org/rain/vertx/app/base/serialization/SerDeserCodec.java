@@ -0,0 +1,110 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.util.function.Supplier;
+
+/**
+ * Built-in {@link ISerDeser} implementations, selectable by name.
+ *
+ * <p>
+ * A codec can be looked up by its short name (e.g. {@code "smile"}, case-insensitive), by the
+ * simple name of its implementation class (e.g. {@code "SmileSerDeser"}) or by the fully qualified
+ * class name. This allows the serializer to be chosen from configuration.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public enum SerDeserCodec {
+    KRYO(1, "kryo", KryoSerDeser.class, KryoSerDeser::new),
+    FST(2, "fst", FstSerDeser.class, FstSerDeser::new),
+    JSON(3, "json", JsonSerDeser.class, JsonSerDeser::new),
+    SMILE(4, "smile", SmileSerDeser.class, SmileSerDeser::new),
+    CBOR(5, "cbor", CborSerDeser.class, CborSerDeser::new),
+    MSGPACK(6, "msgpack", MsgPackSerDeser.class, MsgPackSerDeser::new);
+
+    private final int codecId;
+    private final String codecName;
+    private final Class<? extends ISerDeser> implClass;
+    private final ISerDeser instance;
+
+    SerDeserCodec(int codecId, String codecName, Class<? extends ISerDeser> implClass,
+                  Supplier<? extends ISerDeser> factory) {
+        this.codecId = codecId;
+        this.codecName = codecName;
+        this.implClass = implClass;
+        this.instance = factory.get();
+    }
+
+    /**
+     * Codec id, used to tag serialized data (see {@link SerDeserRegistry}). Ids of built-in codecs
+     * are stable and must never be changed.
+     *
+     * @return
+     */
+    public int getCodecId() {
+        return codecId;
+    }
+
+    /**
+     * Short name of the codec, e.g. {@code "kryo"}.
+     *
+     * @return
+     */
+    public String getCodecName() {
+        return codecName;
+    }
+
+    /**
+     * The {@link ISerDeser} implementation class.
+     *
+     * @return
+     */
+    public Class<? extends ISerDeser> getImplClass() {
+        return implClass;
+    }
+
+    /**
+     * Shared {@link ISerDeser} instance of this codec (built-in implementations are stateless and
+     * thread-safe).
+     *
+     * @return
+     */
+    public ISerDeser getSerDeser() {
+        return instance;
+    }
+
+    /**
+     * Look up a codec by name. Return {@code null} if not found.
+     *
+     * @param name codec's short name, implementation class' simple name or fully qualified name
+     * @return
+     */
+    public static SerDeserCodec lookup(String name) {
+        if (name == null) {
+            return null;
+        }
+        String _name = name.trim();
+        for (SerDeserCodec codec : values()) {
+            if (codec.codecName.equalsIgnoreCase(_name) || codec.name().equalsIgnoreCase(_name)
+                    || codec.implClass.getSimpleName().equals(_name)
+                    || codec.implClass.getName().equals(_name)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Look up a codec by name.
+     *
+     * @param name codec's short name, implementation class' simple name or fully qualified name
+     * @return
+     * @throws IllegalArgumentException if no codec matches the specified name
+     */
+    public static ISerDeser forName(String name) {
+        SerDeserCodec codec = lookup(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown serializer codec [" + name + "]!");
+        }
+        return codec.instance;
+    }
+}
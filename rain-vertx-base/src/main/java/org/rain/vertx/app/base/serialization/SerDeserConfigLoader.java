@@ -0,0 +1,152 @@
+package org.rain.vertx.app.base.serialization;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.rain.vertx.app.base.serialization.CompressingSerDeser.Algorithm;
+
+/**
+ * Build an {@link ISerDeser} from a config block, so that the serializer can be chosen (and
+ * tuned) per environment without recompiling.
+ *
+ * <p>
+ * The schema and default values are documented in the {@code serdeser-reference.conf} resource
+ * next to this class, e.g.:
+ * </p>
+ *
+ * <pre>
+ * serializer {
+ *   codec = smile
+ *   compression { algorithm = LZ4, threshold = 512 }
+ *   envelope { enabled = true, checksum = true, legacy-codec = kryo }
+ * }
+ * </pre>
+ *
+ * <p>
+ * The codec is wrapped in an {@link EnvelopeSerDeser} if enabled, then in a
+ * {@link CompressingSerDeser} if an algorithm other than {@code NONE} is configured.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class SerDeserConfigLoader {
+    /**
+     * Resource (relative to this class) holding the schema and default values.
+     */
+    public final static String REFERENCE_RESOURCE = "serdeser-reference.conf";
+
+    private final static Config REFERENCE = ConfigFactory
+            .parseResources(SerDeserConfigLoader.class, REFERENCE_RESOURCE);
+
+    /**
+     * Merge a config block with the default values.
+     *
+     * @param config
+     * @return
+     */
+    public static Config withDefaults(Config config) {
+        return config.withFallback(REFERENCE).resolve();
+    }
+
+    /**
+     * Resolve a codec by name, from the default registry.
+     *
+     * @param name
+     * @return
+     * @see #resolveCodec(SerDeserRegistry, String)
+     */
+    public static ISerDeser resolveCodec(String name) {
+        return resolveCodec(SerDeserRegistry.getDefault(), name);
+    }
+
+    /**
+     * Resolve a codec by name.
+     *
+     * @param registry
+     * @param name     name registered in the registry, or fully qualified name of an
+     *                 {@link ISerDeser} class with a no-arg constructor
+     * @return
+     * @throws IllegalArgumentException if the codec can not be resolved
+     */
+    public static ISerDeser resolveCodec(SerDeserRegistry registry, String name) {
+        int codecId = registry.getId(name);
+        if (codecId > 0) {
+            return registry.get(codecId);
+        }
+        try {
+            Class<?> clazz = Class.forName(name.trim());
+            if (!ISerDeser.class.isAssignableFrom(clazz)) {
+                throw new IllegalArgumentException(
+                        "Class [" + name + "] does not implement " + ISerDeser.class.getName());
+            }
+            return (ISerDeser) clazz.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unknown serializer codec [" + name + "]!", e);
+        }
+    }
+
+    /**
+     * Build an {@link ISerDeser} from a config block, resolving codecs from the default registry.
+     *
+     * @param config
+     * @return
+     */
+    public static ISerDeser build(Config config) {
+        return build(config, SerDeserRegistry.getDefault());
+    }
+
+    /**
+     * Build an {@link ISerDeser} from a config block.
+     *
+     * @param config
+     * @param registry
+     * @return
+     * @throws IllegalArgumentException if the config is invalid
+     */
+    public static ISerDeser build(Config config, SerDeserRegistry registry) {
+        Config conf = withDefaults(config);
+        String codecName = conf.getString("codec");
+        ISerDeser result;
+        if (conf.getBoolean("envelope.enabled")) {
+            int codecId = registry.getId(codecName);
+            if (codecId < 0) {
+                throw new IllegalArgumentException(
+                        "Codec [" + codecName + "] must be registered to be used in an envelope!");
+            }
+            EnvelopeSerDeser envelope = new EnvelopeSerDeser(registry, codecId)
+                    .setSchemaVersion(conf.getInt("envelope.schema-version"))
+                    .setChecksumEnabled(conf.getBoolean("envelope.checksum"));
+            String legacyCodec = conf.getString("envelope.legacy-codec");
+            if (!StringUtils.isBlank(legacyCodec)) {
+                envelope.setLegacySerDeser(resolveCodec(registry, legacyCodec));
+            }
+            result = envelope;
+        } else {
+            result = resolveCodec(registry, codecName);
+        }
+        Algorithm algorithm = conf.getEnum(Algorithm.class, "compression.algorithm");
+        if (algorithm != Algorithm.NONE) {
+            if (algorithm == Algorithm.ZSTD_DICT) {
+                throw new IllegalArgumentException(
+                        "Compression ZSTD_DICT requires a trained dictionary, set it in code!");
+            }
+            result = new CompressingSerDeser(result, algorithm,
+                    getIntBytes(conf, "compression.threshold"))
+                    .setZstdLevel(conf.getInt("compression.zstd-level"))
+                    .setMaxDecompressedSize(getIntBytes(conf, "compression.max-decompressed-size"));
+        }
+        return result;
+    }
+
+    /**
+     * Read a size in bytes that must fit in an {@code int}.
+     */
+    private static int getIntBytes(Config conf, String path) {
+        long value = conf.getBytes(path).longValue();
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value of [" + path + "] is too large: " + value
+                    + " bytes, max " + Integer.MAX_VALUE + "!");
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,153 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registry of {@link ISerDeser} implementations, keyed by a one-byte codec id.
+ *
+ * <p>
+ * The codec id is written into serialized data by {@link EnvelopeSerDeser} so that readers can
+ * dispatch to the right {@link ISerDeser} automatically. Ids {@code 1-63} are reserved for built-in
+ * codecs (see {@link SerDeserCodec}); application codecs should use ids {@code 64-255}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class SerDeserRegistry {
+    /**
+     * Smallest codec id available to application codecs.
+     */
+    public final static int MIN_CUSTOM_CODEC_ID = 64;
+
+    /**
+     * Largest codec id.
+     */
+    public final static int MAX_CODEC_ID = 255;
+
+    private final static SerDeserRegistry DEFAULT = new SerDeserRegistry();
+
+    /**
+     * Default registry, pre-populated with all {@link SerDeserCodec}s.
+     *
+     * @return
+     */
+    public static SerDeserRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    private final AtomicReferenceArray<ISerDeser> codecsById = new AtomicReferenceArray<>(
+            MAX_CODEC_ID + 1);
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new registry, pre-populated with all {@link SerDeserCodec}s.
+     */
+    public SerDeserRegistry() {
+        for (SerDeserCodec codec : SerDeserCodec.values()) {
+            doRegister(codec.getCodecId(), codec.getCodecName(), codec.getSerDeser());
+        }
+    }
+
+    private static void checkCodecId(int codecId) {
+        if (codecId < 1 || codecId > MAX_CODEC_ID) {
+            throw new IllegalArgumentException(
+                    "Codec id must be in range [1, " + MAX_CODEC_ID + "], got [" + codecId + "]!");
+        }
+    }
+
+    synchronized private void doRegister(int codecId, String name, ISerDeser serDeser) {
+        checkCodecId(codecId);
+        if (codecsById.get(codecId) != null) {
+            throw new IllegalStateException("Codec id [" + codecId + "] is already registered!");
+        }
+        if (idsByName.containsKey(name.toLowerCase())) {
+            throw new IllegalStateException("Codec name [" + name + "] is already registered!");
+        }
+        codecsById.set(codecId, serDeser);
+        idsByName.put(name.toLowerCase(), codecId);
+    }
+
+    /**
+     * Register an application codec.
+     *
+     * @param codecId
+     *         in range {@code [}{@link #MIN_CUSTOM_CODEC_ID}{@code , }{@link #MAX_CODEC_ID}{@code ]}
+     * @param name
+     *         codec's name (case-insensitive), must be unique within the registry
+     * @param serDeser
+     * @return
+     * @throws IllegalStateException if the id or name has already been registered
+     */
+    public SerDeserRegistry register(int codecId, String name, ISerDeser serDeser) {
+        if (codecId < MIN_CUSTOM_CODEC_ID) {
+            throw new IllegalArgumentException(
+                    "Codec ids below " + MIN_CUSTOM_CODEC_ID + " are reserved, got [" + codecId
+                            + "]!");
+        }
+        if (name == null || serDeser == null) {
+            throw new IllegalArgumentException("Codec name and implementation must not be null!");
+        }
+        doRegister(codecId, name.trim(), serDeser);
+        return this;
+    }
+
+    /**
+     * Get a codec by its id. Return {@code null} if not found.
+     *
+     * @param codecId
+     * @return
+     */
+    public ISerDeser get(int codecId) {
+        return codecId < 1 || codecId > MAX_CODEC_ID ? null : codecsById.get(codecId);
+    }
+
+    /**
+     * Get a codec's id by its name (case-insensitive). Return {@code -1} if not found.
+     *
+     * <p>
+     * Built-in codecs can also be referenced by any name accepted by
+     * {@link SerDeserCodec#lookup(String)}.
+     * </p>
+     *
+     * @param name
+     * @return
+     */
+    public int getId(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer id = idsByName.get(name.trim().toLowerCase());
+        if (id != null) {
+            return id.intValue();
+        }
+        SerDeserCodec codec = SerDeserCodec.lookup(name);
+        return codec != null ? codec.getCodecId() : -1;
+    }
+
+    /**
+     * Get a codec's id. Return {@code -1} if the codec has not been registered.
+     *
+     * @param serDeser
+     * @return
+     */
+    public int getId(ISerDeser serDeser) {
+        for (int i = 1; i <= MAX_CODEC_ID; i++) {
+            if (codecsById.get(i) == serDeser) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Names of all registered codecs, mapped to their ids.
+     *
+     * @return
+     */
+    public Map<String, Integer> getRegisteredCodecs() {
+        return Collections.unmodifiableMap(idsByName);
+    }
+}
@@ -0,0 +1,266 @@
+package org.rain.vertx.app.base.serialization;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ISerializationListener} that collects per-codec, per-class metrics: call/error counters,
+ * latency and payload size histograms (HdrHistogram), and logs oversize/slow payloads.
+ *
+ * <p>
+ * Usage: {@code SerializationUtils.setListener(new SerializationMetrics().setOversizeThreshold(1 <<
+ * 20))}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class SerializationMetrics implements ISerializationListener {
+    private final static Logger LOGGER = LoggerFactory.getLogger(SerializationMetrics.class);
+
+    /**
+     * Identifies a metric series.
+     */
+    public static class Key {
+        private final String codec;
+        private final Class<?> clazz;
+        private final boolean serialization;
+
+        private Key(String codec, Class<?> clazz, boolean serialization) {
+            this.codec = codec;
+            this.clazz = clazz;
+            this.serialization = serialization;
+        }
+
+        public String getCodec() {
+            return codec;
+        }
+
+        public Class<?> getClazz() {
+            return clazz;
+        }
+
+        /**
+         * @return {@code true} for serialization, {@code false} for deserialization
+         */
+        public boolean isSerialization() {
+            return serialization;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return serialization == other.serialization && codec.equals(other.codec)
+                    && clazz == other.clazz;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(codec, clazz, serialization);
+        }
+
+        @Override
+        public String toString() {
+            return codec + (serialization ? "/ser/" : "/deser/") + clazz.getName();
+        }
+    }
+
+    /**
+     * Metrics of one series.
+     */
+    public static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalBytes = new LongAdder();
+        private final ConcurrentHistogram latencyNanos = new ConcurrentHistogram(3);
+        private final ConcurrentHistogram sizeBytes = new ConcurrentHistogram(3);
+
+        private void record(int size, long durationNanos) {
+            count.increment();
+            totalBytes.add(size);
+            latencyNanos.recordValue(Math.max(durationNanos, 0));
+            sizeBytes.recordValue(Math.max(size, 0));
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTotalBytes() {
+            return totalBytes.sum();
+        }
+
+        /**
+         * Copy of the latency histogram, in nanoseconds.
+         *
+         * @return
+         */
+        public Histogram getLatencyHistogram() {
+            return latencyNanos.copy();
+        }
+
+        /**
+         * Copy of the payload size histogram, in bytes.
+         *
+         * @return
+         */
+        public Histogram getSizeHistogram() {
+            return sizeBytes.copy();
+        }
+
+        /**
+         * Latency at a percentile, in nanoseconds.
+         *
+         * @param percentile e.g. {@code 99.0}
+         * @return
+         */
+        public long getLatencyAtPercentile(double percentile) {
+            return latencyNanos.getValueAtPercentile(percentile);
+        }
+
+        /**
+         * Payload size at a percentile, in bytes.
+         *
+         * @param percentile e.g. {@code 99.0}
+         * @return
+         */
+        public long getSizeAtPercentile(double percentile) {
+            return sizeBytes.getValueAtPercentile(percentile);
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + getCount() + ", errors=" + getErrors() + ", bytes=" + getTotalBytes()
+                    + ", p50Nanos=" + getLatencyAtPercentile(50) + ", p99Nanos="
+                    + getLatencyAtPercentile(99) + ", maxNanos=" + latencyNanos.getMaxValue()
+                    + ", p99Bytes=" + getSizeAtPercentile(99) + ", maxBytes="
+                    + sizeBytes.getMaxValue() + "}";
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, Stats>> serStats =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, Stats>> deserStats =
+            new ConcurrentHashMap<>();
+    private volatile int oversizeThreshold = 0;
+    private volatile long slowThresholdNanos = 0;
+
+    public int getOversizeThreshold() {
+        return oversizeThreshold;
+    }
+
+    /**
+     * Payloads larger than this size (in bytes) are logged at WARN level. {@code 0} (default)
+     * disables logging.
+     *
+     * @param oversizeThreshold
+     * @return
+     */
+    public SerializationMetrics setOversizeThreshold(int oversizeThreshold) {
+        this.oversizeThreshold = oversizeThreshold;
+        return this;
+    }
+
+    public long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /**
+     * Calls slower than this duration (in nanoseconds) are logged at WARN level. {@code 0}
+     * (default) disables logging.
+     *
+     * @param slowThresholdNanos
+     * @return
+     */
+    public SerializationMetrics setSlowThresholdNanos(long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+        return this;
+    }
+
+    private static Stats stats(ConcurrentMap<String, ConcurrentMap<Class<?>, Stats>> all,
+                               String codec, Class<?> clazz) {
+        ConcurrentMap<Class<?>, Stats> byClass = all.get(codec);
+        if (byClass == null) {
+            byClass = all.computeIfAbsent(codec, k -> new ConcurrentHashMap<>());
+        }
+        Class<?> _clazz = clazz != null ? clazz : Object.class;
+        Stats stats = byClass.get(_clazz);
+        return stats != null ? stats : byClass.computeIfAbsent(_clazz, k -> new Stats());
+    }
+
+    private void checkThresholds(String op, String codec, Class<?> clazz, int size,
+                                 long durationNanos) {
+        int oversizeThreshold = this.oversizeThreshold;
+        long slowThresholdNanos = this.slowThresholdNanos;
+        if ((oversizeThreshold > 0 && size > oversizeThreshold)
+                || (slowThresholdNanos > 0 && durationNanos > slowThresholdNanos)) {
+            LOGGER.warn("Large/slow {} payload: codec={}, class={}, size={}, durationMicros={}", op,
+                    codec, clazz != null ? clazz.getName() : null, size, durationNanos / 1000);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onSerialize(String codec, Class<?> clazz, int size, long durationNanos) {
+        stats(serStats, codec, clazz).record(size, durationNanos);
+        checkThresholds("serialization", codec, clazz, size, durationNanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onDeserialize(String codec, Class<?> clazz, int size, long durationNanos) {
+        stats(deserStats, codec, clazz).record(size, durationNanos);
+        checkThresholds("deserialization", codec, clazz, size, durationNanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(String codec, Class<?> clazz, boolean serialization, Throwable error) {
+        stats(serialization ? serStats : deserStats, codec, clazz).errors.increment();
+    }
+
+    /**
+     * Current metrics of all series.
+     *
+     * @return
+     */
+    public Map<Key, Stats> getStats() {
+        Map<Key, Stats> result = new LinkedHashMap<>();
+        serStats.forEach((codec, byClass) -> byClass
+                .forEach((clazz, stats) -> result.put(new Key(codec, clazz, true), stats)));
+        deserStats.forEach((codec, byClass) -> byClass
+                .forEach((clazz, stats) -> result.put(new Key(codec, clazz, false), stats)));
+        return result;
+    }
+
+    /**
+     * Clear all metrics.
+     */
+    public void reset() {
+        serStats.clear();
+        deserStats.clear();
+    }
+}
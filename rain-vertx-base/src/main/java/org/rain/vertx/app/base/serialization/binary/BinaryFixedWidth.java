@@ -0,0 +1,19 @@
+package org.rain.vertx.app.base.serialization.binary;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Write an integral field of a {@link BinarySerializable} class with a fixed width instead of as a
+ * var-int. Useful for values that are usually large, e.g. hashes or timestamps in nanoseconds.
+ *
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface BinaryFixedWidth {
+}
@@ -0,0 +1,196 @@
+package org.rain.vertx.app.base.serialization.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.rain.vertx.app.base.serialization.DeserializationException;
+
+/**
+ * Reads data written by {@link BinaryWriter}.
+ *
+ * <p>
+ * This class is not thread-safe. Reading past the end of data throws
+ * {@link DeserializationException}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class BinaryReader {
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    public BinaryReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    /**
+     * @param data
+     * @param offset
+     * @param length
+     */
+    public BinaryReader(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException(
+                    "Invalid range [" + offset + ", " + (offset + length) + ") for data of length "
+                            + data.length);
+        }
+        this.buffer = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    private void require(int count) {
+        if (limit - position < count) {
+            throw new DeserializationException(
+                    "Unexpected end of data: need " + count + " byte(s), remaining "
+                            + (limit - position));
+        }
+    }
+
+    /**
+     * Number of bytes not read yet.
+     *
+     * @return
+     */
+    public int remaining() {
+        return limit - position;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public byte readByte() {
+        require(1);
+        return buffer[position++];
+    }
+
+    public short readShort() {
+        require(2);
+        int value = ((buffer[position] & 0xFF) << 8) | (buffer[position + 1] & 0xFF);
+        position += 2;
+        return (short) value;
+    }
+
+    public char readChar() {
+        return (char) readShort();
+    }
+
+    public int readInt() {
+        require(4);
+        byte[] buf = buffer;
+        int pos = position;
+        position = pos + 4;
+        return ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16)
+                | ((buf[pos + 2] & 0xFF) << 8) | (buf[pos + 3] & 0xFF);
+    }
+
+    public long readLong() {
+        require(8);
+        byte[] buf = buffer;
+        int pos = position;
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buf[pos + i] & 0xFF);
+        }
+        position = pos + 8;
+        return value;
+    }
+
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Read an unsigned var-int.
+     *
+     * @return
+     */
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new DeserializationException("Malformed var-int");
+    }
+
+    /**
+     * Read an unsigned var-long.
+     *
+     * @return
+     */
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new DeserializationException("Malformed var-long");
+    }
+
+    /**
+     * Read a zig-zag encoded signed {@code int}.
+     *
+     * @return
+     */
+    public int readZigZagInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read a zig-zag encoded signed {@code long}.
+     *
+     * @return
+     */
+    public long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read a (nullable) byte array.
+     *
+     * @return
+     */
+    public byte[] readBytes() {
+        int len = readVarInt() - 1;
+        if (len < 0) {
+            return null;
+        }
+        require(len);
+        byte[] result = Arrays.copyOfRange(buffer, position, position + len);
+        position += len;
+        return result;
+    }
+
+    /**
+     * Read a (nullable) string.
+     *
+     * @return
+     */
+    public String readString() {
+        int len = readVarInt() - 1;
+        if (len < 0) {
+            return null;
+        }
+        require(len);
+        String result = new String(buffer, position, len, StandardCharsets.UTF_8);
+        position += len;
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package org.rain.vertx.app.base.serialization.binary;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which an {@link IBinarySerializer} is generated at compile time (requires the
+ * {@code rain-vertx-processor} annotation processor).
+ *
+ * <p>
+ * All non-static, non-transient fields of the class, including inherited ones, are serialized:
+ * superclass fields first, then in declaration order. Fields must not be {@code private} or
+ * {@code final} (inherited fields declared in another package must be {@code public}), must not
+ * hide an inherited field, and must be of one of the supported types: primitives and their
+ * wrappers, {@code String}, {@code byte[]} and enums. {@code int}, {@code long} and {@code short}
+ * fields are written as zig-zag var-ints unless annotated with {@link BinaryFixedWidth}.
+ * </p>
+ *
+ * <p>
+ * The binary format has no field tags: adding, removing or re-ordering fields breaks compatibility
+ * with previously serialized data.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface BinarySerializable {
+}
@@ -0,0 +1,261 @@
+package org.rain.vertx.app.base.serialization.binary;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with compact binary encoders, used by generated {@link IBinarySerializer}s.
+ *
+ * <ul>
+ * <li>Fixed-width numbers are written big-endian.</li>
+ * <li>Var-ints use 7 bits per byte, least significant group first; signed values are zig-zag
+ * encoded first so that small negative numbers stay short.</li>
+ * <li>Strings are written as a var-int of {@code (UTF-8 length + 1)} followed by the UTF-8 bytes; a
+ * length prefix of {@code 0} denotes {@code null}. Byte arrays use the same scheme.</li>
+ * </ul>
+ *
+ * <p>
+ * This class is not thread-safe. An instance can be re-used after {@link #reset()}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class BinaryWriter {
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter() {
+        this(64);
+    }
+
+    /**
+     * @param initialCapacity
+     */
+    public BinaryWriter(int initialCapacity) {
+        buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = position + extra;
+        if (required > buffer.length) {
+            int newCapacity = Math.max(buffer.length << 1, required);
+            buffer = Arrays.copyOf(buffer, newCapacity);
+        }
+    }
+
+    /**
+     * Number of bytes written so far.
+     *
+     * @return
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Discard all written bytes, keeping the allocated buffer.
+     *
+     * @return
+     */
+    public BinaryWriter reset() {
+        position = 0;
+        return this;
+    }
+
+    /**
+     * Copy of the written bytes, never the internal buffer (which is reused after
+     * {@link #reset()}).
+     *
+     * @return
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    public BinaryWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    public BinaryWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeShort(int value) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeChar(char value) {
+        return writeShort(value);
+    }
+
+    public BinaryWriter writeInt(int value) {
+        ensureCapacity(4);
+        byte[] buf = buffer;
+        int pos = position;
+        buf[pos] = (byte) (value >>> 24);
+        buf[pos + 1] = (byte) (value >>> 16);
+        buf[pos + 2] = (byte) (value >>> 8);
+        buf[pos + 3] = (byte) value;
+        position = pos + 4;
+        return this;
+    }
+
+    public BinaryWriter writeLong(long value) {
+        ensureCapacity(8);
+        byte[] buf = buffer;
+        int pos = position;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buf[pos++] = (byte) (value >>> shift);
+        }
+        position = pos;
+        return this;
+    }
+
+    public BinaryWriter writeFloat(float value) {
+        return writeInt(Float.floatToIntBits(value));
+    }
+
+    public BinaryWriter writeDouble(double value) {
+        return writeLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Write an {@code int} as an unsigned var-int (1-5 bytes).
+     *
+     * @param value
+     * @return
+     */
+    public BinaryWriter writeVarInt(int value) {
+        ensureCapacity(5);
+        byte[] buf = buffer;
+        int pos = position;
+        while ((value & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        position = pos;
+        return this;
+    }
+
+    /**
+     * Write a {@code long} as an unsigned var-int (1-10 bytes).
+     *
+     * @param value
+     * @return
+     */
+    public BinaryWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        byte[] buf = buffer;
+        int pos = position;
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        position = pos;
+        return this;
+    }
+
+    /**
+     * Write a signed {@code int} as a zig-zag encoded var-int.
+     *
+     * @param value
+     * @return
+     */
+    public BinaryWriter writeZigZagInt(int value) {
+        return writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Write a signed {@code long} as a zig-zag encoded var-int.
+     *
+     * @param value
+     * @return
+     */
+    public BinaryWriter writeZigZagLong(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Write a (nullable) byte array.
+     *
+     * @param value
+     * @return
+     */
+    public BinaryWriter writeBytes(byte[] value) {
+        if (value == null) {
+            return writeVarInt(0);
+        }
+        writeVarInt(value.length + 1);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+        return this;
+    }
+
+    /**
+     * Write a (nullable) string, UTF-8 encoded directly into the buffer.
+     *
+     * @param value
+     * @return
+     */
+    public BinaryWriter writeString(String value) {
+        if (value == null) {
+            return writeVarInt(0);
+        }
+        int len = value.length();
+        int utf8Len = 0;
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                utf8Len++;
+            } else if (c < 0x800) {
+                utf8Len += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                utf8Len += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // lone surrogate, encoded as '?' (same as String.getBytes(UTF_8))
+                utf8Len++;
+            } else {
+                utf8Len += 3;
+            }
+        }
+        writeVarInt(utf8Len + 1);
+        ensureCapacity(utf8Len);
+        byte[] buf = buffer;
+        int pos = position;
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = pos;
+        return this;
+    }
+}
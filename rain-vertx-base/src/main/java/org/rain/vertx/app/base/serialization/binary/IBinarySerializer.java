@@ -0,0 +1,85 @@
+package org.rain.vertx.app.base.serialization.binary;
+
+import org.rain.vertx.app.base.serialization.DeserializationException;
+import org.rain.vertx.app.base.serialization.SerializationException;
+
+/**
+ * Binary serializer of a single class, usually generated for classes annotated with
+ * {@link BinarySerializable}.
+ *
+ * <p>
+ * A generated serializer is named {@code <SimpleClassName>BinarySerializer}, lives in the same
+ * package as the annotated class and exposes a shared {@code INSTANCE}. It can back the class'
+ * {@link org.rain.vertx.app.base.serialization.ISerializationSupport} implementation:
+ * </p>
+ *
+ * <pre>
+ * public byte[] toBytes() {
+ *     return UserBinarySerializer.INSTANCE.toBytes(this);
+ * }
+ *
+ * public User fromBytes(byte[] data) {
+ *     UserBinarySerializer.INSTANCE.fromBytes(data, this);
+ *     return this;
+ * }
+ * </pre>
+ *
+ * @param <T>
+ * @since 1.0.0
+ */
+public interface IBinarySerializer<T> {
+    /**
+     * Write all serializable fields of an object.
+     *
+     * @param obj
+     * @param out
+     */
+    void write(T obj, BinaryWriter out);
+
+    /**
+     * Read all serializable fields into an existing object.
+     *
+     * @param obj
+     * @param in
+     */
+    void read(T obj, BinaryReader in);
+
+    /**
+     * Estimated serialized size of an object, used to size the output buffer.
+     *
+     * @param obj
+     * @return
+     */
+    default int estimateSize(T obj) {
+        return 64;
+    }
+
+    /**
+     * Serialize an object.
+     *
+     * @param obj
+     * @return
+     * @throws SerializationException
+     */
+    default byte[] toBytes(T obj) throws SerializationException {
+        if (obj == null) {
+            return null;
+        }
+        BinaryWriter out = new BinaryWriter(estimateSize(obj));
+        write(obj, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserialize data into an existing object.
+     *
+     * @param data
+     * @param obj
+     * @return the {@code obj} argument
+     * @throws DeserializationException
+     */
+    default T fromBytes(byte[] data, T obj) throws DeserializationException {
+        read(obj, new BinaryReader(data));
+        return obj;
+    }
+}
@@ -1,9 +1,15 @@
 package org.rain.vertx.app.base.utils;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Reflection-related utility class
@@ -32,6 +38,76 @@ public class ReflectionUtils {
         }
     }
 
+    private final static ClassValue<Supplier<?>> INSTANTIATORS = new ClassValue<>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> clazz) {
+            return createInstantiator(clazz);
+        }
+    };
+
+    private static Supplier<?> createInstantiator(Class<?> clazz) {
+        MethodHandle constructor;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    constructor, MethodType.methodType(clazz));
+            Supplier<?> factory = (Supplier<?>) site.getTarget().invoke();
+            // the generated Supplier rethrows checked exceptions of the constructor as-is
+            return () -> {
+                try {
+                    return factory.get();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            };
+        } catch (Throwable e) {
+            // e.g. lookup without full privilege access (class in a named module): fall back to
+            // invoking the constructor's method handle
+            MethodHandle generic = constructor.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return generic.invokeExact();
+                } catch (RuntimeException | Error e1) {
+                    throw e1;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            };
+        }
+    }
+
+    /**
+     * Get a factory that creates new instances of a class via its no-arg constructor (which can be
+     * private). Return {@code null} if the class has no such constructor or it is inaccessible.
+     *
+     * <p>
+     * The factory is generated once per class (via {@link LambdaMetafactory}) and cached, so that
+     * creating an instance costs the same as a direct constructor call. Checked exceptions thrown by
+     * the constructor are wrapped in an {@link IllegalStateException}.
+     * </p>
+     *
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> getInstantiator(Class<T> clazz) {
+        if (clazz == null || clazz.isInterface() || clazz.isPrimitive() || clazz.isArray()
+                || java.lang.reflect.Modifier.isAbstract(clazz.getModifiers())) {
+            return null;
+        }
+        return (Supplier<T>) INSTANTIATORS.get(clazz);
+    }
+
     /**
      * Get a class' method by name. Return {@code null} if no such method found.
      *
@@ -1,27 +1,36 @@
 package org.rain.vertx.app.base.utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.pool2.BasePooledObjectFactory;
-import org.apache.commons.pool2.ObjectPool;
-import org.apache.commons.pool2.PooledObject;
-import org.apache.commons.pool2.impl.DefaultPooledObject;
-import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.nustaq.serialization.FSTConfiguration;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
-import com.esotericsoftware.kryo.util.Pool;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.rain.vertx.app.base.serialization.DeserializationException;
+import org.rain.vertx.app.base.serialization.IRecordReader;
+import org.rain.vertx.app.base.serialization.IRecordWriter;
+import org.rain.vertx.app.base.serialization.ISerializationListener;
 import org.rain.vertx.app.base.serialization.ISerializationSupport;
 import org.rain.vertx.app.base.serialization.SerializationException;
 
@@ -30,6 +39,8 @@ import org.rain.vertx.app.base.serialization.SerializationException;
  *
  * <ul>
  * <li>JSON serialization: use {@code com.fasterxml.jackson} library.</li>
+ * <li>Binary JSON serialization: {@code Smile}, {@code CBOR} or {@code MessagePack} encoding, on top
+ * of {@code com.fasterxml.jackson} library.</li>
  * <li>Binary serialization: 3 choices of API
  * <ul>
  * <li>{@code jboss-serialization} library (deprecated since v0.6.0!), or</li>
@@ -43,6 +54,75 @@ import org.rain.vertx.app.base.serialization.SerializationException;
  * @since 0.2.0
  */
 public class SerializationUtils {
+    /*----------------------------------------------------------------------*/
+    /*
+     * Codec names reported to the ISerializationListener. Sizes are in bytes; JSON text sizes are
+     * UTF-8 encoded lengths, "json-tree" conversions (object <-> JsonNode) have no serialized form
+     * and report 0.
+     */
+    public final static String CODEC_CUSTOM = "custom";
+    public final static String CODEC_KRYO = "kryo";
+    public final static String CODEC_KRYO_BATCH = "kryo-batch";
+    public final static String CODEC_KRYO_STREAM = "kryo-stream";
+    public final static String CODEC_FST = "fst";
+    public final static String CODEC_JSON = "json";
+    public final static String CODEC_JSON_TREE = "json-tree";
+    public final static String CODEC_SMILE = "smile";
+    public final static String CODEC_CBOR = "cbor";
+    public final static String CODEC_MSGPACK = "msgpack";
+
+    private static volatile ISerializationListener listener;
+
+    /**
+     * Install a listener that is notified of every serialization/deserialization done by this
+     * class, e.g. {@link org.rain.vertx.app.base.serialization.SerializationMetrics}. Pass
+     * {@code null} to disable instrumentation (the default), in which case the only overhead is
+     * one volatile read per call.
+     *
+     * @param listener
+     * @since 1.0.0
+     */
+    public static void setListener(ISerializationListener listener) {
+        SerializationUtils.listener = listener;
+    }
+
+    /**
+     * Currently installed listener, {@code null} if instrumentation is disabled.
+     *
+     * @return
+     * @since 1.0.0
+     */
+    public static ISerializationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Length of a string once UTF-8 encoded, computed without encoding it.
+     *
+     * @param str
+     * @return
+     */
+    private static int utf8Length(CharSequence str) {
+        int len = str.length();
+        int result = len;
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < len
+                        && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    // surrogate pair: 2 chars -> 4 bytes
+                    result += 2;
+                    i++;
+                } else {
+                    result += 2;
+                }
+            } else if (c >= 0x80) {
+                result++;
+            }
+        }
+        return result;
+    }
+
     /*----------------------------------------------------------------------*/
 
     /**
@@ -84,8 +164,20 @@ public class SerializationUtils {
             if (classLoader != null) {
                 Thread.currentThread().setContextClassLoader(classLoader);
             }
+            ISerializationListener l = listener;
+            long start = l != null ? System.nanoTime() : 0;
             try {
-                return ((ISerializationSupport) obj).toBytes();
+                byte[] result = ((ISerializationSupport) obj).toBytes();
+                if (l != null) {
+                    l.onSerialize(CODEC_CUSTOM, obj.getClass(), result != null ? result.length : 0,
+                            System.nanoTime() - start);
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (l != null) {
+                    l.onError(CODEC_CUSTOM, obj.getClass(), true, e);
+                }
+                throw e;
             } finally {
                 Thread.currentThread().setContextClassLoader(oldClassLoader);
             }
@@ -139,15 +231,30 @@ public class SerializationUtils {
             if (classLoader != null) {
                 Thread.currentThread().setContextClassLoader(classLoader);
             }
+            ISerializationListener l = listener;
+            long start = l != null ? System.nanoTime() : 0;
             try {
-                Constructor<T> constructor = clazz.getDeclaredConstructor();
-                constructor.setAccessible(true);
-                T obj = constructor.newInstance();
+                Supplier<T> instantiator = ReflectionUtils.getInstantiator(clazz);
+                if (instantiator == null) {
+                    throw new DeserializationException("Class [" + clazz.getName()
+                            + "] has no accessible no-arg constructor!");
+                }
+                T obj;
+                try {
+                    obj = instantiator.get();
+                } catch (RuntimeException e) {
+                    throw new DeserializationException(e);
+                }
                 ((ISerializationSupport) obj).fromBytes(data);
+                if (l != null) {
+                    l.onDeserialize(CODEC_CUSTOM, clazz, data.length, System.nanoTime() - start);
+                }
                 return obj;
-            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException
-                    | SecurityException | IllegalArgumentException | InvocationTargetException e) {
-                throw new DeserializationException(e);
+            } catch (RuntimeException e) {
+                if (l != null) {
+                    l.onError(CODEC_CUSTOM, clazz, false, e);
+                }
+                throw e;
             } finally {
                 Thread.currentThread().setContextClassLoader(oldClassLoader);
             }
@@ -156,34 +263,56 @@ public class SerializationUtils {
     }
 
     /*----------------------------------------------------------------------*/
-    private static Pool<Kryo> kryoPool;
-    private static Pool<Output> kryoOutputPool;
-    private static Pool<Input> kryoInputPool;
 
-    static {
-        int numCpuCores = Runtime.getRuntime().availableProcessors();
-        kryoPool = new Pool<Kryo>(true /* thread-safe */, false/* soft-ref */, numCpuCores) {
-            protected Kryo create() {
-                Kryo kryo = new Kryo();
-                kryo.setRegistrationRequired(false);
-                kryo.setWarnUnregisteredClasses(false);
-                // (optional) configure the Kryo instance
-                return kryo;
-            }
-        };
+    /**
+     * Kryo {@link Output} buffers grown beyond this size are not kept in the pool, so that a single
+     * huge object does not pin a huge buffer forever.
+     */
+    public final static int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
 
-        kryoOutputPool = new Pool<Output>(true/* thread-safe */, false/* soft-ref */, numCpuCores) {
-            protected Output create() {
-                return new Output(1024, -1);
-            }
-        };
+    private final static int INITIAL_BUFFER_SIZE = 1024;
+    private final static byte[] EMPTY_BUFFER = new byte[0];
+
+    private final static StripedPool<Kryo> kryoPool = new StripedPool<Kryo>() {
+        @Override
+        protected Kryo create() {
+            Kryo kryo = new Kryo();
+            kryo.setRegistrationRequired(false);
+            kryo.setWarnUnregisteredClasses(false);
+            // (optional) configure the Kryo instance
+            return kryo;
+        }
+    };
+
+    private final static StripedPool<Output> kryoOutputPool = new StripedPool<Output>() {
+        @Override
+        protected Output create() {
+            return new Output(INITIAL_BUFFER_SIZE, -1);
+        }
 
-        kryoInputPool = new Pool<Input>(true/* thread-safe */, false/* soft-ref */, numCpuCores) {
-            protected Input create() {
-                return new Input(1024);
+        @Override
+        protected boolean recycle(Output output) {
+            if (output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+                return false;
             }
-        };
-    }
+            output.reset();
+            return true;
+        }
+    };
+
+    private final static StripedPool<Input> kryoInputPool = new StripedPool<Input>() {
+        @Override
+        protected Input create() {
+            return new Input();
+        }
+
+        @Override
+        protected boolean recycle(Input input) {
+            // do not hold on to the caller's data
+            input.setBuffer(EMPTY_BUFFER);
+            return true;
+        }
+    };
 
     /**
      * Serialize an object to byte array.
@@ -211,6 +340,23 @@ public class SerializationUtils {
      * @return
      */
     public static byte[] toByteArrayKryo(Object obj, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || obj == null) {
+            return doToByteArrayKryo(obj, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] result = doToByteArrayKryo(obj, classLoader);
+            l.onSerialize(CODEC_KRYO, obj.getClass(), result != null ? result.length : 0,
+                    System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_KRYO, obj.getClass(), true, e);
+            throw e;
+        }
+    }
+
+    private static byte[] doToByteArrayKryo(Object obj, ClassLoader classLoader) {
         if (obj == null) {
             return null;
         }
@@ -298,8 +444,25 @@ public class SerializationUtils {
      * @param classLoader
      * @return
      */
-    @SuppressWarnings("unchecked")
     public static <T> T fromByteArrayKryo(byte[] data, Class<T> clazz, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || data == null) {
+            return doFromByteArrayKryo(data, clazz, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            T result = doFromByteArrayKryo(data, clazz, classLoader);
+            l.onDeserialize(CODEC_KRYO, clazz, data.length, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_KRYO, clazz, false, e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T doFromByteArrayKryo(byte[] data, Class<T> clazz,
+                                             ClassLoader classLoader) {
         if (data == null) {
             return null;
         }
@@ -313,7 +476,7 @@ public class SerializationUtils {
                 Input input = kryoInputPool.obtain();
                 try {
                     kryo.setClassLoader(classLoader != null ? classLoader : oldClassLoader);
-                    input.setInputStream(new ByteArrayInputStream(data));
+                    input.setBuffer(data);
                     Object obj = kryo.readClassAndObject(input);
                     input.close();
                     return obj != null && clazz.isAssignableFrom(obj.getClass()) ? (T) obj : null;
@@ -328,26 +491,361 @@ public class SerializationUtils {
         }
     }
 
-    /*----------------------------------------------------------------------*/
-    private final static ObjectPool<ObjectMapper> poolMapper = new GenericObjectPool<ObjectMapper>(
-            new BasePooledObjectFactory<ObjectMapper>() {
-                @Override
-                public ObjectMapper create() throws Exception {
-                    return new ObjectMapper();
+    /**
+     * Serialize a list of objects to one byte array.
+     *
+     * <p>
+     * This method uses Kryo lib. One Kryo instance and one output buffer serve the whole batch, and
+     * class metadata (e.g. class names of unregistered classes) is written only once per batch.
+     * </p>
+     *
+     * @param objs
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static byte[] toByteArrayKryoBatch(List<?> objs, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || objs == null) {
+            return doToByteArrayKryoBatch(objs, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] result = doToByteArrayKryoBatch(objs, classLoader);
+            l.onSerialize(CODEC_KRYO_BATCH, List.class, result != null ? result.length : 0,
+                    System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_KRYO_BATCH, List.class, true, e);
+            throw e;
+        }
+    }
+
+    private static byte[] doToByteArrayKryoBatch(List<?> objs, ClassLoader classLoader) {
+        if (objs == null) {
+            return null;
+        }
+        Kryo kryo = kryoPool.obtain();
+        try {
+            ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                Thread.currentThread().setContextClassLoader(classLoader);
+            }
+            try {
+                Output output = kryoOutputPool.obtain();
+                try {
+                    kryo.setClassLoader(classLoader != null ? classLoader : oldClassLoader);
+                    kryo.setAutoReset(false);
+                    output.writeVarInt(objs.size(), true);
+                    for (Object obj : objs) {
+                        kryo.writeClassAndObject(output, obj);
+                    }
+                    output.close();
+                    return output.toBytes();
+                } catch (Exception e) {
+                    throw e instanceof SerializationException ? (SerializationException) e
+                            : new SerializationException(e);
+                } finally {
+                    kryo.reset();
+                    kryo.setAutoReset(true);
+                    kryoOutputPool.free(output);
+                }
+            } finally {
+                Thread.currentThread().setContextClassLoader(oldClassLoader);
+            }
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    /**
+     * Deserialize a list of objects written by {@link #toByteArrayKryoBatch(List, ClassLoader)}.
+     *
+     * <p>
+     * This method uses Kryo lib. Elements that are not instances of {@code clazz} are returned as
+     * {@code null}.
+     * </p>
+     *
+     * @param data
+     * @param clazz
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> List<T> fromByteArrayKryoBatch(byte[] data, Class<T> clazz,
+                                                     ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || data == null) {
+            return doFromByteArrayKryoBatch(data, clazz, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            List<T> result = doFromByteArrayKryoBatch(data, clazz, classLoader);
+            l.onDeserialize(CODEC_KRYO_BATCH, List.class, data.length, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_KRYO_BATCH, List.class, false, e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> doFromByteArrayKryoBatch(byte[] data, Class<T> clazz,
+                                                       ClassLoader classLoader) {
+        if (data == null) {
+            return null;
+        }
+        Kryo kryo = kryoPool.obtain();
+        try {
+            ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                Thread.currentThread().setContextClassLoader(classLoader);
+            }
+            try {
+                Input input = kryoInputPool.obtain();
+                try {
+                    kryo.setClassLoader(classLoader != null ? classLoader : oldClassLoader);
+                    kryo.setAutoReset(false);
+                    input.setBuffer(data);
+                    int size = input.readVarInt(true);
+                    List<T> result = new ArrayList<>(Math.min(size, data.length));
+                    for (int i = 0; i < size; i++) {
+                        Object obj = kryo.readClassAndObject(input);
+                        result.add(
+                                obj != null && clazz.isAssignableFrom(obj.getClass()) ? (T) obj
+                                        : null);
+                    }
+                    return result;
+                } catch (Exception e) {
+                    throw e instanceof DeserializationException ? (DeserializationException) e
+                            : new DeserializationException(e);
+                } finally {
+                    kryo.reset();
+                    kryo.setAutoReset(true);
+                    kryoInputPool.free(input);
+                }
+            } finally {
+                Thread.currentThread().setContextClassLoader(oldClassLoader);
+            }
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    /**
+     * Create a writer that serializes a stream of records using Kryo lib. Class metadata is shared
+     * by all records of the stream.
+     *
+     * <p>
+     * The writer holds on to a pooled Kryo instance until it is closed.
+     * </p>
+     *
+     * @param out
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static IRecordWriter newKryoRecordWriter(OutputStream out, ClassLoader classLoader) {
+        return new KryoRecordWriter(out, classLoader);
+    }
+
+    /**
+     * Create a reader that deserializes a stream of records written by
+     * {@link #newKryoRecordWriter(OutputStream, ClassLoader)}.
+     *
+     * <p>
+     * The reader holds on to a pooled Kryo instance until it is closed.
+     * </p>
+     *
+     * @param in
+     * @param clazz
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> IRecordReader<T> newKryoRecordReader(InputStream in, Class<T> clazz,
+                                                           ClassLoader classLoader) {
+        return new KryoRecordReader<>(in, clazz, classLoader);
+    }
+
+    private static class KryoRecordWriter implements IRecordWriter {
+        private final Kryo kryo = kryoPool.obtain();
+        private final Output output;
+        private final ClassLoader classLoader;
+        private boolean closed = false;
+
+        KryoRecordWriter(OutputStream out, ClassLoader classLoader) {
+            this.output = new Output(out, INITIAL_BUFFER_SIZE * 8);
+            this.classLoader = classLoader;
+            kryo.setAutoReset(false);
+        }
+
+        @Override
+        public void write(Object obj) throws SerializationException {
+            if (closed) {
+                throw new SerializationException("Writer has been closed!");
+            }
+            ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                Thread.currentThread().setContextClassLoader(classLoader);
+            }
+            ISerializationListener l = obj != null ? listener : null;
+            long start = l != null ? System.nanoTime() : 0;
+            long startPos = output.total();
+            try {
+                kryo.setClassLoader(classLoader != null ? classLoader : oldClassLoader);
+                output.writeBoolean(true);
+                kryo.writeClassAndObject(output, obj);
+                if (l != null) {
+                    l.onSerialize(CODEC_KRYO_STREAM, obj.getClass(),
+                            (int) (output.total() - startPos), System.nanoTime() - start);
+                }
+            } catch (Exception e) {
+                SerializationException se = e instanceof SerializationException
+                        ? (SerializationException) e : new SerializationException(e);
+                if (l != null) {
+                    l.onError(CODEC_KRYO_STREAM, obj.getClass(), true, se);
+                }
+                throw se;
+            } finally {
+                Thread.currentThread().setContextClassLoader(oldClassLoader);
+            }
+        }
+
+        @Override
+        public void flush() throws SerializationException {
+            try {
+                output.flush();
+            } catch (Exception e) {
+                throw e instanceof SerializationException ? (SerializationException) e
+                        : new SerializationException(e);
+            }
+        }
+
+        @Override
+        public void close() throws SerializationException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                // end-of-stream marker
+                output.writeBoolean(false);
+                output.close();
+            } catch (Exception e) {
+                throw e instanceof SerializationException ? (SerializationException) e
+                        : new SerializationException(e);
+            } finally {
+                kryo.reset();
+                kryo.setAutoReset(true);
+                kryoPool.free(kryo);
+            }
+        }
+    }
+
+    private static class KryoRecordReader<T> implements IRecordReader<T> {
+        private final Kryo kryo = kryoPool.obtain();
+        private final Input input;
+        private final Class<T> clazz;
+        private final ClassLoader classLoader;
+        private Boolean hasNext;
+        private boolean closed = false;
+
+        KryoRecordReader(InputStream in, Class<T> clazz, ClassLoader classLoader) {
+            this.input = new Input(in, INITIAL_BUFFER_SIZE * 8);
+            this.clazz = clazz;
+            this.classLoader = classLoader;
+            kryo.setAutoReset(false);
+        }
+
+        @Override
+        public boolean hasNext() throws DeserializationException {
+            if (hasNext == null) {
+                try {
+                    hasNext = !closed && !input.end() && input.readBoolean();
+                } catch (Exception e) {
+                    throw e instanceof DeserializationException ? (DeserializationException) e
+                            : new DeserializationException(e);
                 }
+            }
+            return hasNext.booleanValue();
+        }
 
-                @Override
-                public PooledObject<ObjectMapper> wrap(ObjectMapper objMapper) {
-                    return new DefaultPooledObject<ObjectMapper>(objMapper);
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() throws DeserializationException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                Thread.currentThread().setContextClassLoader(classLoader);
+            }
+            ISerializationListener l = listener;
+            long start = l != null ? System.nanoTime() : 0;
+            long startPos = input.total();
+            try {
+                kryo.setClassLoader(classLoader != null ? classLoader : oldClassLoader);
+                Object obj = kryo.readClassAndObject(input);
+                if (l != null) {
+                    l.onDeserialize(CODEC_KRYO_STREAM, clazz, (int) (input.total() - startPos),
+                            System.nanoTime() - start);
                 }
-            });
+                return obj != null && clazz.isAssignableFrom(obj.getClass()) ? (T) obj : null;
+            } catch (Exception e) {
+                DeserializationException de = e instanceof DeserializationException
+                        ? (DeserializationException) e : new DeserializationException(e);
+                if (l != null) {
+                    l.onError(CODEC_KRYO_STREAM, clazz, false, de);
+                }
+                throw de;
+            } finally {
+                Thread.currentThread().setContextClassLoader(oldClassLoader);
+            }
+        }
+
+        @Override
+        public void close() throws DeserializationException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                input.close();
+            } catch (Exception e) {
+                throw e instanceof DeserializationException ? (DeserializationException) e
+                        : new DeserializationException(e);
+            } finally {
+                kryo.reset();
+                kryo.setAutoReset(true);
+                kryoPool.free(kryo);
+            }
+        }
+    }
 
-    static {
-        GenericObjectPool<ObjectMapper> pool = (GenericObjectPool<ObjectMapper>) poolMapper;
-        pool.setMaxIdle(1);
-        pool.setMaxTotal(100);
-        pool.setMaxWaitMillis(5000);
-        pool.setBlockWhenExhausted(true);
+    /*----------------------------------------------------------------------*/
+    /**
+     * ObjectMapper is thread-safe once configured, textual JSON methods share one instance rather
+     * than pooling them (a pool miss would create a new, costly mapper per concurrent caller).
+     */
+    private final static ObjectMapper jsonMapper = createObjectMapper(null);
+
+    /**
+     * Create a new {@link ObjectMapper} on top of the supplied {@link JsonFactory}.
+     *
+     * <p>
+     * No custom feature or module is applied: the mapper has Jackson's default configuration, the
+     * same as the mapper used by the textual JSON methods of this class, so that JSON and binary
+     * JSON formats produce the same tree for the same object.
+     * </p>
+     *
+     * @param jsonFactory {@code null} to use the default (textual JSON) factory
+     * @return
+     * @since 1.0.0
+     */
+    public static ObjectMapper createObjectMapper(JsonFactory jsonFactory) {
+        return new ObjectMapper(jsonFactory);
     }
 
     /**
@@ -368,6 +866,23 @@ public class SerializationUtils {
      * @return
      */
     public static String toJsonString(Object obj, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || obj == null) {
+            return doToJsonString(obj, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            String result = doToJsonString(obj, classLoader);
+            l.onSerialize(CODEC_JSON, obj.getClass(), result != null ? utf8Length(result) : 0,
+                    System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON, obj.getClass(), true, e);
+            throw e;
+        }
+    }
+
+    private static String doToJsonString(Object obj, ClassLoader classLoader) {
         if (obj == null) {
             return "null";
         }
@@ -376,15 +891,7 @@ public class SerializationUtils {
             Thread.currentThread().setContextClassLoader(classLoader);
         }
         try {
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.writeValueAsString(obj);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new SerializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.writeValueAsString(obj);
         } catch (Exception e) {
             throw e instanceof SerializationException ? (SerializationException) e
                     : new SerializationException(e);
@@ -413,6 +920,22 @@ public class SerializationUtils {
      * @since 0.6.2
      */
     public static JsonNode toJson(Object obj, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || obj == null) {
+            return doToJson(obj, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            JsonNode result = doToJson(obj, classLoader);
+            l.onSerialize(CODEC_JSON_TREE, obj.getClass(), 0, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON_TREE, obj.getClass(), true, e);
+            throw e;
+        }
+    }
+
+    private static JsonNode doToJson(Object obj, ClassLoader classLoader) {
         ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
         if (classLoader != null) {
             Thread.currentThread().setContextClassLoader(classLoader);
@@ -421,15 +944,7 @@ public class SerializationUtils {
             if (obj == null) {
                 return NullNode.instance;
             }
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.valueToTree(obj);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new SerializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.valueToTree(obj);
         } catch (Exception e) {
             throw e instanceof SerializationException ? (SerializationException) e
                     : new SerializationException(e);
@@ -458,6 +973,23 @@ public class SerializationUtils {
      * @since 0.6.2
      */
     public static JsonNode readJson(String source, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || StringUtils.isBlank(source)) {
+            return doReadJson(source, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            JsonNode result = doReadJson(source, classLoader);
+            l.onDeserialize(CODEC_JSON, JsonNode.class, utf8Length(source),
+                    System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON, JsonNode.class, false, e);
+            throw e;
+        }
+    }
+
+    private static JsonNode doReadJson(String source, ClassLoader classLoader) {
         ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
         if (classLoader != null) {
             Thread.currentThread().setContextClassLoader(classLoader);
@@ -466,15 +998,7 @@ public class SerializationUtils {
             if (StringUtils.isBlank(source)) {
                 return NullNode.instance;
             }
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.readTree(source);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new SerializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.readTree(source);
         } catch (Exception e) {
             throw e instanceof SerializationException ? (SerializationException) e
                     : new SerializationException(e);
@@ -503,23 +1027,31 @@ public class SerializationUtils {
      * @since 0.6.2
      */
     public static JsonNode readJson(byte[] source, ClassLoader classLoader) {
-        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
-        if (classLoader != null) {
+        ISerializationListener l = listener;
+        if (l == null || source == null || source.length == 0) {
+            return doReadJson(source, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            JsonNode result = doReadJson(source, classLoader);
+            l.onDeserialize(CODEC_JSON, JsonNode.class, source.length, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON, JsonNode.class, false, e);
+            throw e;
+        }
+    }
+
+    private static JsonNode doReadJson(byte[] source, ClassLoader classLoader) {
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader != null) {
             Thread.currentThread().setContextClassLoader(classLoader);
         }
         try {
             if (source == null || source.length == 0) {
                 return NullNode.instance;
             }
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.readTree(source);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new SerializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.readTree(source);
         } catch (Exception e) {
             throw e instanceof SerializationException ? (SerializationException) e
                     : new SerializationException(e);
@@ -548,6 +1080,22 @@ public class SerializationUtils {
      * @since 0.6.2
      */
     public static JsonNode readJson(InputStream source, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || source == null) {
+            return doReadJson(source, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            JsonNode result = doReadJson(source, classLoader);
+            l.onDeserialize(CODEC_JSON, JsonNode.class, 0, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON, JsonNode.class, false, e);
+            throw e;
+        }
+    }
+
+    private static JsonNode doReadJson(InputStream source, ClassLoader classLoader) {
         ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
         if (classLoader != null) {
             Thread.currentThread().setContextClassLoader(classLoader);
@@ -556,15 +1104,7 @@ public class SerializationUtils {
             if (source == null) {
                 return NullNode.instance;
             }
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.readTree(source);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new SerializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.readTree(source);
         } catch (Exception e) {
             throw e instanceof SerializationException ? (SerializationException) e
                     : new SerializationException(e);
@@ -593,6 +1133,22 @@ public class SerializationUtils {
      * @since 0.6.2
      */
     public static JsonNode readJson(Reader source, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || source == null) {
+            return doReadJson(source, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            JsonNode result = doReadJson(source, classLoader);
+            l.onDeserialize(CODEC_JSON, JsonNode.class, 0, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON, JsonNode.class, false, e);
+            throw e;
+        }
+    }
+
+    private static JsonNode doReadJson(Reader source, ClassLoader classLoader) {
         ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
         if (classLoader != null) {
             Thread.currentThread().setContextClassLoader(classLoader);
@@ -601,15 +1157,7 @@ public class SerializationUtils {
             if (source == null) {
                 return NullNode.instance;
             }
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.readTree(source);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new SerializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.readTree(source);
         } catch (Exception e) {
             throw e instanceof SerializationException ? (SerializationException) e
                     : new SerializationException(e);
@@ -658,6 +1206,23 @@ public class SerializationUtils {
      * @return
      */
     public static <T> T fromJsonString(String jsonString, Class<T> clazz, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || jsonString == null) {
+            return doFromJsonString(jsonString, clazz, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            T result = doFromJsonString(jsonString, clazz, classLoader);
+            l.onDeserialize(CODEC_JSON, clazz, utf8Length(jsonString), System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON, clazz, false, e);
+            throw e;
+        }
+    }
+
+    private static <T> T doFromJsonString(String jsonString, Class<T> clazz,
+                                          ClassLoader classLoader) {
         if (jsonString == null) {
             return null;
         }
@@ -666,15 +1231,7 @@ public class SerializationUtils {
             Thread.currentThread().setContextClassLoader(classLoader);
         }
         try {
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.readValue(jsonString, clazz);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new DeserializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.readValue(jsonString, clazz);
         } catch (Exception e) {
             throw e instanceof DeserializationException ? (DeserializationException) e
                     : new DeserializationException(e);
@@ -727,6 +1284,22 @@ public class SerializationUtils {
      * @since 0.6.2
      */
     public static <T> T fromJson(JsonNode json, Class<T> clazz, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || json == null) {
+            return doFromJson(json, clazz, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            T result = doFromJson(json, clazz, classLoader);
+            l.onDeserialize(CODEC_JSON_TREE, clazz, 0, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_JSON_TREE, clazz, false, e);
+            throw e;
+        }
+    }
+
+    private static <T> T doFromJson(JsonNode json, Class<T> clazz, ClassLoader classLoader) {
         if (json == null) {
             return null;
         }
@@ -735,15 +1308,7 @@ public class SerializationUtils {
             Thread.currentThread().setContextClassLoader(classLoader);
         }
         try {
-            ObjectMapper mapper = poolMapper.borrowObject();
-            if (mapper != null) {
-                try {
-                    return mapper.readValue(json.toString(), clazz);
-                } finally {
-                    poolMapper.returnObject(mapper);
-                }
-            }
-            throw new DeserializationException("No ObjectMapper instance avaialble!");
+            return jsonMapper.readValue(json.toString(), clazz);
         } catch (Exception e) {
             throw e instanceof DeserializationException ? (DeserializationException) e
                     : new DeserializationException(e);
@@ -753,13 +1318,427 @@ public class SerializationUtils {
     }
 
     /*----------------------------------------------------------------------*/
-    private static ThreadLocal<FSTConfiguration> fstConf = new ThreadLocal<FSTConfiguration>() {
-        public FSTConfiguration initialValue() {
-            FSTConfiguration conf = FSTConfiguration.createDefaultConfiguration();
-            conf.setForceSerializable(true);
+    /*
+     * Like textual JSON, binary JSON formats share one (thread-safe) ObjectMapper instance each.
+     */
+    private final static ObjectMapper smileMapper = createObjectMapper(new SmileFactory());
+    private final static ObjectMapper cborMapper = createObjectMapper(new CBORFactory());
+    private final static ObjectMapper msgPackMapper = createObjectMapper(new MessagePackFactory());
+
+    private static byte[] toByteArrayBinaryJson(String codec, ObjectMapper mapper, Object obj,
+                                                ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || obj == null) {
+            return doToByteArrayBinaryJson(mapper, obj, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] result = doToByteArrayBinaryJson(mapper, obj, classLoader);
+            l.onSerialize(codec, obj.getClass(), result != null ? result.length : 0,
+                    System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(codec, obj.getClass(), true, e);
+            throw e;
+        }
+    }
+
+    private static byte[] doToByteArrayBinaryJson(ObjectMapper mapper, Object obj,
+                                                  ClassLoader classLoader) {
+        if (obj == null) {
+            return null;
+        }
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader != null) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+        }
+        try {
+            return mapper.writeValueAsBytes(obj);
+        } catch (Exception e) {
+            throw e instanceof SerializationException ? (SerializationException) e
+                    : new SerializationException(e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldClassLoader);
+        }
+    }
+
+    private static <T> T fromByteArrayBinaryJson(String codec, ObjectMapper mapper, byte[] data,
+                                                 Class<T> clazz, ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || data == null) {
+            return doFromByteArrayBinaryJson(mapper, data, clazz, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            T result = doFromByteArrayBinaryJson(mapper, data, clazz, classLoader);
+            l.onDeserialize(codec, clazz, data.length, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(codec, clazz, false, e);
+            throw e;
+        }
+    }
+
+    private static <T> T doFromByteArrayBinaryJson(ObjectMapper mapper, byte[] data,
+                                                   Class<T> clazz, ClassLoader classLoader) {
+        if (data == null) {
+            return null;
+        }
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader != null) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+        }
+        try {
+            return mapper.readValue(data, clazz);
+        } catch (Exception e) {
+            throw e instanceof DeserializationException ? (DeserializationException) e
+                    : new DeserializationException(e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldClassLoader);
+        }
+    }
+
+    /**
+     * Serialize an object to byte array.
+     *
+     * <p>
+     * This method uses Smile (binary JSON) encoding.
+     * </p>
+     *
+     * @param obj
+     * @return
+     * @since 1.0.0
+     */
+    public static byte[] toByteArraySmile(Object obj) {
+        return toByteArraySmile(obj, null);
+    }
+
+    /**
+     * Serialize an object to byte array, with a custom class loader.
+     *
+     * <p>
+     * This method uses Smile (binary JSON) encoding.
+     * </p>
+     *
+     * @param obj
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static byte[] toByteArraySmile(Object obj, ClassLoader classLoader) {
+        return toByteArrayBinaryJson(CODEC_SMILE, smileMapper, obj, classLoader);
+    }
+
+    /**
+     * Deserialize a byte array back to an object.
+     *
+     * <p>
+     * This method uses Smile (binary JSON) encoding.
+     * </p>
+     *
+     * @param data
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T fromByteArraySmile(byte[] data, Class<T> clazz) {
+        return fromByteArraySmile(data, clazz, null);
+    }
+
+    /**
+     * Deserialize a byte array back to an object, with custom class loader.
+     *
+     * <p>
+     * This method uses Smile (binary JSON) encoding.
+     * </p>
+     *
+     * @param data
+     * @param clazz
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T fromByteArraySmile(byte[] data, Class<T> clazz, ClassLoader classLoader) {
+        return fromByteArrayBinaryJson(CODEC_SMILE, smileMapper, data, clazz, classLoader);
+    }
+
+    /**
+     * Serialize an object to byte array.
+     *
+     * <p>
+     * This method uses CBOR (binary JSON) encoding.
+     * </p>
+     *
+     * @param obj
+     * @return
+     * @since 1.0.0
+     */
+    public static byte[] toByteArrayCbor(Object obj) {
+        return toByteArrayCbor(obj, null);
+    }
+
+    /**
+     * Serialize an object to byte array, with a custom class loader.
+     *
+     * <p>
+     * This method uses CBOR (binary JSON) encoding.
+     * </p>
+     *
+     * @param obj
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static byte[] toByteArrayCbor(Object obj, ClassLoader classLoader) {
+        return toByteArrayBinaryJson(CODEC_CBOR, cborMapper, obj, classLoader);
+    }
+
+    /**
+     * Deserialize a byte array back to an object.
+     *
+     * <p>
+     * This method uses CBOR (binary JSON) encoding.
+     * </p>
+     *
+     * @param data
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T fromByteArrayCbor(byte[] data, Class<T> clazz) {
+        return fromByteArrayCbor(data, clazz, null);
+    }
+
+    /**
+     * Deserialize a byte array back to an object, with custom class loader.
+     *
+     * <p>
+     * This method uses CBOR (binary JSON) encoding.
+     * </p>
+     *
+     * @param data
+     * @param clazz
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T fromByteArrayCbor(byte[] data, Class<T> clazz, ClassLoader classLoader) {
+        return fromByteArrayBinaryJson(CODEC_CBOR, cborMapper, data, clazz, classLoader);
+    }
+
+    /**
+     * Serialize an object to byte array.
+     *
+     * <p>
+     * This method uses MessagePack (binary JSON) encoding.
+     * </p>
+     *
+     * @param obj
+     * @return
+     * @since 1.0.0
+     */
+    public static byte[] toByteArrayMsgPack(Object obj) {
+        return toByteArrayMsgPack(obj, null);
+    }
+
+    /**
+     * Serialize an object to byte array, with a custom class loader.
+     *
+     * <p>
+     * This method uses MessagePack (binary JSON) encoding.
+     * </p>
+     *
+     * @param obj
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static byte[] toByteArrayMsgPack(Object obj, ClassLoader classLoader) {
+        return toByteArrayBinaryJson(CODEC_MSGPACK, msgPackMapper, obj, classLoader);
+    }
+
+    /**
+     * Deserialize a byte array back to an object.
+     *
+     * <p>
+     * This method uses MessagePack (binary JSON) encoding.
+     * </p>
+     *
+     * @param data
+     * @param clazz
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T fromByteArrayMsgPack(byte[] data, Class<T> clazz) {
+        return fromByteArrayMsgPack(data, clazz, null);
+    }
+
+    /**
+     * Deserialize a byte array back to an object, with custom class loader.
+     *
+     * <p>
+     * This method uses MessagePack (binary JSON) encoding.
+     * </p>
+     *
+     * @param data
+     * @param clazz
+     * @param classLoader
+     * @return
+     * @since 1.0.0
+     */
+    public static <T> T fromByteArrayMsgPack(byte[] data, Class<T> clazz, ClassLoader classLoader) {
+        return fromByteArrayBinaryJson(CODEC_MSGPACK, msgPackMapper, data, clazz, classLoader);
+    }
+
+    /*----------------------------------------------------------------------*/
+    /**
+     * Max number of {@link FSTConfiguration} instances, i.e. of concurrent FST (de)serializations.
+     *
+     * @since 1.0.0
+     */
+    public final static int FST_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * Max time (milliseconds) to wait for a {@link FSTConfiguration} instance when all of them are
+     * in use.
+     *
+     * @since 1.0.0
+     */
+    public final static long FST_POOL_MAX_WAIT_MS = 5000;
+
+    /**
+     * Counters of the {@link FSTConfiguration} pool, see {@link #getPoolStats()}.
+     *
+     * @since 1.0.0
+     */
+    public static class FstPoolStats {
+        private final long hits, waits, timeouts, waitNanos;
+
+        private FstPoolStats(long hits, long waits, long timeouts, long waitNanos) {
+            this.hits = hits;
+            this.waits = waits;
+            this.timeouts = timeouts;
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * Number of borrows served without waiting.
+         *
+         * @return
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Number of borrows that had to wait for an instance to be released (including those that
+         * timed out).
+         *
+         * @return
+         */
+        public long getWaits() {
+            return waits;
+        }
+
+        /**
+         * Number of borrows that gave up after {@link #FST_POOL_MAX_WAIT_MS}.
+         *
+         * @return
+         */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * Total time spent waiting, in nanoseconds.
+         *
+         * @return
+         */
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "{hits=" + hits + ", waits=" + waits + ", timeouts=" + timeouts
+                    + ", waitNanos=" + waitNanos + "}";
+        }
+    }
+
+    /*
+     * Kept out of FstConfPool, so that reading them does not create the pool.
+     */
+    private final static LongAdder fstPoolHits = new LongAdder(), fstPoolWaits = new LongAdder(),
+            fstPoolTimeouts = new LongAdder(), fstPoolWaitNanos = new LongAdder();
+
+    /*
+     * FSTConfiguration is costly to create and holds large class-info caches: a fixed number of
+     * instances is created the first time FST is used and callers wait for one to be released,
+     * rather than creating a new instance for each concurrent (e.g. virtual) thread.
+     */
+    private final static class FstConfPool {
+        private final static BlockingQueue<FSTConfiguration> pool = new ArrayBlockingQueue<>(
+                FST_POOL_SIZE);
+
+        static {
+            for (int i = 0; i < FST_POOL_SIZE; i++) {
+                FSTConfiguration conf = FSTConfiguration.createDefaultConfiguration();
+                conf.setForceSerializable(true);
+                pool.add(conf);
+            }
+        }
+
+        static FSTConfiguration obtain() throws InterruptedException {
+            FSTConfiguration conf = pool.poll();
+            if (conf != null) {
+                fstPoolHits.increment();
+                return conf;
+            }
+            fstPoolWaits.increment();
+            long start = System.nanoTime();
+            try {
+                conf = pool.poll(FST_POOL_MAX_WAIT_MS, TimeUnit.MILLISECONDS);
+            } finally {
+                fstPoolWaitNanos.add(System.nanoTime() - start);
+            }
+            if (conf == null) {
+                fstPoolTimeouts.increment();
+            }
             return conf;
         }
-    };
+
+        static void free(FSTConfiguration conf) {
+            if (conf != null) {
+                pool.offer(conf);
+            }
+        }
+    }
+
+    /**
+     * Counters of the internal object pools, keyed by pool name: {@link StripedPool.Stats} for the
+     * Kryo pools ({@code kryo}, {@code kryoOutput} and {@code kryoInput}), {@link FstPoolStats}
+     * for the FST pool ({@code fst}).
+     *
+     * <p>
+     * The Kryo pools never block: a miss creates a new object. A high miss rate means the pools are
+     * too small for the level of concurrency; a high reject rate on {@code kryoOutput} means many
+     * objects are serialized to more than {@link #MAX_RETAINED_BUFFER_SIZE} bytes. The FST pool
+     * is bounded by {@link #FST_POOL_SIZE}: waits and timeouts mean more concurrent FST
+     * (de)serializations than pooled instances.
+     * </p>
+     *
+     * @return
+     * @since 1.0.0
+     */
+    public static Map<String, Object> getPoolStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("kryo", kryoPool.getStats());
+        result.put("kryoOutput", kryoOutputPool.getStats());
+        result.put("kryoInput", kryoInputPool.getStats());
+        result.put("fst", new FstPoolStats(fstPoolHits.sum(), fstPoolWaits.sum(),
+                fstPoolTimeouts.sum(), fstPoolWaitNanos.sum()));
+        return result;
+    }
 
     /**
      * Serialize an object to byte array.
@@ -789,6 +1768,23 @@ public class SerializationUtils {
      * @since 0.6.0
      */
     public static byte[] toByteArrayFst(final Object obj, final ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || obj == null) {
+            return doToByteArrayFst(obj, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] result = doToByteArrayFst(obj, classLoader);
+            l.onSerialize(CODEC_FST, obj.getClass(), result != null ? result.length : 0,
+                    System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_FST, obj.getClass(), true, e);
+            throw e;
+        }
+    }
+
+    private static byte[] doToByteArrayFst(final Object obj, final ClassLoader classLoader) {
         if (obj == null) {
             return null;
         }
@@ -796,14 +1792,22 @@ public class SerializationUtils {
         if (classLoader != null) {
             Thread.currentThread().setContextClassLoader(classLoader);
         }
+        FSTConfiguration conf = null;
         try {
-            FSTConfiguration conf = fstConf.get();
+            conf = FstConfPool.obtain();
+            if (conf == null) {
+                throw new SerializationException("No FSTConfiguration instance available!");
+            }
             conf.setClassLoader(classLoader != null ? classLoader : oldClassLoader);
             return conf.asByteArray(obj);
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             throw e instanceof SerializationException ? (SerializationException) e
                     : new SerializationException(e);
         } finally {
+            FstConfPool.free(conf);
             Thread.currentThread().setContextClassLoader(oldClassLoader);
         }
     }
@@ -868,9 +1872,26 @@ public class SerializationUtils {
      * @return
      * @since 0.6.0
      */
-    @SuppressWarnings("unchecked")
     public static <T> T fromByteArrayFst(final byte[] data, final Class<T> clazz,
                                          final ClassLoader classLoader) {
+        ISerializationListener l = listener;
+        if (l == null || data == null) {
+            return doFromByteArrayFst(data, clazz, classLoader);
+        }
+        long start = System.nanoTime();
+        try {
+            T result = doFromByteArrayFst(data, clazz, classLoader);
+            l.onDeserialize(CODEC_FST, clazz, data.length, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            l.onError(CODEC_FST, clazz, false, e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T doFromByteArrayFst(final byte[] data, final Class<T> clazz,
+                                           final ClassLoader classLoader) {
         if (data == null) {
             return null;
         }
@@ -878,8 +1899,12 @@ public class SerializationUtils {
         if (classLoader != null) {
             Thread.currentThread().setContextClassLoader(classLoader);
         }
+        FSTConfiguration conf = null;
         try {
-            FSTConfiguration conf = fstConf.get();
+            conf = FstConfPool.obtain();
+            if (conf == null) {
+                throw new DeserializationException("No FSTConfiguration instance available!");
+            }
             conf.setClassLoader(classLoader != null ? classLoader : oldClassLoader);
             Object result = conf.asObject(data);
             if (result != null && clazz.isAssignableFrom(result.getClass())) {
@@ -888,9 +1913,13 @@ public class SerializationUtils {
                 return null;
             }
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             throw e instanceof DeserializationException ? (DeserializationException) e
                     : new DeserializationException(e);
         } finally {
+            FstConfPool.free(conf);
             Thread.currentThread().setContextClassLoader(oldClassLoader);
         }
     }
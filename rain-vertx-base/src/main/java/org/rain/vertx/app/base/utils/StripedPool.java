@@ -0,0 +1,250 @@
+package org.rain.vertx.app.base.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, non-blocking object pool, striped by thread.
+ *
+ * <p>
+ * Pooled objects are kept in a small number of stripes (a power of two, by default the next one
+ * at or above {@code 2 x availableProcessors()}). A thread always starts looking in the stripe its
+ * thread id hashes to, so concurrent threads seldom touch the same slots, then scans the other
+ * stripes before giving up:
+ * <ul>
+ * <li>{@link #obtain()} never blocks: a new object is created only if the whole pool is empty.</li>
+ * <li>{@link #free(Object)} never blocks: the object is dropped only if the whole pool is full.</li>
+ * </ul>
+ * Unlike a {@link ThreadLocal}, the number of retained objects is bounded by the pool capacity and
+ * does not grow with the number of threads. As of Java 17 there is no API to get the current CPU
+ * or carrier thread, hence the thread id is used as stripe key: it gives a stable affinity to
+ * platform threads, while short-lived (e.g. virtual) threads land on an arbitrary stripe and rely
+ * on the scan to find a pooled object. As misses are not bounded, the pool is meant for objects
+ * that are cheap to create; use a bounded, blocking pool for heavyweight ones.
+ * </p>
+ *
+ * <p>
+ * Subclasses implement {@link #create()} and may override {@link #recycle(Object)} to reset an
+ * object before it is put back (e.g. to shrink an oversized buffer) or to reject it.
+ * </p>
+ *
+ * @param <T>
+ * @since 1.0.0
+ */
+public abstract class StripedPool<T> {
+    /**
+     * Snapshot of pool counters.
+     */
+    public static class Stats {
+        private final long hits, misses, contended, dropped, rejected;
+
+        private Stats(long hits, long misses, long contended, long dropped, long rejected) {
+            this.hits = hits;
+            this.misses = misses;
+            this.contended = contended;
+            this.dropped = dropped;
+            this.rejected = rejected;
+        }
+
+        /**
+         * Number of {@link StripedPool#obtain()} calls served by a pooled object.
+         *
+         * @return
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Number of {@link StripedPool#obtain()} calls that had to create a new object (i.e. where
+         * a blocking pool would have made the caller wait).
+         *
+         * @return
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Number of {@link StripedPool#obtain()} calls that found their own stripe empty and had
+         * to scan the other stripes.
+         *
+         * @return
+         */
+        public long getContended() {
+            return contended;
+        }
+
+        /**
+         * Number of objects dropped by {@link StripedPool#free(Object)} because the pool was full.
+         *
+         * @return
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        /**
+         * Number of objects rejected by {@link StripedPool#recycle(Object)}.
+         *
+         * @return
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        @Override
+        public String toString() {
+            return "{hits=" + hits + ", misses=" + misses + ", contended=" + contended
+                    + ", dropped=" + dropped + ", rejected=" + rejected + "}";
+        }
+    }
+
+    private final static int DEFAULT_SLOTS_PER_STRIPE = 2;
+
+    /**
+     * Stripes are at least this number of references apart, so that they do not share a cache
+     * line.
+     */
+    private final static int MIN_STRIPE_STRIDE = 16;
+
+    private final int stripeMask;
+    private final int slotsPerStripe;
+    private final int stripeStride;
+    private final AtomicReferenceArray<T> slots;
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder(),
+            contended = new LongAdder(), dropped = new LongAdder(), rejected = new LongAdder();
+
+    /**
+     * Create a pool with default number of stripes and 2 slots per stripe.
+     */
+    public StripedPool() {
+        this(Runtime.getRuntime().availableProcessors() * 2, DEFAULT_SLOTS_PER_STRIPE);
+    }
+
+    /**
+     * @param stripes
+     *         number of stripes, rounded up to a power of two
+     * @param slotsPerStripe
+     *         max number of objects retained per stripe
+     */
+    public StripedPool(int stripes, int slotsPerStripe) {
+        if (stripes < 1 || slotsPerStripe < 1) {
+            throw new IllegalArgumentException("Stripes and slots per stripe must be positive!");
+        }
+        int _stripes = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripeMask = _stripes - 1;
+        this.slotsPerStripe = slotsPerStripe;
+        this.stripeStride = Math.max(slotsPerStripe, MIN_STRIPE_STRIDE);
+        this.slots = new AtomicReferenceArray<>(_stripes * stripeStride);
+    }
+
+    /**
+     * Create a new object, called when the pool has no object available.
+     *
+     * @return
+     */
+    protected abstract T create();
+
+    /**
+     * Prepare an object to be put back into the pool. Return {@code false} to drop the object
+     * instead.
+     *
+     * @param obj
+     * @return
+     */
+    protected boolean recycle(T obj) {
+        return true;
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+
+    private T take(int stripe) {
+        int base = stripe * stripeStride;
+        for (int i = 0; i < slotsPerStripe; i++) {
+            if (slots.get(base + i) != null) {
+                T obj = slots.getAndSet(base + i, null);
+                if (obj != null) {
+                    return obj;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean put(int stripe, T obj) {
+        int base = stripe * stripeStride;
+        for (int i = 0; i < slotsPerStripe; i++) {
+            if (slots.get(base + i) == null && slots.compareAndSet(base + i, null, obj)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtain an object from the pool, or create a new one if none is available.
+     *
+     * @return
+     */
+    public T obtain() {
+        int stripe = stripe();
+        T obj = take(stripe);
+        if (obj == null && stripeMask != 0) {
+            contended.increment();
+            for (int i = 1; obj == null && i <= stripeMask; i++) {
+                obj = take((stripe + i) & stripeMask);
+            }
+        }
+        if (obj != null) {
+            hits.increment();
+            return obj;
+        }
+        misses.increment();
+        return create();
+    }
+
+    /**
+     * Return an object to the pool.
+     *
+     * @param obj
+     */
+    public void free(T obj) {
+        if (obj == null) {
+            return;
+        }
+        if (!recycle(obj)) {
+            rejected.increment();
+            return;
+        }
+        int stripe = stripe();
+        for (int i = 0; i <= stripeMask; i++) {
+            if (put((stripe + i) & stripeMask, obj)) {
+                return;
+            }
+        }
+        dropped.increment();
+    }
+
+    /**
+     * Max number of objects retained by this pool.
+     *
+     * @return
+     */
+    public int getCapacity() {
+        return (stripeMask + 1) * slotsPerStripe;
+    }
+
+    /**
+     * Snapshot of pool counters.
+     *
+     * @return
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), contended.sum(), dropped.sum(), rejected.sum());
+    }
+}
@@ -0,0 +1,118 @@
+package org.rain.vertx.app.benchmark.id;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rain.vertx.app.base.id.IdGenerator;
+
+/**
+ * Multi-threaded throughput of {@link IdGenerator} against the former {@code synchronized}
+ * implementation ({@link LegacyIdGenerator}).
+ *
+ * <p>
+ * {@code id64}/{@code id128} measure contention on one ID type ({@code -t} overrides the thread
+ * count); the {@code mixed} groups generate 64-bit and mini IDs concurrently, where the legacy
+ * implementation also shares one sequence between ID types. Note that 64-bit IDs are capped at
+ * 8192 IDs per millisecond by their 13-bit sequence. {@code id64Batch} measures (per ID) the
+ * batch API.
+ * </p>
+ *
+ * <p>
+ * {@code waitStrategy} sets how {@link IdGenerator} waits when a sequence overflows: {@code SPIN}
+ * waits like the legacy implementation (yield-spin), and is the like-for-like comparison. Legacy
+ * benchmarks do not depend on it.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+    private final static int BATCH_SIZE = 1024;
+
+    @Param({ "SPIN", "PARK", "BORROW" })
+    public IdGenerator.WaitStrategy waitStrategy;
+
+    private IdGenerator idGen;
+    private LegacyIdGenerator legacyIdGen;
+
+    @Setup
+    public void setup() {
+        idGen = IdGenerator.getInstance(1).setWaitStrategy(waitStrategy);
+        legacyIdGen = new LegacyIdGenerator(1);
+    }
+
+    @Benchmark
+    public long id64() {
+        return idGen.generateId64();
+    }
+
+    @Benchmark
+    public long legacyId64() {
+        return legacyIdGen.generateId64();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long[] id64Batch() {
+        return idGen.generateId64Batch(BATCH_SIZE);
+    }
+
+    @Benchmark
+    public BigInteger id128() {
+        return idGen.generateId128();
+    }
+
+    @Benchmark
+    public BigInteger legacyId128() {
+        return legacyIdGen.generateId128();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public long mixedId64() {
+        return idGen.generateId64();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public long mixedIdMini() {
+        return idGen.generateIdMini();
+    }
+
+    @Benchmark
+    @Group("legacyMixed")
+    @GroupThreads(4)
+    public long legacyMixedId64() {
+        return legacyIdGen.generateId64();
+    }
+
+    @Benchmark
+    @Group("legacyMixed")
+    @GroupThreads(4)
+    public long legacyMixedIdMini() {
+        return legacyIdGen.generateIdMini();
+    }
+}
@@ -0,0 +1,88 @@
+package org.rain.vertx.app.benchmark.id;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.rain.vertx.app.base.id.IdGenerator;
+
+/**
+ * Copy of the former, {@code synchronized} implementation of {@link IdGenerator} (all ID types
+ * share one monitor and one {@code (timestamp, sequence)} state), kept as a baseline for
+ * {@link IdGeneratorBenchmark}.
+ *
+ * @since 1.0.0
+ */
+public class LegacyIdGenerator {
+    private final static long MASK_TIMESTAMP_MINI = 0x1FFFFFFFFFFL; // 41 bits
+    private final static long MASK_SEQUENCE_MINI = 0x7FL; // 7 bits
+    private final static long MAX_SEQUENCE_MINI = 0x7FL; // 7 bits
+    private final static int SHIFT_TIMESTAMP_MINI = 7;
+
+    private final static long MASK_TIMESTAMP_64 = 0x1FFFFFFFFFFL; // 41 bits
+    private final static long MASK_NODE_ID_64 = 0x3FFL; // 10 bits
+    private final static long MASK_SEQUENCE_64 = 0x1FFFL; // 13 bits
+    private final static long MAX_SEQUENCE_64 = 0x1FFFL; // 13 bits
+    private final static int SHIFT_TIMESTAMP_64 = 23;
+    private final static int SHIFT_NODE_ID_64 = 13;
+
+    private final static long MASK_NODE_ID_128 = 0xFFFFFFFFFFFFL; // 48 bits
+    private final static long MASK_SEQUENCE_128 = 0xFFFF; // 16 bits
+    private final static long MAX_SEQUENCE_128 = 0xFFFF; // 16 bits
+    private final static int SHIFT_TIMESTAMP_128 = 64;
+    private final static int SHIFT_NODE_ID_128 = 16;
+
+    private final long template64;
+    private final BigInteger template128;
+    private AtomicLong sequenceMillisec = new AtomicLong();
+    private AtomicLong lastTimestampMillisec = new AtomicLong();
+
+    public LegacyIdGenerator(long nodeId) {
+        template64 = (nodeId & MASK_NODE_ID_64) << SHIFT_NODE_ID_64;
+        template128 = BigInteger.valueOf(nodeId & MASK_NODE_ID_128).shiftLeft(SHIFT_NODE_ID_128);
+    }
+
+    private long nextSequence(long maxSequence) {
+        long timestamp = System.currentTimeMillis();
+        long sequence = 0;
+        boolean done = false;
+        while (!done) {
+            done = true;
+            while (timestamp < lastTimestampMillisec.get()) {
+                timestamp = IdGenerator.waitTillNextMillisec(timestamp);
+            }
+            if (timestamp == lastTimestampMillisec.get()) {
+                // increase sequence
+                sequence = sequenceMillisec.incrementAndGet();
+                if (sequence > maxSequence) {
+                    // reset sequence
+                    sequenceMillisec.set(sequence = 0);
+                    timestamp = IdGenerator.waitTillNextMillisec(timestamp);
+                    done = false;
+                }
+            }
+        }
+        sequenceMillisec.set(sequence);
+        lastTimestampMillisec.set(timestamp);
+        return sequence;
+    }
+
+    synchronized public long generateIdMini() {
+        long sequence = nextSequence(MAX_SEQUENCE_MINI);
+        long timestamp = (lastTimestampMillisec.get() - IdGenerator.TIMESTAMP_EPOCH)
+                & MASK_TIMESTAMP_MINI;
+        return timestamp << SHIFT_TIMESTAMP_MINI | (sequence & MASK_SEQUENCE_MINI);
+    }
+
+    synchronized public long generateId64() {
+        long sequence = nextSequence(MAX_SEQUENCE_64);
+        long timestamp = (lastTimestampMillisec.get() - IdGenerator.TIMESTAMP_EPOCH)
+                & MASK_TIMESTAMP_64;
+        return timestamp << SHIFT_TIMESTAMP_64 | template64 | (sequence & MASK_SEQUENCE_64);
+    }
+
+    synchronized public BigInteger generateId128() {
+        long sequence = nextSequence(MAX_SEQUENCE_128);
+        return BigInteger.valueOf(lastTimestampMillisec.get()).shiftLeft(SHIFT_TIMESTAMP_128)
+                .or(template128).or(BigInteger.valueOf(sequence & MASK_SEQUENCE_128));
+    }
+}
@@ -0,0 +1,82 @@
+package org.rain.vertx.app.benchmark.serialization;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rain.vertx.app.base.serialization.ISerDeser;
+import org.rain.vertx.app.base.serialization.SerDeserCodec;
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * Custom serialization paths: {@link SmallPojo} through its generated binary serializer (via
+ * {@code SerializationUtils.toByteArray/fromByteArray}) and batch vs. one-by-one Kryo
+ * serialization of a collection.
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomSerializerBenchmark {
+    private SmallPojo pojo;
+    private byte[] pojoData;
+    private List<?> list;
+    private byte[] listBatchData;
+    private final ISerDeser kryo = SerDeserCodec.KRYO.getSerDeser();
+
+    /*
+     * toByteArray/fromByteArray are deprecated with no replacement, but they are the only entry
+     * points of the ISerializationSupport (custom serializer) path measured here.
+     */
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setup() {
+        pojo = (SmallPojo) Payloads.create(Payloads.POJO);
+        pojoData = SerializationUtils.toByteArray(pojo);
+        list = ((SmallPojoList) Payloads.create(Payloads.LIST)).getItems();
+        listBatchData = kryo.toBytesBatch(list);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public byte[] toByteArrayCustom() {
+        return SerializationUtils.toByteArray(pojo);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public SmallPojo fromByteArrayCustom() {
+        return SerializationUtils.fromByteArray(pojoData, SmallPojo.class);
+    }
+
+    @Benchmark
+    public void kryoOneByOne(Blackhole bh) {
+        for (Object obj : list) {
+            bh.consume(kryo.toBytes(obj));
+        }
+    }
+
+    @Benchmark
+    public byte[] kryoBatch() {
+        return kryo.toBytesBatch(list);
+    }
+
+    @Benchmark
+    public List<SmallPojo> kryoBatchRead() {
+        return kryo.fromBytesBatch(listBatchData, SmallPojo.class);
+    }
+}
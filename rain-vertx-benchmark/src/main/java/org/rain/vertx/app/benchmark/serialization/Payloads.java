@@ -0,0 +1,110 @@
+package org.rain.vertx.app.benchmark.serialization;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Representative payload shapes used by serialization benchmarks. Payloads are deterministic
+ * (fixed random seed) so that results are comparable between runs.
+ *
+ * @since 1.0.0
+ */
+public class Payloads {
+    /**
+     * A single {@link SmallPojo}.
+     */
+    public final static String POJO = "pojo";
+
+    /**
+     * Nested {@code Map<String, Object>}: 3 levels, 5 entries per level, mixed leaf types.
+     */
+    public final static String MAP = "map";
+
+    /**
+     * 1 MiB random {@code byte[]}.
+     */
+    public final static String BYTES = "bytes";
+
+    /**
+     * {@link SmallPojoList} of 1000 {@link SmallPojo}s.
+     */
+    public final static String LIST = "list";
+
+    public final static String[] ALL = { POJO, MAP, BYTES, LIST };
+
+    public final static int LARGE_BYTES_SIZE = 1024 * 1024;
+    public final static int COLLECTION_SIZE = 1000;
+
+    public static SmallPojo smallPojo(Random random) {
+        SmallPojo pojo = new SmallPojo();
+        pojo.id = random.nextLong();
+        pojo.name = "user-" + random.nextInt(1_000_000);
+        pojo.email = pojo.name + "@example.com";
+        pojo.age = 18 + random.nextInt(60);
+        pojo.score = random.nextDouble() * 100;
+        pojo.active = random.nextBoolean();
+        pojo.createdAt = 1_600_000_000_000L + random.nextInt(Integer.MAX_VALUE);
+        return pojo;
+    }
+
+    private static Map<String, Object> nestedMap(Random random, int depth) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            String key = "k" + depth + "_" + i;
+            if (depth > 1 && i == 0) {
+                map.put(key, nestedMap(random, depth - 1));
+            } else {
+                switch (i % 4) {
+                case 0:
+                    map.put(key, random.nextInt());
+                    break;
+                case 1:
+                    map.put(key, "value-" + random.nextInt(1000));
+                    break;
+                case 2:
+                    map.put(key, random.nextDouble());
+                    break;
+                default:
+                    List<Object> list = new ArrayList<>();
+                    for (int j = 0; j < 5; j++) {
+                        list.add(depth > 1 ? nestedMap(random, depth - 1)
+                                : (Object) random.nextLong());
+                    }
+                    map.put(key, list);
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Create a payload by its name.
+     *
+     * @param name one of {@link #ALL}
+     * @return
+     */
+    public static Object create(String name) {
+        Random random = new Random(42);
+        switch (name) {
+        case POJO:
+            return smallPojo(random);
+        case MAP:
+            return nestedMap(random, 3);
+        case BYTES:
+            byte[] data = new byte[LARGE_BYTES_SIZE];
+            random.nextBytes(data);
+            return data;
+        case LIST:
+            List<SmallPojo> list = new ArrayList<>(COLLECTION_SIZE);
+            for (int i = 0; i < COLLECTION_SIZE; i++) {
+                list.add(smallPojo(random));
+            }
+            return new SmallPojoList(list);
+        default:
+            throw new IllegalArgumentException("Unknown payload [" + name + "]!");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.rain.vertx.app.benchmark.serialization;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rain.vertx.app.base.serialization.ISerDeser;
+import org.rain.vertx.app.base.serialization.SerDeserCodec;
+
+/**
+ * Compares all {@link SerDeserCodec}s on all {@link Payloads}.
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerDeserBenchmark {
+    @Param({ "kryo", "fst", "json", "smile", "cbor", "msgpack" })
+    public String codec;
+
+    @Param({ Payloads.POJO, Payloads.MAP, Payloads.BYTES, Payloads.LIST })
+    public String payload;
+
+    private ISerDeser serDeser;
+    private Object obj;
+    private Class<?> clazz;
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        serDeser = SerDeserCodec.forName(codec);
+        obj = Payloads.create(payload);
+        clazz = obj.getClass();
+        data = serDeser.toBytes(obj);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serDeser.toBytes(obj);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serDeser.fromBytes(data, clazz);
+    }
+}
@@ -0,0 +1,77 @@
+package org.rain.vertx.app.benchmark.serialization;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * Benchmarks {@link SerializationUtils} entry points directly (without the {@code ISerDeser}
+ * indirection).
+ *
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationUtilsBenchmark {
+    @Param({ Payloads.POJO, Payloads.MAP, Payloads.BYTES, Payloads.LIST })
+    public String payload;
+
+    private Object obj;
+    private Class<?> clazz;
+    private byte[] kryoData, fstData;
+    private String jsonString;
+
+    @Setup
+    public void setup() {
+        obj = Payloads.create(payload);
+        clazz = obj.getClass();
+        kryoData = SerializationUtils.toByteArrayKryo(obj);
+        fstData = SerializationUtils.toByteArrayFst(obj);
+        jsonString = SerializationUtils.toJsonString(obj);
+    }
+
+    @Benchmark
+    public byte[] toByteArrayKryo() {
+        return SerializationUtils.toByteArrayKryo(obj);
+    }
+
+    @Benchmark
+    public Object fromByteArrayKryo() {
+        return SerializationUtils.fromByteArrayKryo(kryoData, clazz);
+    }
+
+    @Benchmark
+    public byte[] toByteArrayFst() {
+        return SerializationUtils.toByteArrayFst(obj);
+    }
+
+    @Benchmark
+    public Object fromByteArrayFst() {
+        return SerializationUtils.fromByteArrayFst(fstData, clazz);
+    }
+
+    @Benchmark
+    public String toJsonString() {
+        return SerializationUtils.toJsonString(obj);
+    }
+
+    @Benchmark
+    public Object fromJsonString() {
+        return SerializationUtils.fromJsonString(jsonString, clazz);
+    }
+}
@@ -0,0 +1,56 @@
+package org.rain.vertx.app.benchmark.serialization;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.rain.vertx.app.base.serialization.SerDeserCodec;
+import org.rain.vertx.app.base.utils.SerializationUtils;
+
+/**
+ * Report the serialized size (in bytes) of each payload with each codec, as JSON:
+ * {@code {"<payload>": {"<codec>": <size>, ...}, ...}}.
+ *
+ * <p>
+ * JMH measures time and allocation only; sizes are reported by this separate program so that they
+ * can be tracked alongside the benchmark results.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class SerializedSizes {
+    public static Map<String, Map<String, Integer>> measure() {
+        Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+        for (String payload : Payloads.ALL) {
+            Object obj = Payloads.create(payload);
+            Map<String, Integer> sizes = new LinkedHashMap<>();
+            for (SerDeserCodec codec : SerDeserCodec.values()) {
+                sizes.put(codec.getCodecName(), codec.getSerDeser().toBytes(obj).length);
+            }
+            if (obj instanceof SmallPojo) {
+                sizes.put("custom", ((SmallPojo) obj).toBytes().length);
+            }
+            if (obj instanceof SmallPojoList) {
+                sizes.put("kryoBatch", SerDeserCodec.KRYO.getSerDeser()
+                        .toBytesBatch(((SmallPojoList) obj).getItems()).length);
+            }
+            result.put(payload, sizes);
+        }
+        return result;
+    }
+
+    /**
+     * @param args optional output file, print to stdout if omitted
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        String json = SerializationUtils.toJsonString(measure());
+        if (args.length > 0) {
+            Files.write(Paths.get(args[0]), json.getBytes(StandardCharsets.UTF_8));
+        }
+        System.out.println(json);
+    }
+}
@@ -0,0 +1,53 @@
+package org.rain.vertx.app.benchmark.serialization;
+
+import java.io.Serializable;
+
+import org.rain.vertx.app.base.serialization.DeserializationException;
+import org.rain.vertx.app.base.serialization.ISerializationSupport;
+import org.rain.vertx.app.base.serialization.SerializationException;
+import org.rain.vertx.app.base.serialization.binary.BinaryFixedWidth;
+import org.rain.vertx.app.base.serialization.binary.BinarySerializable;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Small record-like payload. Implements {@link ISerializationSupport} on top of its generated
+ * binary serializer, to benchmark the custom serialization path against the generic codecs.
+ *
+ * @since 1.0.0
+ */
+@BinarySerializable
+@Getter
+@Setter
+public class SmallPojo implements ISerializationSupport, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    long id;
+    String name;
+    String email;
+    int age;
+    double score;
+    boolean active;
+    @BinaryFixedWidth
+    long createdAt;
+
+    public SmallPojo() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] toBytes() throws SerializationException {
+        return SmallPojoBinarySerializer.INSTANCE.toBytes(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SmallPojo fromBytes(byte[] data) throws DeserializationException {
+        return SmallPojoBinarySerializer.INSTANCE.fromBytes(data, this);
+    }
+}
@@ -0,0 +1,36 @@
+package org.rain.vertx.app.benchmark.serialization;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Typed holder of a list of {@link SmallPojo}s.
+ *
+ * <p>
+ * Codecs are given a {@link Class} to decode to: a bare {@code ArrayList.class} makes JSON-based
+ * codecs produce {@code LinkedHashMap}s, while schema-carrying codecs (Kryo, FST) rebuild
+ * {@link SmallPojo}s. The generic type of {@link #getItems()} lets every codec decode the same
+ * objects.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+public class SmallPojoList implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<SmallPojo> items;
+
+    public SmallPojoList() {
+        this(new ArrayList<>());
+    }
+
+    public SmallPojoList(List<SmallPojo> items) {
+        this.items = items;
+    }
+}
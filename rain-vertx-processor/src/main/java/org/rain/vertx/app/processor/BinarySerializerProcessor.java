@@ -0,0 +1,414 @@
+package org.rain.vertx.app.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor that generates an {@code IBinarySerializer} for each class annotated with
+ * {@code org.rain.vertx.app.base.serialization.binary.BinarySerializable}.
+ *
+ * <p>
+ * The generated class is named {@code <SimpleClassName>BinarySerializer} (enclosing class names
+ * are prepended, separated by {@code _}, for nested classes) and is placed in the same package as
+ * the annotated class, so that package-private fields can be accessed directly without reflection.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes(BinarySerializerProcessor.ANNOTATION_BINARY_SERIALIZABLE)
+public class BinarySerializerProcessor extends AbstractProcessor {
+    final static String PACKAGE_BINARY = "org.rain.vertx.app.base.serialization.binary";
+    final static String ANNOTATION_BINARY_SERIALIZABLE = PACKAGE_BINARY + ".BinarySerializable";
+    final static String ANNOTATION_BINARY_FIXED_WIDTH = PACKAGE_BINARY + ".BinaryFixedWidth";
+    final static String CLASS_DESERIALIZATION_EXCEPTION =
+            "org.rain.vertx.app.base.serialization.DeserializationException";
+
+    /**
+     * How a field is encoded.
+     */
+    private static class FieldSpec {
+        String name;
+        /**
+         * Primitive kind of the value, {@code null} for String, byte[] and enums.
+         */
+        TypeKind primitive;
+        boolean boxed;
+        boolean fixedWidth;
+        boolean string;
+        boolean bytes;
+        /**
+         * Canonical name of the enum type, if the field is an enum.
+         */
+        String enumType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@BinarySerializable is only applicable to classes.");
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                if (!type.getTypeParameters().isEmpty()) {
+                    error(type, "@BinarySerializable does not support generic classes.");
+                    continue;
+                }
+                List<FieldSpec> fields = collectFields(type);
+                if (fields != null) {
+                    generate(type, fields);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror am : element.getAnnotationMirrors()) {
+            if (((TypeElement) am.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeKind unboxedKind(TypeMirror type) {
+        try {
+            return processingEnv.getTypeUtils().unboxedType(type).getKind();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Collect serializable fields, including inherited ones (superclass fields first), or return
+     * {@code null} (after reporting errors) if the class has unsupported fields.
+     */
+    private List<FieldSpec> collectFields(TypeElement type) {
+        // superclasses, from the top-most one (excluding java.lang.Object) down to the class
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement t = type; t != null; ) {
+            if (t.getQualifiedName().contentEquals("java.lang.Object")) {
+                break;
+            }
+            hierarchy.add(0, t);
+            TypeMirror superclass = t.getSuperclass();
+            t = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        Elements elementUtils = processingEnv.getElementUtils();
+        PackageElement pkg = elementUtils.getPackageOf(type);
+        List<FieldSpec> result = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        boolean ok = true;
+        for (TypeElement declaring : hierarchy) {
+            boolean inherited = declaring != type;
+            boolean samePackage = elementUtils.getPackageOf(declaring).equals(pkg);
+            for (Element member : declaring.getEnclosedElements()) {
+                if (member.getKind() != ElementKind.FIELD) {
+                    continue;
+                }
+                FieldSpec spec = fieldSpec(type, (VariableElement) member, inherited,
+                        samePackage, names);
+                if (spec == NO_FIELD) {
+                    continue;
+                }
+                if (spec == null) {
+                    ok = false;
+                    continue;
+                }
+                result.add(spec);
+            }
+        }
+        return ok ? result : null;
+    }
+
+    /* marks a field excluded from serialization */
+    private final static FieldSpec NO_FIELD = new FieldSpec();
+
+    /**
+     * Build the spec of a field, {@link #NO_FIELD} if the field is excluded, or {@code null}
+     * (after reporting errors) if it is not supported.
+     */
+    private FieldSpec fieldSpec(TypeElement type, VariableElement field, boolean inherited,
+                                boolean samePackage, Set<String> names) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+            return NO_FIELD;
+        }
+        // errors on inherited fields are reported on the annotated class, whose source is at hand
+        Element errorElement = inherited ? type : field;
+        String fieldName = inherited
+                ? field.getEnclosingElement().getSimpleName() + "." + field.getSimpleName()
+                : field.getSimpleName().toString();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+            error(errorElement, "Field [" + fieldName + "] of a @BinarySerializable class must "
+                    + "not be private or final (mark it transient to exclude it).");
+            return null;
+        }
+        if (inherited && !samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+            error(errorElement, "Inherited field [" + fieldName + "] is declared in another "
+                    + "package and must be public to be serialized.");
+            return null;
+        }
+        if (!names.add(field.getSimpleName().toString())) {
+            error(errorElement, "Field [" + fieldName + "] hides an inherited field, which is "
+                    + "not supported by @BinarySerializable.");
+            return null;
+        }
+        FieldSpec spec = new FieldSpec();
+        spec.name = field.getSimpleName().toString();
+        spec.fixedWidth = hasAnnotation(field, ANNOTATION_BINARY_FIXED_WIDTH);
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind().isPrimitive()) {
+            spec.primitive = fieldType.getKind();
+        } else if (fieldType.getKind() == TypeKind.ARRAY
+                && ((ArrayType) fieldType).getComponentType().getKind() == TypeKind.BYTE) {
+            spec.bytes = true;
+        } else if (fieldType.getKind() == TypeKind.DECLARED) {
+            Element typeElement = ((DeclaredType) fieldType).asElement();
+            TypeKind unboxed = unboxedKind(fieldType);
+            if (unboxed != null) {
+                spec.primitive = unboxed;
+                spec.boxed = true;
+            } else if (typeElement.getKind() == ElementKind.ENUM) {
+                spec.enumType = ((TypeElement) typeElement).getQualifiedName().toString();
+            } else if (((TypeElement) typeElement).getQualifiedName()
+                    .contentEquals("java.lang.String")) {
+                spec.string = true;
+            }
+        }
+        if (spec.primitive == null && !spec.bytes && !spec.string && spec.enumType == null) {
+            error(errorElement, "Unsupported field type [" + fieldType + "] of [" + fieldName
+                    + "] for @BinarySerializable (mark it transient to exclude it).");
+            return null;
+        }
+        return spec;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private static String serializerSimpleName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append("BinarySerializer").toString();
+    }
+
+    private static String writeExpr(FieldSpec f, String value) {
+        switch (f.primitive) {
+        case BOOLEAN:
+            return "out.writeBoolean(" + value + ");";
+        case BYTE:
+            return "out.writeByte(" + value + ");";
+        case CHAR:
+            return "out.writeChar(" + value + ");";
+        case SHORT:
+            return f.fixedWidth ? "out.writeShort(" + value + ");"
+                    : "out.writeZigZagInt(" + value + ");";
+        case INT:
+            return f.fixedWidth ? "out.writeInt(" + value + ");"
+                    : "out.writeZigZagInt(" + value + ");";
+        case LONG:
+            return f.fixedWidth ? "out.writeLong(" + value + ");"
+                    : "out.writeZigZagLong(" + value + ");";
+        case FLOAT:
+            return "out.writeFloat(" + value + ");";
+        case DOUBLE:
+            return "out.writeDouble(" + value + ");";
+        default:
+            throw new IllegalStateException("Unexpected type: " + f.primitive);
+        }
+    }
+
+    private static String readExpr(FieldSpec f) {
+        switch (f.primitive) {
+        case BOOLEAN:
+            return "in.readBoolean()";
+        case BYTE:
+            return "in.readByte()";
+        case CHAR:
+            return "in.readChar()";
+        case SHORT:
+            return f.fixedWidth ? "in.readShort()" : "(short) in.readZigZagInt()";
+        case INT:
+            return f.fixedWidth ? "in.readInt()" : "in.readZigZagInt()";
+        case LONG:
+            return f.fixedWidth ? "in.readLong()" : "in.readZigZagLong()";
+        case FLOAT:
+            return "in.readFloat()";
+        case DOUBLE:
+            return "in.readDouble()";
+        default:
+            throw new IllegalStateException("Unexpected type: " + f.primitive);
+        }
+    }
+
+    private static int fixedSize(FieldSpec f) {
+        switch (f.primitive) {
+        case BOOLEAN:
+        case BYTE:
+            return 1;
+        case CHAR:
+        case SHORT:
+            return f.fixedWidth ? 2 : 3;
+        case INT:
+        case FLOAT:
+            return f.fixedWidth || f.primitive == TypeKind.FLOAT ? 4 : 5;
+        case LONG:
+            return f.fixedWidth ? 8 : 10;
+        case DOUBLE:
+            return 8;
+        default:
+            return 0;
+        }
+    }
+
+    private void generate(TypeElement type, List<FieldSpec> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? null : pkg.getQualifiedName().toString();
+        String className = serializerSimpleName(type);
+        String typeName = type.getQualifiedName().toString();
+
+        StringBuilder src = new StringBuilder();
+        if (packageName != null) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("import ").append(PACKAGE_BINARY).append(".BinaryReader;\n");
+        src.append("import ").append(PACKAGE_BINARY).append(".BinaryWriter;\n");
+        src.append("import ").append(PACKAGE_BINARY).append(".IBinarySerializer;\n");
+        if (fields.stream().anyMatch(f -> f.enumType != null)) {
+            src.append("import ").append(CLASS_DESERIALIZATION_EXCEPTION).append(";\n");
+        }
+        src.append("\n");
+        src.append("/**\n * Binary serializer for {@link ").append(typeName).append("}.\n */\n");
+        src.append("@javax.annotation.processing.Generated(\"")
+                .append(BinarySerializerProcessor.class.getName()).append("\")\n");
+        src.append("public final class ").append(className).append(" implements IBinarySerializer<")
+                .append(typeName).append("> {\n");
+        src.append("    public final static ").append(className).append(" INSTANCE = new ")
+                .append(className).append("();\n");
+        for (FieldSpec f : fields) {
+            if (f.enumType != null) {
+                src.append("    private final static ").append(f.enumType).append("[] VALUES_")
+                        .append(f.name).append(" = ").append(f.enumType).append(".values();\n");
+            }
+        }
+        src.append("\n    private ").append(className).append("() {\n    }\n");
+
+        // write
+        int estimatedSize = 0;
+        src.append("\n    @Override\n    public void write(").append(typeName)
+                .append(" obj, BinaryWriter out) {\n");
+        for (FieldSpec f : fields) {
+            String v = "obj." + f.name;
+            if (f.string) {
+                src.append("        out.writeString(").append(v).append(");\n");
+                estimatedSize += 16;
+            } else if (f.bytes) {
+                src.append("        out.writeBytes(").append(v).append(");\n");
+                estimatedSize += 16;
+            } else if (f.enumType != null) {
+                src.append("        out.writeVarInt(").append(v).append(" == null ? 0 : ").append(v)
+                        .append(".ordinal() + 1);\n");
+                estimatedSize += 1;
+            } else if (f.boxed) {
+                src.append("        if (").append(v).append(" == null) {\n");
+                src.append("            out.writeBoolean(false);\n");
+                src.append("        } else {\n");
+                src.append("            out.writeBoolean(true);\n");
+                src.append("            ").append(writeExpr(f, v)).append("\n");
+                src.append("        }\n");
+                estimatedSize += 1 + fixedSize(f);
+            } else {
+                src.append("        ").append(writeExpr(f, v)).append("\n");
+                estimatedSize += fixedSize(f);
+            }
+        }
+        src.append("    }\n");
+
+        // read
+        src.append("\n    @Override\n    public void read(").append(typeName)
+                .append(" obj, BinaryReader in) {\n");
+        for (FieldSpec f : fields) {
+            String v = "obj." + f.name;
+            if (f.string) {
+                src.append("        ").append(v).append(" = in.readString();\n");
+            } else if (f.bytes) {
+                src.append("        ").append(v).append(" = in.readBytes();\n");
+            } else if (f.enumType != null) {
+                src.append("        {\n");
+                src.append("            int ordinal = in.readVarInt();\n");
+                src.append("            if (ordinal < 0 || ordinal > VALUES_").append(f.name)
+                        .append(".length) {\n");
+                src.append("                throw new DeserializationException(")
+                        .append("\"Invalid ordinal \" + ordinal + \" for ").append(f.enumType)
+                        .append(" field [").append(f.name).append("]\");\n");
+                src.append("            }\n");
+                src.append("            ").append(v).append(" = ordinal == 0 ? null : VALUES_")
+                        .append(f.name).append("[ordinal - 1];\n");
+                src.append("        }\n");
+            } else if (f.boxed) {
+                src.append("        ").append(v).append(" = in.readBoolean() ? ")
+                        .append(readExpr(f)).append(" : null;\n");
+            } else {
+                src.append("        ").append(v).append(" = ").append(readExpr(f)).append(";\n");
+            }
+        }
+        src.append("    }\n");
+
+        src.append("\n    @Override\n    public int estimateSize(").append(typeName)
+                .append(" obj) {\n");
+        src.append("        return ").append(Math.max(estimatedSize, 16)).append(";\n    }\n");
+        src.append("}\n");
+
+        String fqcn = packageName != null ? packageName + "." + className : className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(fqcn, type).openWriter()) {
+            writer.write(src.toString());
+        } catch (IOException e) {
+            error(type, "Cannot generate " + fqcn + ": " + e.getMessage());
+        }
+    }
+}
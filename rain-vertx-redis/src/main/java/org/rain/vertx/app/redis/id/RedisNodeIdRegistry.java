@@ -0,0 +1,172 @@
+package org.rain.vertx.app.redis.id;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.rain.vertx.app.base.id.AbstractNodeIdRegistry;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * {@link org.rain.vertx.app.base.id.NodeIdRegistry} backed by Redis, shared by all nodes (pods) of
+ * a cluster connected to the same Redis.
+ *
+ * <p>
+ * Each node-id is a key {@code <key-prefix><node-id>} holding {@code <expiry>:<owner>}. A free
+ * node-id is acquired with {@code SET key lease NX PX ttl}, a lease is renewed with a Lua script
+ * that only overwrites the key if it is still held by the same owner. The key lives for the lease
+ * TTL plus {@link #getQuarantineMs()}: after its lease expired (or was released), a node-id can
+ * only be leased again by its last owner till the key is evicted by Redis. Key expiration is
+ * handled by the Redis server, so exclusion does not depend on the clocks of the nodes.
+ * </p>
+ *
+ * <pre>
+ * NodeIdRegistry registry = new RedisNodeIdRegistry(redissonClient);
+ * LeaseNodeIdProvider nodeIdProvider = new LeaseNodeIdProvider(registry).init();
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public class RedisNodeIdRegistry extends AbstractNodeIdRegistry {
+    /**
+     * Default value of {@link #getKeyPrefix()}.
+     */
+    public final static String DEFAULT_KEY_PREFIX = "rain:node-id:";
+
+    /*
+     * KEYS[1]: lease key; ARGV[1]: owner, ARGV[2]: new lease, ARGV[3]: key TTL (ms).
+     * Returns 1 if renewed, 0 if held by another owner, -1 if the key does not exist.
+     */
+    private final static String SCRIPT_RENEW = "local v = redis.call('GET', KEYS[1])\n"
+            + "if not v then return -1 end\n"
+            + "local sep = string.find(v, ':', 1, true)\n"
+            + "if not sep or string.sub(v, sep + 1) ~= ARGV[1] then return 0 end\n"
+            + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])\n"
+            + "return 1";
+
+    /*
+     * KEYS[1]: lease key; ARGV[1]: owner, ARGV[2]: expired lease, ARGV[3]: quarantine (ms).
+     * Returns 1 if released, 0 otherwise.
+     */
+    private final static String SCRIPT_RELEASE = "local v = redis.call('GET', KEYS[1])\n"
+            + "if not v then return 0 end\n"
+            + "local sep = string.find(v, ':', 1, true)\n"
+            + "if not sep or string.sub(v, sep + 1) ~= ARGV[1] then return 0 end\n"
+            + "if tonumber(ARGV[3]) > 0 then\n"
+            + "  redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])\n"
+            + "else\n"
+            + "  redis.call('DEL', KEYS[1])\n"
+            + "end\n"
+            + "return 1";
+
+    private final RedissonClient redisson;
+    private final String keyPrefix;
+
+    /**
+     * Construct a new {@link RedisNodeIdRegistry} object, with {@link #DEFAULT_KEY_PREFIX}.
+     *
+     * @param redisson
+     */
+    public RedisNodeIdRegistry(RedissonClient redisson) {
+        this(redisson, DEFAULT_KEY_PREFIX);
+    }
+
+    public RedisNodeIdRegistry(RedissonClient redisson, String keyPrefix) {
+        this.redisson = redisson;
+        this.keyPrefix = keyPrefix;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    private String key(long nodeId) {
+        return keyPrefix + nodeId;
+    }
+
+    private RBucket<String> bucket(long nodeId) {
+        return redisson.getBucket(key(nodeId), StringCodec.INSTANCE);
+    }
+
+    private long eval(String script, long nodeId, Object... args) {
+        Long result = redisson.getScript(StringCodec.INSTANCE).eval(key(nodeId),
+                RScript.Mode.READ_WRITE, script, RScript.ReturnType.INTEGER,
+                Collections.singletonList(key(nodeId)), args);
+        return result != null ? result.longValue() : 0;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String read(long nodeId) {
+        return bucket(nodeId).get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void write(long nodeId, String lease) {
+        bucket(nodeId).set(lease);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void delete(long nodeId) {
+        bucket(nodeId).delete();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Each operation of this registry is atomic on the Redis server, this implementation does not
+     * lock.
+     * </p>
+     */
+    @Override
+    protected <T> T atomically(Supplier<T> op) {
+        return op.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAcquire(long nodeId, String owner, long ttlMs) {
+        long keyTtlMs = ttlMs + getQuarantineMs();
+        // at most twice: the key may expire between the SET NX and the renewal
+        for (int i = 0; i < 2; i++) {
+            String lease = encodeLease(owner, System.currentTimeMillis() + ttlMs);
+            if (bucket(nodeId).trySet(lease, keyTtlMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            long result = eval(SCRIPT_RENEW, nodeId, owner, lease, String.valueOf(keyTtlMs));
+            if (result >= 0) {
+                return result == 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The key is kept, as an expired lease, for {@link #getQuarantineMs()}.
+     * </p>
+     */
+    @Override
+    public void release(long nodeId, String owner) {
+        eval(SCRIPT_RELEASE, nodeId, owner, encodeLease(owner, System.currentTimeMillis()),
+                String.valueOf(getQuarantineMs()));
+    }
+}